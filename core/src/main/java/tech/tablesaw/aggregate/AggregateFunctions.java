@@ -319,6 +319,9 @@ public class AggregateFunctions {
     public static final NumericAggregateFunction standardDeviation = stdDev;
 
     private static double[] removeMissing(NumberColumn column) {
+        if (column.countMissing() == 0) {
+            return column.asDoubleArray();
+        }
         return column.removeMissing().asDoubleArray();
     }
 
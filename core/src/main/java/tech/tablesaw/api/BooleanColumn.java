@@ -29,9 +29,9 @@ import it.unimi.dsi.fastutil.bytes.ByteListIterator;
 import it.unimi.dsi.fastutil.bytes.ByteOpenHashSet;
 import it.unimi.dsi.fastutil.bytes.ByteSet;
 import it.unimi.dsi.fastutil.ints.IntComparator;
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.columns.AbstractColumn;
 import tech.tablesaw.columns.Column;
-import tech.tablesaw.columns.booleans.BooleanColumnUtils;
 import tech.tablesaw.columns.booleans.BooleanFillers;
 import tech.tablesaw.columns.booleans.BooleanFormatter;
 import tech.tablesaw.columns.booleans.BooleanMapUtils;
@@ -39,6 +39,7 @@ import tech.tablesaw.filtering.predicates.BytePredicate;
 import tech.tablesaw.io.TypeUtils;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
 
 import java.util.Iterator;
 import java.util.List;
@@ -66,6 +67,11 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
 
     private ByteArrayList data;
 
+    /**
+     * The rows that hold missing values, kept up to date on every append and set
+     */
+    private RoaringBitmap missing = new RoaringBitmap();
+
     private final IntComparator comparator = (r1, r2) -> {
         boolean f1 = get(r1);
         boolean f2 = get(r2);
@@ -77,6 +83,20 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
     private BooleanColumn(String name, ByteArrayList values) {
         super(BOOLEAN, name);
         data = values;
+        updateMissing();
+    }
+
+    /**
+     * Rebuilds the missing value bitmap from the data. Used when the data is replaced or reordered wholesale
+     */
+    private void updateMissing() {
+        modified();
+        missing = new RoaringBitmap();
+        for (int i = 0; i < data.size(); i++) {
+            if (valueIsMissing(data.getByte(i))) {
+                missing.add(i);
+            }
+        }
     }
 
     public static boolean valueIsMissing(byte b) {
@@ -193,13 +213,7 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
      */
     @Override
     public int countMissing() {
-        int count = 0;
-        for (int i = 0; i < size(); i++) {
-            if (valueIsMissing(getByte(i))) {
-                count++;
-            }
-        }
-        return count;
+        return missing.getCardinality();
     }
 
     @Override
@@ -237,7 +251,7 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
 
     public BooleanColumn append(Boolean b) {
         if (b == null) {
-            data.add(MISSING_VALUE);
+            append(MISSING_VALUE);
         }
         else if (b) {
             data.add(BYTE_TRUE);
@@ -248,6 +262,9 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
     }
 
     public BooleanColumn append(byte b) {
+        if (valueIsMissing(b)) {
+            missing.add(data.size());
+        }
         data.add(b);
         return this;
     }
@@ -280,7 +297,9 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
 
     @Override
     public void clear() {
+        modified();
         data.clear();
+        missing.clear();
     }
 
     @Override
@@ -290,12 +309,14 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
 
     @Override
     public void sortAscending() {
-        ByteArrays.mergeSort(data.elements());
+        ByteArrays.mergeSort(data.elements(), 0, data.size());
+        updateMissing();
     }
 
     @Override
     public void sortDescending() {
-        ByteArrays.mergeSort(data.elements(), descendingByteComparator);
+        ByteArrays.mergeSort(data.elements(), 0, data.size(), descendingByteComparator);
+        updateMissing();
     }
 
     public BooleanColumn appendCell(String object) {
@@ -393,40 +414,16 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
     }
 
     public Selection isFalse() {
-        Selection results = new BitmapBackedSelection();
-        int i = 0;
-        for (byte next : data) {
-            if (next == BYTE_FALSE) {
-                results.add(i);
-            }
-            i++;
-        }
-        return results;
+        return SelectionBuilder.selectEqual(data.elements(), data.size(), BYTE_FALSE);
     }
 
     public Selection isTrue() {
-        Selection results = new BitmapBackedSelection();
-        int i = 0;
-        for (byte next : data) {
-            if (next == BYTE_TRUE) {
-                results.add(i);
-            }
-            i++;
-        }
-        return results;
+        return SelectionBuilder.selectEqual(data.elements(), data.size(), BYTE_TRUE);
     }
 
     public Selection isEqualTo(BooleanColumn other) {
-        Selection results = new BitmapBackedSelection();
-        int i = 0;
-        ByteIterator booleanIterator = other.byteIterator();
-        for (byte next : data) {
-            if (next == booleanIterator.nextByte()) {
-                results.add(i);
-            }
-            i++;
-        }
-        return results;
+        ByteArrayList otherData = other.data();
+        return SelectionBuilder.select(0, data.size(), idx -> data.getByte(idx) == otherData.getByte(idx));
     }
 
     /**
@@ -437,11 +434,15 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
     }
 
     public BooleanColumn set(int i, boolean b) {
+        modified();
         if (b) {
             data.set(i, BYTE_TRUE);
         } else {
             data.set(i, BYTE_FALSE);
         }
+        if (!missing.isEmpty()) {
+            missing.remove(i);
+        }
         return this;
     }
 
@@ -465,6 +466,7 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
 
         BooleanColumn copy = emptyCopy(size());
         copy.data = new ByteArrayList(dest);
+        copy.updateMissing();
         copy.setName(name() + " lag(" + n + ")");
         return copy;
     }
@@ -499,13 +501,16 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
         return comparator;
     }
 
+    /**
+     * Appends all the values in the given column, copying the bytes and missing value rows in bulk
+     */
     @Override
     public void append(Column column) {
         checkArgument(column.type() == this.type());
-        BooleanColumn booleanColumn = (BooleanColumn) column;
-        for (int i = 0; i < booleanColumn.size(); i++) {
-            append(booleanColumn.get(i));
-        }
+        BooleanColumn source = (BooleanColumn) column;
+        int offset = data.size();
+        data.addElements(offset, source.data.elements(), 0, source.size());
+        missing.or(RoaringBitmap.addOffset(source.missing, offset));
     }
 
     public Selection asSelection() {
@@ -521,12 +526,12 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
 
     @Override
     public Selection isMissing() {
-        return eval(BooleanColumnUtils.isMissing);
+        return new BitmapBackedSelection(missing.clone());
     }
 
     @Override
     public Selection isNotMissing() {
-        return eval(BooleanColumnUtils.isNotMissing);
+        return new BitmapBackedSelection(RoaringBitmap.flip(missing, 0L, size()));
     }
 
     public Iterator<Boolean> iterator() {
@@ -571,7 +576,10 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
 
     @Override
     public BooleanColumn removeMissing() {
-        BooleanColumn noMissing = emptyCopy();
+        if (missing.isEmpty()) {
+            return copy();
+        }
+        BooleanColumn noMissing = emptyCopy(size() - countMissing());
         ByteListIterator iterator = byteListIterator();
         while(iterator.hasNext()) {
             byte b = iterator.nextByte();
@@ -583,34 +591,15 @@ public class BooleanColumn extends AbstractColumn implements BooleanMapUtils, In
     }
 
     public Selection eval(BytePredicate predicate) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < data.size(); idx++) {
-            byte next = data.getByte(idx);
-            if (predicate.test(next)) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(data.elements(), data.size(), predicate);
     }
 
     public Selection eval(Predicate<Boolean> predicate) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < data.size(); idx++) {
-            if (predicate.test(get(idx))) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, data.size(), idx -> predicate.test(get(idx)));
     }
 
     public Selection eval(BiPredicate<Boolean, Boolean> predicate, Boolean valueToCompare) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < data.size(); idx++) {
-            if (predicate.test(get(idx), valueToCompare)) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, data.size(), idx -> predicate.test(get(idx), valueToCompare));
     }
 
     /**
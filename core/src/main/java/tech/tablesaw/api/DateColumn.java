@@ -22,8 +22,10 @@ import it.unimi.dsi.fastutil.ints.IntComparator;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.columns.AbstractColumn;
 import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.ZoneMap;
 import tech.tablesaw.columns.dates.DateColumnFormatter;
 import tech.tablesaw.columns.dates.DateFillers;
 import tech.tablesaw.columns.dates.DateFilters;
@@ -33,6 +35,9 @@ import tech.tablesaw.filtering.predicates.IntBiPredicate;
 import tech.tablesaw.io.TypeUtils;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
+import tech.tablesaw.sorting.TopN;
+import tech.tablesaw.sorting.comparators.ReversingIntComparator;
 import tech.tablesaw.sorting.comparators.DescendingIntComparator;
 
 import java.nio.ByteBuffer;
@@ -69,6 +74,21 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
 
     private IntArrayList data;
 
+    /**
+     * The rows that hold missing values, kept up to date on every append and set
+     */
+    private RoaringBitmap missing = new RoaringBitmap();
+
+    /**
+     * Per-block min, max and missing counts, used to skip blocks in range filters
+     */
+    private ZoneMap zoneMap = new ZoneMap();
+
+    /**
+     * True if the values are known to be in ascending order, with any missing values first
+     */
+    private boolean sortedAscending = true;
+
     private final IntComparator comparator = (r1, r2) -> {
         int f1 = getIntInternal(r1);
         int f2 = getIntInternal(r2);
@@ -122,6 +142,29 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
         super(ColumnType.LOCAL_DATE, name);
         this.data = data;
         this.locale = locale;
+        updateStatistics();
+    }
+
+    /**
+     * Rebuilds the missing value bitmap and block statistics from the data. Used when the data is replaced or
+     * reordered wholesale
+     */
+    private void updateStatistics() {
+        modified();
+        missing = new RoaringBitmap();
+        zoneMap = new ZoneMap();
+        sortedAscending = true;
+        for (int i = 0; i < data.size(); i++) {
+            int value = data.getInt(i);
+            boolean isMissing = valueIsMissing(value);
+            if (isMissing) {
+                missing.add(i);
+            }
+            zoneMap.append(i, value, isMissing);
+            if (i > 0 && data.getInt(i - 1) > value) {
+                sortedAscending = false;
+            }
+        }
     }
 
     @Override
@@ -135,6 +178,14 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
     }
 
     public DateColumn appendInternal(int f) {
+        boolean isMissing = valueIsMissing(f);
+        if (isMissing) {
+            missing.add(data.size());
+        }
+        zoneMap.append(data.size(), f, isMissing);
+        if (sortedAscending && !data.isEmpty() && data.getInt(data.size() - 1) > f) {
+            sortedAscending = false;
+        }
         data.add(f);
         return this;
     }
@@ -145,13 +196,25 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
     }
 
     public DateColumn set(int index, int value) {
+        modified();
+        boolean wasMissing = valueIsMissing(data.getInt(index));
+        boolean isMissing = valueIsMissing(value);
         data.set(index, value);
+        zoneMap.set(index, value, wasMissing, isMissing);
+        if (sortedAscending) {
+            sortedAscending = (index == 0 || data.getInt(index - 1) <= value)
+                    && (index == data.size() - 1 || value <= data.getInt(index + 1));
+        }
+        if (isMissing) {
+            missing.add(index);
+        } else if (!missing.isEmpty()) {
+            missing.remove(index);
+        }
         return this;
     }
 
     public DateColumn set(int index, LocalDate value) {
-        data.set(index, PackedLocalDate.pack(value));
-        return this;
+        return set(index, PackedLocalDate.pack(value));
     }
 
     public DateColumn append(LocalDate f) {
@@ -197,12 +260,19 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
     public DateColumn copy() {
         DateColumn copy = emptyCopy(data.size());
         copy.data = data.clone();
+        copy.missing = missing.clone();
+        copy.zoneMap = zoneMap.copy();
+        copy.sortedAscending = sortedAscending;
         return copy;
     }
 
     @Override
     public void clear() {
+        modified();
         data.clear();
+        missing.clear();
+        zoneMap.clear();
+        sortedAscending = true;
     }
 
     public DateColumn lead(int n) {
@@ -225,18 +295,21 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
 
         DateColumn copy = emptyCopy(size());
         copy.data = new IntArrayList(dest);
+        copy.updateStatistics();
         copy.setName(name() + " lag(" + n + ")");
         return copy;
     }
 
     @Override
     public void sortAscending() {
-        Arrays.parallelSort(data.elements());
+        Arrays.parallelSort(data.elements(), 0, data.size());
+        updateStatistics();
     }
 
     @Override
     public void sortDescending() {
-        IntArrays.parallelQuickSort(data.elements(), reverseIntComparator);
+        IntArrays.parallelQuickSort(data.elements(), 0, data.size(), reverseIntComparator);
+        updateStatistics();
     }
 
     @Override
@@ -257,6 +330,7 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
         DateColumn copy = emptyCopy(ints.size());
         copy.setName(name() + " Unique values");
         copy.data = IntArrayList.wrap(ints.toIntArray());
+        copy.updateStatistics();
         return copy;
     }
 
@@ -423,22 +497,41 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
      */
     @Override
     public int countMissing() {
-        int count = 0;
-        for (int i = 0; i < size(); i++) {
-            if (getPackedDate(i) == MISSING_VALUE) {
-                count++;
-            }
-        }
-        return count;
+        return missing.getCardinality();
     }
 
+    @Override
+    public Selection isMissing() {
+        return new BitmapBackedSelection(missing.clone());
+    }
+
+    @Override
+    public Selection isNotMissing() {
+        return new BitmapBackedSelection(RoaringBitmap.flip(missing, 0L, size()));
+    }
+
+    /**
+     * Appends all the values in the given column. The values are copied in bulk, and the block statistics are then
+     * brought up to date in a single pass over the new rows
+     */
     @Override
     public void append(Column column) {
         Preconditions.checkArgument(column.type() == this.type());
-        DateColumn doubleColumn = (DateColumn) column;
-        for (int i = 0; i < doubleColumn.size(); i++) {
-            appendInternal(doubleColumn.getPackedDate(i));
+        DateColumn source = (DateColumn) column;
+        int offset = data.size();
+        int count = source.size();
+        if (count == 0) {
+            return;
+        }
+        boolean sourceSorted = source.sortedAscending;
+        data.addElements(offset, source.data.elements(), 0, count);
+        missing.or(RoaringBitmap.addOffset(source.missing, offset));
+        for (int row = offset; row < offset + count; row++) {
+            int value = data.getInt(row);
+            zoneMap.append(row, value, valueIsMissing(value));
         }
+        sortedAscending = sortedAscending && sourceSorted
+                && (offset == 0 || data.getInt(offset - 1) <= data.getInt(offset));
     }
 
     /**
@@ -450,10 +543,8 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
      */
     public List<LocalDate> top(int n) {
         List<LocalDate> top = new ArrayList<>();
-        int[] values = data.toIntArray();
-        IntArrays.parallelQuickSort(values, DescendingIntComparator.instance());
-        for (int i = 0; i < n && i < values.length; i++) {
-            top.add(PackedLocalDate.asLocalDate(values[i]));
+        for (int row : TopN.rows(size(), n, ReversingIntComparator.reverse(comparator))) {
+            top.add(PackedLocalDate.asLocalDate(getIntInternal(row)));
         }
         return top;
     }
@@ -467,10 +558,8 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
      */
     public List<LocalDate> bottom(int n) {
         List<LocalDate> bottom = new ArrayList<>();
-        int[] values = data.toIntArray();
-        IntArrays.parallelQuickSort(values);
-        for (int i = 0; i < n && i < values.length; i++) {
-            bottom.add(PackedLocalDate.asLocalDate(values[i]));
+        for (int row : TopN.rows(size(), n, comparator)) {
+            bottom.add(PackedLocalDate.asLocalDate(getIntInternal(row)));
         }
         return bottom;
     }
@@ -481,7 +570,10 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
 
     @Override
     public DateColumn removeMissing() {
-        DateColumn noMissing = emptyCopy();
+        if (missing.isEmpty()) {
+            return copy();
+        }
+        DateColumn noMissing = emptyCopy(size() - countMissing());
         IntIterator iterator = intIterator();
         while(iterator.hasNext()) {
             int i = iterator.nextInt();
@@ -511,55 +603,149 @@ DateMapFunctions, CategoricalColumn, Iterable<LocalDate> {
      * semantics of packedLocalTimes
      */
     public Selection eval(IntPredicate predicate) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < data.size(); idx++) {
-            int next = data.getInt(idx);
-            if (predicate.test(next)) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(data.elements(), data.size(), predicate);
     }
 
     public Selection eval(IntBiPredicate predicate, int value) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < data.size(); idx++) {
-            int next = data.getInt(idx);
-            if (predicate.test(next, value)) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(data.elements(), data.size(), next -> predicate.test(next, value));
     }
 
     public Selection eval(IntBiPredicate predicate, DateColumn otherColumn) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(getPackedDate(idx), otherColumn.getPackedDate(idx))) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(),
+                idx -> predicate.test(getPackedDate(idx), otherColumn.getPackedDate(idx)));
     }
 
     public Selection eval(BiPredicate<LocalDate, LocalDate> predicate, LocalDate valueToCompare) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(get(idx), valueToCompare)) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(), idx -> predicate.test(get(idx), valueToCompare));
     }
 
     public Selection eval(Predicate<LocalDate> predicate) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(get(idx))) {
-                selection.add(idx);
+        return SelectionBuilder.select(0, size(), idx -> predicate.test(get(idx)));
+    }
+
+    @Override
+    public Selection isAfter(int value) {
+        if (value == Integer.MAX_VALUE) {
+            return new BitmapBackedSelection();
+        }
+        return isBetweenIncluding(value + 1, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Selection isAfter(LocalDate value) {
+        return isAfter(PackedLocalDate.pack(value));
+    }
+
+    @Override
+    public Selection isBefore(int value) {
+        if (value == Integer.MIN_VALUE) {
+            return new BitmapBackedSelection();
+        }
+        return isBetweenIncluding(Integer.MIN_VALUE, value - 1);
+    }
+
+    @Override
+    public Selection isOnOrAfter(LocalDate value) {
+        return isBetweenIncluding(PackedLocalDate.pack(value), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Selection isOnOrBefore(LocalDate value) {
+        return isBetweenIncluding(Integer.MIN_VALUE, PackedLocalDate.pack(value));
+    }
+
+    @Override
+    public Selection isEqualTo(LocalDate value) {
+        return isEqualTo(PackedLocalDate.pack(value));
+    }
+
+    @Override
+    public Selection isEqualTo(int packedDate) {
+        return isBetweenIncluding(packedDate, packedDate);
+    }
+
+    @Override
+    public Selection isBetweenExcluding(int lowValue, int highValue) {
+        if (lowValue == Integer.MAX_VALUE || highValue == Integer.MIN_VALUE) {
+            return new BitmapBackedSelection();
+        }
+        return isBetweenIncluding(lowValue + 1, highValue - 1);
+    }
+
+    /**
+     * Returns the rows whose packed dates lie in the closed range [lowValue, highValue], binary searching a
+     * sorted column, or otherwise using the block statistics to avoid scanning blocks that lie wholly inside or
+     * outside the range
+     */
+    @Override
+    public Selection isBetweenIncluding(int lowValue, int highValue) {
+        if (sortedAscending) {
+            int from = insertionPoint(lowValue, false);
+            int to = insertionPoint(highValue, true);
+            return Selection.withRange(from, Math.max(from, to));
+        }
+        boolean includeMissing = lowValue <= MISSING_VALUE && MISSING_VALUE <= highValue;
+        return zoneMap.select(lowValue, highValue, includeMissing, missing, size(), row -> {
+            int value = data.getInt(row);
+            return value >= lowValue && value <= highValue;
+        });
+    }
+
+    /**
+     * Returns true if the values in this column are known to be in ascending order. The flag is set by sorting
+     * and maintained as values are appended, and cleared by any change that breaks the order
+     */
+    public boolean isSortedAscending() {
+        return sortedAscending;
+    }
+
+    /**
+     * Returns true if selecting the rows whose packed dates lie in the closed range [lowValue, highValue] need not
+     * test every row, because the column is sorted or some of its blocks lie wholly inside or outside the range
+     */
+    public boolean avoidsScanBetweenIncluding(int lowValue, int highValue) {
+        return sortedAscending || zoneMap.skipsBlocks(lowValue, highValue);
+    }
+
+    /**
+     * Returns a test of whether the packed date in a given row passes the predicate, reading the column's backing
+     * array directly. The test must not be used once the column has been modified
+     */
+    public IntPredicate rowTest(IntPredicate predicate) {
+        int[] values = data.elements();
+        return row -> predicate.test(values[row]);
+    }
+
+    /**
+     * Returns an estimate of the number of rows whose packed dates lie in the closed range [lowValue, highValue],
+     * without scanning the column. The count is exact for a sorted column, and otherwise comes from the block
+     * statistics
+     */
+    public double estimateCountBetweenIncluding(int lowValue, int highValue) {
+        if (sortedAscending) {
+            return Math.max(0, insertionPoint(highValue, true) - insertionPoint(lowValue, false));
+        }
+        boolean includeMissing = lowValue <= MISSING_VALUE && MISSING_VALUE <= highValue;
+        return zoneMap.estimateCount(lowValue, highValue, includeMissing, size(), value -> value);
+    }
+
+    /**
+     * Returns the index of the first row whose value is greater than (if after is true), or at least, the given
+     * value. Requires the column to be sorted
+     */
+    private int insertionPoint(int value, boolean after) {
+        int low = 0;
+        int high = data.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int midValue = data.getInt(mid);
+            if (midValue < value || (after && midValue == value)) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
-        return selection;
+        return low;
     }
 
     public Set<LocalDate> asSet() {
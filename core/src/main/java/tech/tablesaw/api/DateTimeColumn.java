@@ -23,15 +23,20 @@ import it.unimi.dsi.fastutil.longs.LongComparator;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.columns.AbstractColumn;
 import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.ZoneMap;
 import tech.tablesaw.columns.datetimes.DateTimeColumnFormatter;
 import tech.tablesaw.columns.datetimes.DateTimeFillers;
 import tech.tablesaw.columns.datetimes.DateTimeFilters;
 import tech.tablesaw.columns.datetimes.DateTimeMapFunctions;
 import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
 import tech.tablesaw.io.TypeUtils;
+import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.sorting.TopN;
+import tech.tablesaw.sorting.comparators.ReversingIntComparator;
 import tech.tablesaw.sorting.comparators.DescendingLongComparator;
 
 import java.nio.ByteBuffer;
@@ -47,6 +52,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Supplier;
 
 import static tech.tablesaw.api.ColumnType.LOCAL_DATE_TIME;
@@ -63,6 +70,21 @@ implements DateTimeMapFunctions, DateTimeFilters, DateTimeFillers<DateTimeColumn
 
     private LongArrayList data;
 
+    /**
+     * The rows that hold missing values, kept up to date on every append and set
+     */
+    private RoaringBitmap missing = new RoaringBitmap();
+
+    /**
+     * Per-block min, max and missing counts, used to skip blocks in range filters
+     */
+    private ZoneMap zoneMap = new ZoneMap();
+
+    /**
+     * True if the values are known to be in ascending order, with any missing values first
+     */
+    private boolean sortedAscending = true;
+
     private final IntComparator comparator = (r1, r2) -> {
         long f1 = getPackedDateTime(r1);
         long f2 = getPackedDateTime(r2);
@@ -123,11 +145,37 @@ implements DateTimeMapFunctions, DateTimeFilters, DateTimeFillers<DateTimeColumn
         super(LOCAL_DATE_TIME, name);
         this.data = data;
         this.locale = locale;
+        updateStatistics();
+    }
+
+    /**
+     * Rebuilds the missing value bitmap and block statistics from the data. Used when the data is replaced or
+     * reordered wholesale
+     */
+    private void updateStatistics() {
+        modified();
+        missing = new RoaringBitmap();
+        zoneMap = new ZoneMap();
+        sortedAscending = true;
+        for (int i = 0; i < data.size(); i++) {
+            long value = data.getLong(i);
+            boolean isMissing = valueIsMissing(value);
+            if (isMissing) {
+                missing.add(i);
+            }
+            zoneMap.append(i, value, isMissing);
+            if (i > 0 && data.getLong(i - 1) > value) {
+                sortedAscending = false;
+            }
+        }
     }
 
     @Override
     public DateTimeColumn removeMissing() {
-        DateTimeColumn noMissing = emptyCopy();
+        if (missing.isEmpty()) {
+            return copy();
+        }
+        DateTimeColumn noMissing = emptyCopy(size() - countMissing());
         LongIterator iterator = longIterator();
         while(iterator.hasNext()) {
             long i = iterator.nextLong();
@@ -179,6 +227,7 @@ implements DateTimeMapFunctions, DateTimeFilters, DateTimeFillers<DateTimeColumn
 
         DateTimeColumn copy = emptyCopy(size());
         copy.data = new LongArrayList(dest);
+        copy.updateStatistics();
         copy.setName(name() + " lag(" + n + ")");
         return copy;
     }
@@ -238,6 +287,14 @@ implements DateTimeMapFunctions, DateTimeFilters, DateTimeFillers<DateTimeColumn
     }
 
     public DateTimeColumn appendInternal(long dateTime) {
+        boolean isMissing = valueIsMissing(dateTime);
+        if (isMissing) {
+            missing.add(data.size());
+        }
+        zoneMap.append(data.size(), dateTime, isMissing);
+        if (sortedAscending && !data.isEmpty() && data.getLong(data.size() - 1) > dateTime) {
+            sortedAscending = false;
+        }
         data.add(dateTime);
         return this;
     }
@@ -269,22 +326,31 @@ implements DateTimeMapFunctions, DateTimeFilters, DateTimeFillers<DateTimeColumn
     public DateTimeColumn copy() {
         DateTimeColumn column = emptyCopy(data.size());
         column.data = data.clone();
+        column.missing = missing.clone();
+        column.zoneMap = zoneMap.copy();
+        column.sortedAscending = sortedAscending;
         return column;
     }
 
     @Override
     public void clear() {
+        modified();
         data.clear();
+        missing.clear();
+        zoneMap.clear();
+        sortedAscending = true;
     }
 
     @Override
     public void sortAscending() {
-        Arrays.parallelSort(data.elements());
+        Arrays.parallelSort(data.elements(), 0, data.size());
+        updateStatistics();
     }
 
     @Override
     public void sortDescending() {
-        LongArrays.parallelQuickSort(data.elements(), reverseLongComparator);
+        LongArrays.parallelQuickSort(data.elements(), 0, data.size(), reverseLongComparator);
+        updateStatistics();
     }
 
     @Override
@@ -328,6 +394,7 @@ implements DateTimeMapFunctions, DateTimeFilters, DateTimeFillers<DateTimeColumn
         DateTimeColumn column = emptyCopy(ints.size());
         column.setName(name() + " Unique values");
         column.data = LongArrayList.wrap(ints.toLongArray());
+        column.updateStatistics();
         return column;
     }
 
@@ -372,13 +439,17 @@ implements DateTimeMapFunctions, DateTimeFilters, DateTimeFillers<DateTimeColumn
      */
     @Override
     public int countMissing() {
-        int count = 0;
-        for (int i = 0; i < size(); i++) {
-            if (getPackedDateTime(i) == MISSING_VALUE) {
-                count++;
-            }
-        }
-        return count;
+        return missing.getCardinality();
+    }
+
+    @Override
+    public Selection isMissing() {
+        return new BitmapBackedSelection(missing.clone());
+    }
+
+    @Override
+    public Selection isNotMissing() {
+        return new BitmapBackedSelection(RoaringBitmap.flip(missing, 0L, size()));
     }
 
     /**
@@ -413,13 +484,147 @@ implements DateTimeMapFunctions, DateTimeFilters, DateTimeFillers<DateTimeColumn
         return output;
     }
 
+    /**
+     * Appends all the values in the given column. The packed values are copied in bulk, and the block statistics are
+     * then brought up to date in a single pass over the new rows
+     */
     @Override
     public void append(Column column) {
         Preconditions.checkArgument(column.type() == this.type());
-        DateTimeColumn doubleColumn = (DateTimeColumn) column;
-        for (int i = 0; i < doubleColumn.size(); i++) {
-            append(doubleColumn.get(i));
+        DateTimeColumn source = (DateTimeColumn) column;
+        int offset = data.size();
+        int count = source.size();
+        if (count == 0) {
+            return;
+        }
+        boolean sourceSorted = source.sortedAscending;
+        data.addElements(offset, source.data.elements(), 0, count);
+        missing.or(RoaringBitmap.addOffset(source.missing, offset));
+        for (int row = offset; row < offset + count; row++) {
+            long value = data.getLong(row);
+            zoneMap.append(row, value, valueIsMissing(value));
+        }
+        sortedAscending = sortedAscending && sourceSorted
+                && (offset == 0 || data.getLong(offset - 1) <= data.getLong(offset));
+    }
+
+    @Override
+    public Selection isAfter(LocalDateTime value) {
+        long packed = PackedLocalDateTime.pack(value);
+        if (packed == Long.MAX_VALUE) {
+            return new BitmapBackedSelection();
+        }
+        return isBetweenIncluding(packed + 1, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Selection isOnOrAfter(LocalDateTime value) {
+        return isBetweenIncluding(PackedLocalDateTime.pack(value), Long.MAX_VALUE);
+    }
+
+    @Override
+    public Selection isBefore(LocalDateTime value) {
+        long packed = PackedLocalDateTime.pack(value);
+        if (packed == Long.MIN_VALUE) {
+            return new BitmapBackedSelection();
         }
+        return isBetweenIncluding(Long.MIN_VALUE, packed - 1);
+    }
+
+    @Override
+    public Selection isOnOrBefore(LocalDateTime value) {
+        return isBetweenIncluding(Long.MIN_VALUE, PackedLocalDateTime.pack(value));
+    }
+
+    @Override
+    public Selection isEqualTo(LocalDateTime value) {
+        long packed = PackedLocalDateTime.pack(value);
+        return isBetweenIncluding(packed, packed);
+    }
+
+    @Override
+    public Selection isBetweenExcluding(long lowPackedDateTime, long highPackedDateTime) {
+        if (lowPackedDateTime == Long.MAX_VALUE || highPackedDateTime == Long.MIN_VALUE) {
+            return new BitmapBackedSelection();
+        }
+        return isBetweenIncluding(lowPackedDateTime + 1, highPackedDateTime - 1);
+    }
+
+    /**
+     * Returns the rows whose packed date-times lie in the closed range [lowPackedDateTime, highPackedDateTime], binary
+     * searching a sorted column, or otherwise using the block statistics to avoid scanning blocks that lie wholly
+     * inside or outside the range
+     */
+    @Override
+    public Selection isBetweenIncluding(long lowPackedDateTime, long highPackedDateTime) {
+        if (sortedAscending) {
+            int from = insertionPoint(lowPackedDateTime, false);
+            int to = insertionPoint(highPackedDateTime, true);
+            return Selection.withRange(from, Math.max(from, to));
+        }
+        boolean includeMissing = lowPackedDateTime <= MISSING_VALUE && MISSING_VALUE <= highPackedDateTime;
+        return zoneMap.select(lowPackedDateTime, highPackedDateTime, includeMissing, missing, size(), row -> {
+            long value = data.getLong(row);
+            return value >= lowPackedDateTime && value <= highPackedDateTime;
+        });
+    }
+
+    /**
+     * Returns true if the values in this column are known to be in ascending order. The flag is set by sorting
+     * and maintained as values are appended, and cleared by any change that breaks the order
+     */
+    public boolean isSortedAscending() {
+        return sortedAscending;
+    }
+
+    /**
+     * Returns true if selecting the rows whose packed date-times lie in the closed range
+     * [lowPackedDateTime, highPackedDateTime] need not test every row, because the column is sorted or some of its
+     * blocks lie wholly inside or outside the range
+     */
+    public boolean avoidsScanBetweenIncluding(long lowPackedDateTime, long highPackedDateTime) {
+        return sortedAscending || zoneMap.skipsBlocks(lowPackedDateTime, highPackedDateTime);
+    }
+
+    /**
+     * Returns a test of whether the packed date-time in a given row passes the predicate, reading the column's backing
+     * array directly. The test must not be used once the column has been modified
+     */
+    public IntPredicate rowTest(LongPredicate predicate) {
+        long[] values = data.elements();
+        return row -> predicate.test(values[row]);
+    }
+
+    /**
+     * Returns an estimate of the number of rows whose packed date-times lie in the closed range
+     * [lowPackedDateTime, highPackedDateTime], without scanning the column. The count is exact for a sorted column,
+     * and otherwise comes from the block statistics
+     */
+    public double estimateCountBetweenIncluding(long lowPackedDateTime, long highPackedDateTime) {
+        if (sortedAscending) {
+            return Math.max(0, insertionPoint(highPackedDateTime, true) - insertionPoint(lowPackedDateTime, false));
+        }
+        boolean includeMissing = lowPackedDateTime <= MISSING_VALUE && MISSING_VALUE <= highPackedDateTime;
+        return zoneMap.estimateCount(lowPackedDateTime, highPackedDateTime, includeMissing, size(), value -> value);
+    }
+
+    /**
+     * Returns the index of the first row whose value is greater than (if after is true), or at least, the given
+     * value. Requires the column to be sorted
+     */
+    private int insertionPoint(long value, boolean after) {
+        int low = 0;
+        int high = data.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long midValue = data.getLong(mid);
+            if (midValue < value || (after && midValue == value)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
     }
 
     public LocalDateTime max() {
@@ -467,13 +672,25 @@ implements DateTimeMapFunctions, DateTimeFilters, DateTimeFillers<DateTimeColumn
     }
 
     public DateTimeColumn set(int index, long value) {
+        modified();
+        boolean wasMissing = valueIsMissing(data.getLong(index));
+        boolean isMissing = valueIsMissing(value);
         data.set(index, value);
+        zoneMap.set(index, value, wasMissing, isMissing);
+        if (sortedAscending) {
+            sortedAscending = (index == 0 || data.getLong(index - 1) <= value)
+                    && (index == data.size() - 1 || value <= data.getLong(index + 1));
+        }
+        if (isMissing) {
+            missing.add(index);
+        } else if (!missing.isEmpty()) {
+            missing.remove(index);
+        }
         return this;
     }
 
     public DateTimeColumn set(int index, LocalDateTime value) {
-        data.set(index, PackedLocalDateTime.pack(value));
-        return this;
+        return set(index, PackedLocalDateTime.pack(value));
     }
 
     /**
@@ -485,10 +702,8 @@ implements DateTimeMapFunctions, DateTimeFilters, DateTimeFillers<DateTimeColumn
      */
     public List<LocalDateTime> top(int n) {
         List<LocalDateTime> top = new ArrayList<>();
-        long[] values = data.toLongArray();
-        LongArrays.parallelQuickSort(values, DescendingLongComparator.instance());
-        for (int i = 0; i < n && i < values.length; i++) {
-            top.add(PackedLocalDateTime.asLocalDateTime(values[i]));
+        for (int row : TopN.rows(size(), n, ReversingIntComparator.reverse(comparator))) {
+            top.add(PackedLocalDateTime.asLocalDateTime(getLongInternal(row)));
         }
         return top;
     }
@@ -502,10 +717,8 @@ implements DateTimeMapFunctions, DateTimeFilters, DateTimeFillers<DateTimeColumn
      */
     public List<LocalDateTime> bottom(int n) {
         List<LocalDateTime> bottom = new ArrayList<>();
-        long[] values = data.toLongArray();
-        LongArrays.parallelQuickSort(values);
-        for (int i = 0; i < n && i < values.length; i++) {
-            bottom.add(PackedLocalDateTime.asLocalDateTime(values[i]));
+        for (int row : TopN.rows(size(), n, comparator)) {
+            bottom.add(PackedLocalDateTime.asLocalDateTime(getLongInternal(row)));
         }
         return bottom;
     }
@@ -17,19 +17,23 @@ package tech.tablesaw.api;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.doubles.DoubleCollection;
 import it.unimi.dsi.fastutil.doubles.DoubleArrays;
 import it.unimi.dsi.fastutil.doubles.DoubleComparator;
 import it.unimi.dsi.fastutil.doubles.DoubleIterable;
 import it.unimi.dsi.fastutil.doubles.DoubleIterator;
 import it.unimi.dsi.fastutil.doubles.DoubleList;
 import it.unimi.dsi.fastutil.doubles.DoubleOpenHashSet;
-import it.unimi.dsi.fastutil.doubles.DoubleRBTreeSet;
 import it.unimi.dsi.fastutil.doubles.DoubleSet;
 import it.unimi.dsi.fastutil.ints.IntComparator;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.columns.AbstractColumn;
 import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.ZoneMap;
 import tech.tablesaw.columns.numbers.NumberColumnFormatter;
 import tech.tablesaw.columns.numbers.Stats;
 import tech.tablesaw.filtering.Filter;
@@ -38,6 +42,9 @@ import tech.tablesaw.filtering.predicates.DoubleRangePredicate;
 import tech.tablesaw.io.TypeUtils;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
+import tech.tablesaw.sorting.TopN;
+import tech.tablesaw.util.LongBloomFilter;
 
 import java.nio.ByteBuffer;
 import java.text.NumberFormat;
@@ -51,6 +58,8 @@ import java.util.function.BiPredicate;
 import java.util.function.DoubleConsumer;
 import java.util.function.DoublePredicate;
 import java.util.function.DoubleSupplier;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -69,6 +78,21 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
 
     private DoubleArrayList data;
 
+    /**
+     * The rows that hold missing values, kept up to date on every append and set
+     */
+    private RoaringBitmap missing = new RoaringBitmap();
+
+    /**
+     * Per-block min, max and missing counts, used to skip blocks in range filters
+     */
+    private ZoneMap zoneMap = new ZoneMap();
+
+    /**
+     * True if the values are known to be in ascending order, with any missing values at the end
+     */
+    private boolean sortedAscending = true;
+
     private NumberColumnFormatter printFormatter = new NumberColumnFormatter();
 
     private Locale locale;
@@ -146,7 +170,10 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
 
     @Override
     public DoubleColumn removeMissing() {
-        final DoubleColumn noMissing = (DoubleColumn) emptyCopy();
+        if (missing.isEmpty()) {
+            return (DoubleColumn) copy();
+        }
+        final DoubleColumn noMissing = emptyCopy(size() - countMissing());
         final DoubleIterator iterator = iterator();
         while(iterator.hasNext()) {
             final double v = iterator.nextDouble();
@@ -157,6 +184,22 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
         return noMissing;
     }
 
+    @Override
+    public int countMissing() {
+        return missing.getCardinality();
+    }
+
+    @Override
+    public Selection isMissing() {
+        return new BitmapBackedSelection(missing.clone());
+    }
+
+    @Override
+    public Selection isNotMissing() {
+        final RoaringBitmap notMissing = RoaringBitmap.flip(missing, 0L, size());
+        return new BitmapBackedSelection(notMissing);
+    }
+
     /**
      * Returns a new numeric column initialized with the given name and size. The values in the column are
      * integers beginning at startsWith and continuing through size (exclusive), monotonically increasing by 1
@@ -199,6 +242,29 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
     private DoubleColumn(final String name, final DoubleArrayList data) {
         super(NUMBER, name);
         this.data = data;
+        updateStatistics();
+    }
+
+    /**
+     * Rebuilds the missing value bitmap and block statistics from the data. Used when the data is replaced or
+     * reordered wholesale
+     */
+    private void updateStatistics() {
+        modified();
+        missing = new RoaringBitmap();
+        zoneMap = new ZoneMap();
+        sortedAscending = true;
+        for (int i = 0; i < data.size(); i++) {
+            final double value = data.getDouble(i);
+            final boolean isMissing = NumberColumn.valueIsMissing(value);
+            if (isMissing) {
+                missing.add(i);
+            }
+            zoneMap.append(i, ZoneMap.sortableBits(value), isMissing);
+            if (i > 0 && Double.compare(data.getDouble(i - 1), value) > 0) {
+                sortedAscending = false;
+            }
+        }
     }
 
     @Override
@@ -227,10 +293,8 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
     @Override
     public DoubleArrayList top(final int n) {
         final DoubleArrayList top = new DoubleArrayList();
-        final double[] values = data.toDoubleArray();
-        DoubleArrays.parallelQuickSort(values, descendingComparator);
-        for (int i = 0; i < n && i < values.length; i++) {
-            top.add(values[i]);
+        for (int row : TopN.rows(size(), n, (r1, r2) -> Double.compare(data.getDouble(r2), data.getDouble(r1)))) {
+            top.add(data.getDouble(row));
         }
         return top;
     }
@@ -246,10 +310,8 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
     @Override
     public DoubleArrayList bottom(final int n) {
         final DoubleArrayList bottom = new DoubleArrayList();
-        final double[] values = data.toDoubleArray();
-        DoubleArrays.parallelQuickSort(values);
-        for (int i = 0; i < n && i < values.length; i++) {
-            bottom.add(values[i]);
+        for (int row : TopN.rows(size(), n, comparator)) {
+            bottom.add(data.getDouble(row));
         }
         return bottom;
     }
@@ -281,8 +343,7 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
      */
     @Override
     public DoubleColumn append(final float f) {
-        data.add(f);
-        return this;
+        return append((double) f);
     }
 
     /**
@@ -290,6 +351,14 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
      */
     @Override
     public DoubleColumn append(double d) {
+        final boolean isMissing = NumberColumn.valueIsMissing(d);
+        if (isMissing) {
+            missing.add(data.size());
+        }
+        zoneMap.append(data.size(), ZoneMap.sortableBits(d), isMissing);
+        if (sortedAscending && !data.isEmpty() && Double.compare(data.getDouble(data.size() - 1), d) > 0) {
+            sortedAscending = false;
+        }
         data.add(d);
         return this;
     }
@@ -349,6 +418,7 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
 
         final DoubleColumn copy = emptyCopy(size());
         copy.data = new DoubleArrayList(dest);
+        copy.updateStatistics();
         copy.setName(name() + " lag(" + n + ")");
         return copy;
     }
@@ -357,22 +427,31 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
     public NumberColumn copy() {
         final DoubleColumn column = emptyCopy(size());
         column.data = data.clone();
+        column.missing = missing.clone();
+        column.zoneMap = zoneMap.copy();
+        column.sortedAscending = sortedAscending;
         return column;
     }
 
     @Override
     public void clear() {
+        modified();
         data = new DoubleArrayList(DEFAULT_ARRAY_SIZE);
+        missing = new RoaringBitmap();
+        zoneMap = new ZoneMap();
+        sortedAscending = true;
     }
 
     @Override
     public void sortAscending() {
-        Arrays.parallelSort(data.elements());
+        Arrays.parallelSort(data.elements(), 0, data.size());
+        updateStatistics();
     }
 
     @Override
     public void sortDescending() {
-        DoubleArrays.parallelQuickSort(data.elements(), descendingComparator);
+        DoubleArrays.parallelQuickSort(data.elements(), 0, data.size(), descendingComparator);
+        updateStatistics();
     }
 
     @Override
@@ -432,7 +511,20 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
 
     @Override
     public DoubleColumn set(final int r, final double value) {
+        modified();
+        final boolean wasMissing = NumberColumn.valueIsMissing(data.getDouble(r));
+        final boolean isMissing = NumberColumn.valueIsMissing(value);
         data.set(r, value);
+        zoneMap.set(r, ZoneMap.sortableBits(value), wasMissing, isMissing);
+        if (sortedAscending) {
+            sortedAscending = (r == 0 || Double.compare(data.getDouble(r - 1), value) <= 0)
+                    && (r == data.size() - 1 || Double.compare(value, data.getDouble(r + 1)) <= 0);
+        }
+        if (isMissing) {
+            missing.add(r);
+        } else if (!missing.isEmpty()) {
+            missing.remove(r);
+        }
         return this;
     }
 
@@ -460,13 +552,28 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
         return output;
     }
 
+    /**
+     * Appends all the values in the given column. The values are copied in bulk, and the block statistics are then
+     * brought up to date in a single pass over the new rows
+     */
     @Override
     public void append(final Column column) {
         Preconditions.checkArgument(column.type() == this.type());
-        final NumberColumn numberColumn = (NumberColumn) column;
-        for (int i = 0; i < numberColumn.size(); i++) {
-            append(numberColumn.get(i));
+        final DoubleColumn source = (DoubleColumn) column;
+        final int offset = data.size();
+        final int count = source.size();
+        if (count == 0) {
+            return;
         }
+        final boolean sourceSorted = source.sortedAscending;
+        data.addElements(offset, source.data.elements(), 0, count);
+        missing.or(RoaringBitmap.addOffset(source.missing, offset));
+        for (int row = offset; row < offset + count; row++) {
+            final double value = data.getDouble(row);
+            zoneMap.append(row, ZoneMap.sortableBits(value), NumberColumn.valueIsMissing(value));
+        }
+        sortedAscending = sortedAscending && sourceSorted
+                && (offset == 0 || Double.compare(data.getDouble(offset - 1), data.getDouble(offset)) <= 0);
     }
 
     @Override
@@ -486,65 +593,161 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
 
     @Override
     public Selection eval(final DoublePredicate predicate) {
-        final Selection bitmap = new BitmapBackedSelection();
-        for (int idx = 0; idx < data.size(); idx++) {
-            final double next = data.getDouble(idx);
-            if (predicate.test(next)) {
-                bitmap.add(idx);
-            }
-        }
-        return bitmap;
+        return SelectionBuilder.select(data.elements(), data.size(), predicate);
     }
 
     @Override
     public Selection eval(final DoubleBiPredicate predicate, final NumberColumn otherColumn) {
-        final Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(get(idx), otherColumn.get(idx))) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        final double[] values = data.elements();
+        return SelectionBuilder.select(0, size(), idx -> predicate.test(values[idx], otherColumn.get(idx)));
     }
 
     @Override
     public Selection eval(final DoubleBiPredicate predicate, final Number number) {
         final double value = number.doubleValue();
-        final Selection bitmap = new BitmapBackedSelection();
-        for (int idx = 0; idx < data.size(); idx++) {
-            final double next = data.getDouble(idx);
-            if (predicate.test(next, value)) {
-                bitmap.add(idx);
-            }
-        }
-        return bitmap;
+        return SelectionBuilder.select(data.elements(), data.size(), next -> predicate.test(next, value));
     }
 
     @Override
     public Selection eval(final BiPredicate<Number, Number> predicate, final Number number) {
         final double value = number.doubleValue();
-        final Selection bitmap = new BitmapBackedSelection();
-        for (int idx = 0; idx < data.size(); idx++) {
-            final double next = data.getDouble(idx);
-            if (predicate.test(next, value)) {
-                bitmap.add(idx);
-            }
-        }
-        return bitmap;
+        return SelectionBuilder.select(data.elements(), data.size(), next -> predicate.test(next, value));
     }
 
     @Override
     public Selection eval(final DoubleRangePredicate predicate, final Number rangeStart, final Number rangeEnd) {
         final double start = rangeStart.doubleValue();
         final double end = rangeEnd.doubleValue();
-        final Selection bitmap = new BitmapBackedSelection();
-        for (int idx = 0; idx < data.size(); idx++) {
-            final double next = data.getDouble(idx);
-            if (predicate.test(next, start, end)) {
-                bitmap.add(idx);
+        return SelectionBuilder.select(data.elements(), data.size(), next -> predicate.test(next, start, end));
+    }
+
+    @Override
+    public Selection isEqualTo(final double d) {
+        return selectRange(d, d);
+    }
+
+    @Override
+    public Selection isBetweenInclusive(final double start, final Number end) {
+        return selectRange(start, end.doubleValue());
+    }
+
+    @Override
+    public Selection isBetweenExclusive(final double start, final Number end) {
+        if (start == Double.POSITIVE_INFINITY || end.doubleValue() == Double.NEGATIVE_INFINITY) {
+            return new BitmapBackedSelection();
+        }
+        return selectRange(Math.nextUp(start), Math.nextDown(end.doubleValue()));
+    }
+
+    @Override
+    public Selection isGreaterThan(final double f) {
+        if (f == Double.POSITIVE_INFINITY) {
+            return new BitmapBackedSelection();
+        }
+        return selectRange(Math.nextUp(f), Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    public Selection isGreaterThanOrEqualTo(final double f) {
+        return selectRange(f, Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    public Selection isLessThan(final double f) {
+        if (f == Double.NEGATIVE_INFINITY) {
+            return new BitmapBackedSelection();
+        }
+        return selectRange(Double.NEGATIVE_INFINITY, Math.nextDown(f));
+    }
+
+    @Override
+    public Selection isLessThanOrEqualTo(final double f) {
+        return selectRange(Double.NEGATIVE_INFINITY, f);
+    }
+
+    /**
+     * Returns true if the values in this column are known to be in ascending order. The flag is set by sorting
+     * and maintained as values are appended, and cleared by any change that breaks the order
+     */
+    public boolean isSortedAscending() {
+        return sortedAscending;
+    }
+
+    /**
+     * Returns true if selecting the rows whose values lie in the closed range [low, high] need not test every row,
+     * because the column is sorted or some of its blocks lie wholly inside or outside the range
+     */
+    public boolean avoidsScanBetweenInclusive(final double low, final double high) {
+        if (sortedAscending || Double.isNaN(low) || Double.isNaN(high)) {
+            return true;
+        }
+        return zoneMap.skipsBlocks(ZoneMap.sortableBits(low), ZoneMap.sortableBits(high));
+    }
+
+    /**
+     * Returns a test of whether the value in a given row passes the predicate, reading the column's backing array
+     * directly. The test must not be used once the column has been modified
+     */
+    public IntPredicate rowTest(final DoublePredicate predicate) {
+        final double[] values = data.elements();
+        return row -> predicate.test(values[row]);
+    }
+
+    /**
+     * Returns an estimate of the number of rows whose values lie in the closed range [low, high], without scanning
+     * the column. The count is exact for a sorted column, and otherwise comes from the block statistics
+     */
+    public double estimateCountBetweenInclusive(final double low, final double high) {
+        if (Double.isNaN(low) || Double.isNaN(high)) {
+            return 0;
+        }
+        final long lowKey = ZoneMap.sortableBits(low);
+        final long highKey = ZoneMap.sortableBits(high);
+        if (sortedAscending) {
+            return Math.max(0, insertionPoint(highKey, true) - insertionPoint(lowKey, false));
+        }
+        return zoneMap.estimateCount(lowKey, highKey, false, size(), ZoneMap::fromSortableBits);
+    }
+
+    /**
+     * Returns the rows whose values lie in the closed range [low, high]. A sorted column is binary searched;
+     * otherwise the block statistics are used to avoid scanning blocks that lie wholly inside or outside the range
+     */
+    private Selection selectRange(final double low, final double high) {
+        if (Double.isNaN(low) || Double.isNaN(high)) {
+            return new BitmapBackedSelection();
+        }
+        final long lowKey = ZoneMap.sortableBits(low);
+        final long highKey = ZoneMap.sortableBits(high);
+        if (sortedAscending) {
+            final int from = insertionPoint(lowKey, false);
+            final int to = insertionPoint(highKey, true);
+            return Selection.withRange(from, Math.max(from, to));
+        }
+        return zoneMap.select(lowKey, highKey, false, missing, size(),
+                row -> {
+                    final double value = data.getDouble(row);
+                    return value >= low && value <= high;
+                });
+    }
+
+    /**
+     * Returns the index of the first row whose key is greater than (if after is true), or at least, the given key.
+     * Requires the column to be sorted
+     */
+    private int insertionPoint(final long key, final boolean after) {
+        int low = 0;
+        int high = data.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            final long midKey = ZoneMap.sortableBits(data.getDouble(mid));
+            if (midKey < key || (after && midKey == key)) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
-        return bitmap;
+        return low;
     }
 
     @Override
@@ -554,14 +757,42 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
 
     @Override
     public Selection isIn(final double... doubles) {
-        final Selection results = new BitmapBackedSelection();
-        final DoubleRBTreeSet doubleSet = new DoubleRBTreeSet(doubles);
-        for (int i = 0; i < size(); i++) {
-            if (doubleSet.contains(get(i))) {
-                results.add(i);
+        return isIn(DoubleArrayList.wrap(doubles));
+    }
+
+    /**
+     * Returns the rows holding one of the given values. The values are hashed once into a primitive set, behind a
+     * Bloom filter when there are many of them, and the column is then scanned with a single membership test per row
+     */
+    @Override
+    public Selection isIn(final DoubleCollection doubles) {
+        final LongOpenHashSet keys = new LongOpenHashSet(doubles.size());
+        for (DoubleIterator it = doubles.iterator(); it.hasNext(); ) {
+            keys.add(Double.doubleToLongBits(it.nextDouble()));
+        }
+        return selectIsIn(keys);
+    }
+
+    @Override
+    public Selection isIn(final NumberColumn values) {
+        final LongOpenHashSet keys = new LongOpenHashSet(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            final double value = values.get(i);
+            if (!Double.isNaN(value)) {
+                keys.add(Double.doubleToLongBits(value));
             }
         }
-        return results;
+        return selectIsIn(keys);
+    }
+
+    /**
+     * Returns the rows whose values have their raw bits in the given set, so that values compare as in
+     * {@link Double#equals(Object)}
+     */
+    private Selection selectIsIn(final LongSet keys) {
+        final LongPredicate contains = LongBloomFilter.prefiltered(keys);
+        return SelectionBuilder.select(data.elements(), data.size(),
+                value -> contains.test(Double.doubleToLongBits(value)));
     }
 
     @Override
@@ -580,6 +811,22 @@ public class DoubleColumn extends AbstractColumn implements NumberColumn {
         return results;
     }
 
+    @Override
+    public Selection isNotIn(final DoubleCollection doubles) {
+        final Selection results = new BitmapBackedSelection();
+        results.addRange(0, size());
+        results.andNot(isIn(doubles));
+        return results;
+    }
+
+    @Override
+    public Selection isNotIn(final NumberColumn values) {
+        final Selection results = new BitmapBackedSelection();
+        results.addRange(0, size());
+        results.andNot(isIn(values));
+        return results;
+    }
+
     @Override
     public DoubleSet asSet() {
         return new DoubleOpenHashSet(data);
@@ -25,8 +25,10 @@ import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntCollection;
 import it.unimi.dsi.fastutil.ints.IntComparator;
 import it.unimi.dsi.fastutil.ints.IntListIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.columns.AbstractColumn;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.strings.StringColumnFormatter;
@@ -38,10 +40,12 @@ import tech.tablesaw.filtering.Filter;
 import tech.tablesaw.io.TypeUtils;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -69,21 +73,14 @@ public class StringColumn extends AbstractColumn
     // holds a key for each row in the table. the key can be used to lookup the backing string value
     private IntArrayList values;
 
+    // the rows that hold the missing value, kept up to date on every append and set
+    private RoaringBitmap missing = new RoaringBitmap();
+
     // a bidirectional map of keys to backing string values.
     private final DictionaryMap lookupTable = new DictionaryMap();
 
     private StringColumnFormatter printFormatter = new StringColumnFormatter();
 
-    private final IntComparator rowComparator = new IntComparator() {
-
-        @Override
-        public int compare(int i, int i1) {
-            String f1 = get(i);
-            String f2 = get(i1);
-            return f1.compareTo(f2);
-        }
-    };
-
     public static boolean valueIsMissing(String string) {
         return MISSING_VALUE.equals(string);
     }
@@ -94,20 +91,6 @@ public class StringColumn extends AbstractColumn
         return this;
     }
 
-    private final IntComparator reverseDictionarySortComparator = new IntComparator() {
-        @Override
-        public int compare(int i, int i1) {
-            return -lookupTable.get(i).compareTo(lookupTable.get(i1));
-        }
-    };
-
-    private final IntComparator dictionarySortComparator = new IntComparator() {
-        @Override
-        public int compare(int i, int i1) {
-            return lookupTable.get(i).compareTo(lookupTable.get(i1));
-        }
-    };
-
     public static StringColumn create(String name) {
         return create(name, DEFAULT_ARRAY_SIZE);
     }
@@ -121,7 +104,9 @@ public class StringColumn extends AbstractColumn
     }
 
     public static StringColumn create(String name, int size) {
-        return new StringColumn(name, new ArrayList<>(size));
+        StringColumn column = new StringColumn(name, new ArrayList<>());
+        column.values.ensureCapacity(size);
+        return column;
     }
 
     private StringColumn(String name, List<String> strings) {
@@ -180,16 +165,105 @@ public class StringColumn extends AbstractColumn
 
     @Override
     public void sortAscending() {
-        int[] elements = values.toIntArray();
-        IntArrays.parallelQuickSort(elements, dictionarySortComparator);
-        this.values = new IntArrayList(elements);
+        sortByRank(false);
     }
 
     @Override
     public void sortDescending() {
-        int[] elements = values.toIntArray();
-        IntArrays.parallelQuickSort(elements, reverseDictionarySortComparator);
-        this.values = new IntArrayList(elements);
+        sortByRank(true);
+    }
+
+    /**
+     * Sorts the keys with a counting sort: the rows holding each key are counted, and the keys are then written out
+     * in rank order, so no strings are compared
+     */
+    private void sortByRank(boolean descending) {
+        int[] counts = keyCounts();
+        int[] sortedKeys = lookupTable.sortedKeys();
+        int[] elements = new int[values.size()];
+        int position = 0;
+        for (int i = 0; i < sortedKeys.length; i++) {
+            int key = sortedKeys[descending ? sortedKeys.length - 1 - i : i];
+            Arrays.fill(elements, position, position + counts[key], key);
+            position += counts[key];
+        }
+        this.values = IntArrayList.wrap(elements);
+        updateMissing();
+    }
+
+    /**
+     * Returns the number of rows holding each dictionary key, indexed by key
+     */
+    private int[] keyCounts() {
+        int[] counts = new int[lookupTable.ranks().length];
+        for (int i = 0; i < values.size(); i++) {
+            counts[values.getInt(i)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the rank of each dictionary key in {@link String#compareTo(String)} order, indexed by key, so that rows
+     * can be compared by the ranks of their keys instead of by their strings. The ranks are computed when first needed
+     * and kept until the dictionary changes; the returned array must not be modified
+     */
+    public int[] dictionaryRanks() {
+        return lookupTable.ranks();
+    }
+
+    /**
+     * Returns one more than the largest key in this column's dictionary: the length of an array indexed by key
+     */
+    public int dictionaryKeyLimit() {
+        int limit = 0;
+        for (int key : lookupTable.keyToValueMap().keySet()) {
+            limit = Math.max(limit, key + 1);
+        }
+        return limit;
+    }
+
+    /**
+     * Returns an estimate of the memory, in bytes, held by this column's dictionary: each distinct string, with its
+     * entries in the two maps between keys and strings. The keys held for each row are not included
+     */
+    public long dictionaryByteSize() {
+        long bytes = 0;
+        for (String value : lookupTable.keyToValueMap().values()) {
+            // a String object and its backing array, at up to two bytes per char, and a slot in each map
+            bytes += 72 + 2L * value.length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns, for each key in this column's dictionary, the key of the same string in the given column's dictionary,
+     * or -1 if that dictionary does not hold the string. The array is indexed by key and has an entry for every key
+     * in use; each distinct string is hashed once, so rows of the two columns can then be matched by their keys
+     */
+    public int[] dictionaryKeysIn(StringColumn other) {
+        int[] translation = new int[dictionaryKeyLimit()];
+        Arrays.fill(translation, -1);
+        for (Int2ObjectMap.Entry<String> entry : lookupTable.keyToValueMap().int2ObjectEntrySet()) {
+            translation[entry.getIntKey()] = other.lookupTable.get(entry.getValue());
+        }
+        return translation;
+    }
+
+    /**
+     * Rebuilds the missing value bitmap from the keys. Used when the keys are reordered wholesale
+     */
+    private void updateMissing() {
+        modified();
+        missing = new RoaringBitmap();
+        int missingKey = lookupTable.get(MISSING_VALUE);
+        if (missingKey < 0) {
+            return;
+        }
+        for (int i = 0; i < values.size(); i++) {
+            if (values.getInt(i) == missingKey) {
+                missing.add(i);
+            }
+        }
     }
 
     /**
@@ -266,8 +340,10 @@ public class StringColumn extends AbstractColumn
 
     @Override
     public void clear() {
+        modified();
         values.clear();
         lookupTable.clear();
+        missing.clear();
     }
 
     public StringColumn lead(int n) {
@@ -320,6 +396,7 @@ public class StringColumn extends AbstractColumn
     }
 
     public StringColumn set(int rowIndex, String stringValue) {
+        modified();
         String str = MISSING_VALUE;
         if (stringValue != null) {
             str = stringValue;
@@ -330,6 +407,11 @@ public class StringColumn extends AbstractColumn
             lookupTable.put(valueId, str);
         }
         values.set(rowIndex, valueId);
+        if (valueIsMissing(str)) {
+            missing.add(rowIndex);
+        } else if (!missing.isEmpty()) {
+            missing.remove(rowIndex);
+        }
         return this;
     }
 
@@ -346,13 +428,7 @@ public class StringColumn extends AbstractColumn
      * @return A list, possibly empty, of the largest observations
      */
     public List<String> top(int n) {
-        List<String> top = new ArrayList<>();
-        StringColumn copy = this.copy();
-        copy.sortDescending();
-        for (int i = 0; i < n; i++) {
-            top.add(copy.get(i));
-        }
-        return top;
+        return firstInOrder(n, true);
     }
 
     /**
@@ -363,13 +439,25 @@ public class StringColumn extends AbstractColumn
      * @return A list, possibly empty, of the smallest n observations
      */
     public List<String> bottom(int n) {
-        List<String> bottom = new ArrayList<>();
-        StringColumn copy = this.copy();
-        copy.sortAscending();
-        for (int i = 0; i < n; i++) {
-            bottom.add(copy.get(i));
+        return firstInOrder(n, false);
+    }
+
+    /**
+     * Returns the first n values of the column in sorted order, walking the dictionary in rank order rather than
+     * sorting a copy of the column
+     */
+    private List<String> firstInOrder(int n, boolean descending) {
+        List<String> result = new ArrayList<>();
+        int[] counts = keyCounts();
+        int[] sortedKeys = lookupTable.sortedKeys();
+        for (int i = 0; i < sortedKeys.length && result.size() < n; i++) {
+            int key = sortedKeys[descending ? sortedKeys.length - 1 - i : i];
+            String value = lookupTable.get(key);
+            for (int c = 0; c < counts[key] && result.size() < n; c++) {
+                result.add(value);
+            }
         }
-        return bottom;
+        return result;
     }
 
     private void addValue(String value) {
@@ -378,6 +466,9 @@ public class StringColumn extends AbstractColumn
             key = nextIndex.getAndIncrement();
             lookupTable.put(key, value);
         }
+        if (valueIsMissing(value)) {
+            missing.add(values.size());
+        }
         values.add(key);
     }
 
@@ -434,7 +525,9 @@ public class StringColumn extends AbstractColumn
 
     @Override
     public IntComparator rowComparator() {
-        return rowComparator;
+        // ranked here, on the calling thread, so that a parallel sort using the comparator only reads the array
+        int[] ranks = lookupTable.ranks();
+        return (i, i1) -> Integer.compare(ranks[getInt(i)], ranks[getInt(i1)]);
     }
 
     @Override
@@ -544,13 +637,34 @@ public class StringColumn extends AbstractColumn
         return newCol;
     }
 
+    /**
+     * Appends all the values in the given column. The source dictionary is merged into this one once, giving a new
+     * key for each source key; the rows are then copied by key without hashing any strings
+     */
     @Override
     public void append(Column column) {
         Preconditions.checkArgument(column.type() == this.type());
         StringColumn source = (StringColumn) column;
-        for (String string : source) {
-            append(string);
+        int offset = values.size();
+        int count = source.size();
+        if (count == 0) {
+            return;
+        }
+        int[] keyMap = new int[source.dictionaryKeyLimit()];
+        for (Int2ObjectMap.Entry<String> entry : source.lookupTable.keyToValueMap().int2ObjectEntrySet()) {
+            int key = lookupTable.get(entry.getValue());
+            if (key <= 0) {
+                key = nextIndex.getAndIncrement();
+                lookupTable.put(key, entry.getValue());
+            }
+            keyMap[entry.getIntKey()] = key;
+        }
+        values.addElements(offset, source.values.elements(), 0, count);
+        int[] keys = values.elements();
+        for (int row = offset; row < offset + count; row++) {
+            keys[row] = keyMap[keys[row]];
         }
+        missing.or(RoaringBitmap.addOffset(source.missing, offset));
     }
 
     /**
@@ -558,22 +672,29 @@ public class StringColumn extends AbstractColumn
      */
     @Override
     public int countMissing() {
-        int count = 0;
-        for (int i = 0; i < size(); i++) {
-            if (MISSING_VALUE.equals(get(i))) {
-                count++;
-            }
-        }
-        return count;
+        return missing.getCardinality();
+    }
+
+    @Override
+    public Selection isMissing() {
+        return new BitmapBackedSelection(missing.clone());
+    }
+
+    @Override
+    public Selection isNotMissing() {
+        return new BitmapBackedSelection(RoaringBitmap.flip(missing, 0L, size()));
     }
 
     @Override
     public StringColumn removeMissing() {
-        StringColumn noMissing = emptyCopy();
+        if (missing.isEmpty()) {
+            return copy();
+        }
+        StringColumn noMissing = emptyCopy(size() - countMissing());
         Iterator<String> iterator = iterator();
         while(iterator.hasNext()) {
             String v = iterator.next();
-            if (valueIsMissing(v)) {
+            if (!valueIsMissing(v)) {
                 noMissing.append(v);
             }
         }
@@ -666,39 +787,93 @@ public class StringColumn extends AbstractColumn
 
     @Override
     public Selection isIn(String... strings) {
+        return selectIsIn(Arrays.asList(strings));
+    }
+
+    @Override
+    public Selection isIn(Collection<String> strings) {
         return selectIsIn(strings);
     }
 
-    private Selection selectIsIn(String... strings) {
-        IntArrayList keys = new IntArrayList();
+    @Override
+    public Selection isIn(StringColumn strings) {
+        return selectIsIn(strings.nonMissingValues());
+    }
+
+    /**
+     * Returns the rows holding one of the given strings. The strings are resolved to dictionary keys once, and the
+     * rows are then tested by key against a bitset
+     */
+    private Selection selectIsIn(Collection<String> strings) {
+        IntArrayList keys = new IntArrayList(strings.size());
+        int maxKey = -1;
         for (String string : strings) {
             int key = lookupTable.get(string);
-            if (key > 0) {
+            if (key >= 0) {
                 keys.add(key);
+                maxKey = Math.max(maxKey, key);
             }
         }
+        if (keys.isEmpty()) {
+            return new BitmapBackedSelection();
+        }
+        final int keyLimit = maxKey;
+        final long[] keySet = new long[(maxKey >>> 6) + 1];
+        for (int key : keys) {
+            keySet[key >>> 6] |= 1L << key;
+        }
+        return SelectionBuilder.select(values.elements(), values.size(),
+                key -> key <= keyLimit && (keySet[key >>> 6] & 1L << key) != 0);
+    }
 
-        Selection results = new BitmapBackedSelection();
+    /**
+     * Returns the distinct strings held in this column, other than the missing value
+     */
+    private List<String> nonMissingValues() {
+        IntOpenHashSet keys = new IntOpenHashSet();
         for (int i = 0; i < values.size(); i++) {
-            if (keys.contains(values.getInt(i))) {
-                results.add(i);
+            keys.add(values.getInt(i));
+        }
+        List<String> strings = new ArrayList<>(keys.size());
+        for (int key : keys) {
+            String string = lookupTable.get(key);
+            if (!valueIsMissing(string)) {
+                strings.add(string);
             }
         }
-        return results;
+        return strings;
     }
 
     @Override
     public Selection isNotIn(String... strings) {
+        return isNotIn(Arrays.asList(strings));
+    }
+
+    @Override
+    public Selection isNotIn(Collection<String> strings) {
         Selection results = new BitmapBackedSelection();
         results.addRange(0, size());
         results.andNot(selectIsIn(strings));
         return results;
     }
 
+    @Override
+    public Selection isNotIn(StringColumn strings) {
+        return isNotIn(strings.nonMissingValues());
+    }
+
     public Int2ObjectMap<String> keyToValueMap() {
         return new Int2ObjectOpenHashMap<>(lookupTable.keyToValue);
     }
 
+    /**
+     * Returns the dictionary key used to encode the given string in this column, or -1 if the column has never held
+     * it. Two rows hold the same string exactly when they hold the same key
+     */
+    public int getKeyForValue(String value) {
+        return lookupTable.get(value);
+    }
+
     public int firstIndexOf(String value) {
         return values.indexOf(lookupTable.get(value));
     }
@@ -726,6 +901,9 @@ public class StringColumn extends AbstractColumn
 
         private final Object2IntMap<String> valueToKey = new Object2IntOpenHashMap<>();
 
+        // the keys in string order, and the rank of each key in that order; null until needed or after a change
+        private volatile Ranking ranking;
+
         DictionaryMap() {
             super();
             valueToKey.defaultReturnValue(-1);
@@ -745,6 +923,7 @@ public class StringColumn extends AbstractColumn
         void put(int key, String value) {
             keyToValue.put(key, value);
             valueToKey.put(value, key);
+            invalidateRanks();
         }
 
         String get(int key) {
@@ -758,16 +937,75 @@ public class StringColumn extends AbstractColumn
         void remove(int key) {
             String value = keyToValue.remove(key);
             valueToKey.removeInt(value);
+            invalidateRanks();
         }
 
         void remove(String value) {
             int key = valueToKey.removeInt(value);
             keyToValue.remove(key);
+            invalidateRanks();
         }
 
         void clear() {
             keyToValue.clear();
             valueToKey.clear();
+            invalidateRanks();
+        }
+
+        private void invalidateRanks() {
+            ranking = null;
+        }
+
+        /**
+         * Returns the keys ordered by their strings
+         */
+        int[] sortedKeys() {
+            return ranking().sortedKeys;
+        }
+
+        /**
+         * Returns the rank of each key in string order, indexed by key
+         */
+        int[] ranks() {
+            return ranking().ranks;
+        }
+
+        private Ranking ranking() {
+            Ranking current = ranking;
+            if (current == null) {
+                current = rank();
+                ranking = current;
+            }
+            return current;
+        }
+
+        private Ranking rank() {
+            int[] keys = keyToValue.keySet().toIntArray();
+            IntArrays.parallelQuickSort(keys, (k1, k2) -> keyToValue.get(k1).compareTo(keyToValue.get(k2)));
+            int maxKey = 0;
+            for (int key : keys) {
+                maxKey = Math.max(maxKey, key);
+            }
+            int[] keyRanks = new int[maxKey + 1];
+            for (int rank = 0; rank < keys.length; rank++) {
+                keyRanks[keys[rank]] = rank;
+            }
+            return new Ranking(keys, keyRanks);
+        }
+
+        /**
+         * The sorted keys and key ranks of one version of the dictionary, published together through a volatile field
+         * so that a reader never sees one without the other or an array before its contents
+         */
+        private static final class Ranking {
+
+            private final int[] sortedKeys;
+            private final int[] ranks;
+
+            private Ranking(int[] sortedKeys, int[] ranks) {
+                this.sortedKeys = sortedKeys;
+                this.ranks = ranks;
+            }
         }
 
         /**
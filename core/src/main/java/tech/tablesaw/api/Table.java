@@ -24,15 +24,24 @@ import tech.tablesaw.aggregate.CrossTab;
 import tech.tablesaw.aggregate.Summarizer;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.filtering.Filter;
+import tech.tablesaw.index.CategoryIndex;
+import tech.tablesaw.index.DoubleIndex;
+import tech.tablesaw.index.Index;
+import tech.tablesaw.index.IntIndex;
+import tech.tablesaw.index.LongIndex;
 import tech.tablesaw.io.DataFrameReader;
 import tech.tablesaw.io.DataFrameWriter;
 import tech.tablesaw.io.html.HtmlTableWriter;
 import tech.tablesaw.joining.DataFrameJoiner;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.sorting.NormalizedKeys;
+import tech.tablesaw.sorting.RadixSort;
 import tech.tablesaw.sorting.Sort;
 import tech.tablesaw.sorting.SortUtils;
+import tech.tablesaw.sorting.TopN;
 import tech.tablesaw.sorting.comparators.IntComparatorChain;
+import tech.tablesaw.table.DuplicateRows;
 import tech.tablesaw.table.Projection;
 import tech.tablesaw.table.Relation;
 import tech.tablesaw.table.Rows;
@@ -42,8 +51,10 @@ import tech.tablesaw.table.TableSliceGroup;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -73,6 +84,10 @@ public class Table extends Relation implements Iterable<Row> {
      * The name of the table
      */
     private String name;
+    /**
+     * The indexes registered for columns of this table, keyed by column
+     */
+    private final Map<Column, Index> indexes = new HashMap<>();
 
     /**
      * Returns a new table initialized with the given name
@@ -569,9 +584,17 @@ public class Table extends Relation implements Iterable<Row> {
     public Table sortOn(Sort key) {
         Preconditions.checkArgument(!key.isEmpty());
         if (key.size() == 1) {
+            Map.Entry<String, Sort.Order> sort = key.iterator().next();
+            Column column = column(sort.getKey());
+            if (RadixSort.supports(column)) {
+                return inRowOrder(RadixSort.sort(column, sort.getValue()));
+            }
             IntComparator comparator = SortUtils.getComparator(this, key);
             return sortOn(comparator);
         }
+        if (NormalizedKeys.supports(this, key)) {
+            return inRowOrder(NormalizedKeys.sort(this, key));
+        }
         IntComparatorChain chain = SortUtils.getChain(this, key);
         return sortOn(chain);
     }
@@ -580,11 +603,25 @@ public class Table extends Relation implements Iterable<Row> {
      * Returns a copy of this table sorted using the given comparator
      */
     private Table sortOn(IntComparator rowComparator) {
-        Table newTable = emptyCopy(rowCount());
-
         int[] newRows = rows();
         IntArrays.parallelQuickSort(newRows, rowComparator);
+        return inRowOrder(newRows);
+    }
 
+    /**
+     * Returns a new table holding the first n rows of this table in the order given by the sort key, the rows that
+     * sortOn(key).first(n) would return, found without sorting the whole table
+     */
+    public Table topN(int n, Sort key) {
+        Preconditions.checkArgument(!key.isEmpty());
+        return inRowOrder(TopN.rows(rowCount(), n, SortUtils.getChain(this, key)));
+    }
+
+    /**
+     * Returns a new table holding the given rows of this table, in the given order
+     */
+    private Table inRowOrder(int[] newRows) {
+        Table newTable = emptyCopy(newRows.length);
         Rows.copyRowsToTable(IntArrayList.wrap(newRows), this, newTable);
         return newTable;
     }
@@ -789,20 +826,27 @@ public class Table extends Relation implements Iterable<Row> {
     }
 
     /**
-     * Returns the unique records in this table
-     * Note: Uses a lot of memory for a sort
+     * Returns the unique records in this table, keeping the first of each set of duplicates in its original order
      */
     public Table dropDuplicateRows() {
+        return dropDuplicateRows(DuplicateRows.Keep.FIRST);
+    }
 
-        Table sorted = this.sortOn(columnNames().toArray(new String[columns().size()]));
-        Table temp = emptyCopy();
+    /**
+     * Returns the records of this table that are not duplicates of an earlier record in the named columns, or in all
+     * columns if none are named
+     */
+    public Table dropDuplicateRows(String... columnNames) {
+        return dropDuplicateRows(DuplicateRows.Keep.FIRST, columnNames);
+    }
 
-        for (int row = 0; row < rowCount(); row++) {
-            if (temp.isEmpty() || !Rows.compareRows(row, sorted, temp)) {
-                Rows.appendRowToTable(row, sorted, temp);
-            }
-        }
-        return temp;
+    /**
+     * Returns the records of this table that are not duplicates of another in the named columns, or in all columns if
+     * none are named, keeping the first or the last record of each set of duplicates. Rows are found by hashing and
+     * copied in a single pass, in their original order
+     */
+    public Table dropDuplicateRows(DuplicateRows.Keep keep, String... columnNames) {
+        return where(DuplicateRows.distinctRows(this, keep, columnNames));
     }
 
     /**
@@ -845,6 +889,7 @@ public class Table extends Relation implements Iterable<Row> {
     @Override
     public Table removeColumns(Column... columns) {
         columnList.removeAll(Arrays.asList(columns));
+        indexes.keySet().retainAll(columnList);
         return this;
     }
 
@@ -863,6 +908,7 @@ public class Table extends Relation implements Iterable<Row> {
         List<Column> retained = Arrays.asList(columns);
         columnList.clear();
         columnList.addAll(retained);
+        indexes.keySet().retainAll(columnList);
         return this;
     }
 
@@ -873,9 +919,14 @@ public class Table extends Relation implements Iterable<Row> {
         List<Column> retained = columns(columnNames);
         columnList.clear();
         columnList.addAll(retained);
+        indexes.keySet().retainAll(columnList);
         return this;
     }
 
+    /**
+     * Appends the rows of the given table, which must have columns with the same names and types as this one. Each
+     * column is appended in bulk
+     */
     public Table append(Table tableToAppend) {
         for (Column column : columnList) {
             Column columnToAppend = tableToAppend.column(column.name());
@@ -884,6 +935,31 @@ public class Table extends Relation implements Iterable<Row> {
         return this;
     }
 
+    /**
+     * Returns a new table holding the rows of all the given tables, in order. The tables must all have the columns of
+     * the first one. The result is sized once for the total row count, and each table's columns are then appended in
+     * bulk, so assembling many small tables costs a single pass over their data
+     *
+     * @param tables One or more tables with the same columns
+     * @return A new table named after the first of the given tables
+     */
+    public static Table concatAll(List<Table> tables) {
+        Preconditions.checkArgument(!tables.isEmpty(), "At least one table is required to concatenate.");
+        Table first = tables.get(0);
+        int rowCount = 0;
+        for (Table table : tables) {
+            Preconditions.checkArgument(table.columnCount() == first.columnCount(),
+                    "Table %s has %s columns, but %s has %s.",
+                    table.name(), table.columnCount(), first.name(), first.columnCount());
+            rowCount += table.rowCount();
+        }
+        Table result = first.emptyCopy(rowCount);
+        for (Table table : tables) {
+            result.append(table);
+        }
+        return result;
+    }
+
     /**
      * Add all the columns of tableToConcatenate to this table
      * Note: The columns in the result must have unique names, when compared case insensitive
@@ -987,8 +1063,70 @@ public class Table extends Relation implements Iterable<Row> {
         return groupingColumn.countByCategory();
     }
 
-    public DataFrameJoiner join(String columnName) {
-        return new DataFrameJoiner(this, columnName);
+    /**
+     * Builds an index over the named column and registers it with this table, replacing any index it already has.
+     * Equality, range, and isIn filters on the column use the index instead of scanning. Single-column joins on
+     * dates, times and date-times whose right-hand key is the column also use it, when the other table is much
+     * smaller than this one; joins on numbers and strings never do. The index follows rows appended to the column,
+     * and is rebuilt when values already in the column change
+     */
+    public Table createIndex(String columnName) {
+        Column column = column(columnName);
+        indexes.put(column, buildIndex(column));
+        return this;
+    }
+
+    /**
+     * Removes any index registered for the named column
+     */
+    public Table dropIndex(String columnName) {
+        indexes.remove(column(columnName));
+        return this;
+    }
+
+    public boolean hasIndex(String columnName) {
+        return !indexes.isEmpty() && indexes.containsKey(column(columnName));
+    }
+
+    /**
+     * Returns the index registered for the named column, brought up to date with the column, or null if the column
+     * has no index
+     */
+    public Index index(String columnName) {
+        if (indexes.isEmpty()) {
+            return null;
+        }
+        Column column = column(columnName);
+        Index index = indexes.get(column);
+        if (index == null) {
+            return null;
+        }
+        if (index.isValid()) {
+            index.update();
+        } else {
+            index = buildIndex(column);
+            indexes.put(column, index);
+        }
+        return index;
+    }
+
+    private static Index buildIndex(Column column) {
+        switch (column.type()) {
+            case NUMBER: return new DoubleIndex((NumberColumn) column);
+            case STRING: return new CategoryIndex((StringColumn) column);
+            case LOCAL_DATE: return new IntIndex((DateColumn) column);
+            case LOCAL_TIME: return new IntIndex((TimeColumn) column);
+            case LOCAL_DATE_TIME: return new LongIndex((DateTimeColumn) column);
+            default: throw new IllegalArgumentException("Columns of type " + column.type() + " cannot be indexed");
+        }
+    }
+
+    /**
+     * Returns a joiner for joining this table to another on the named columns. Joining on several columns matches
+     * rows whose values are equal in every column
+     */
+    public DataFrameJoiner join(String... columnNames) {
+        return new DataFrameJoiner(this, columnNames);
     }
 
     public Table missingValueCounts() {
@@ -22,6 +22,7 @@ import it.unimi.dsi.fastutil.ints.IntComparator;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.columns.AbstractColumn;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.times.PackedLocalTime;
@@ -30,7 +31,10 @@ import tech.tablesaw.columns.times.TimeFillers;
 import tech.tablesaw.columns.times.TimeFilters;
 import tech.tablesaw.columns.times.TimeMapFunctions;
 import tech.tablesaw.io.TypeUtils;
+import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.sorting.TopN;
+import tech.tablesaw.sorting.comparators.ReversingIntComparator;
 import tech.tablesaw.sorting.comparators.DescendingIntComparator;
 
 import java.nio.ByteBuffer;
@@ -45,6 +49,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 import java.util.function.Supplier;
 
 import static tech.tablesaw.api.ColumnType.LOCAL_TIME;
@@ -76,6 +81,11 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
 
     private IntArrayList data;
 
+    /**
+     * The rows that hold missing values, kept up to date on every append and set
+     */
+    private RoaringBitmap missing = new RoaringBitmap();
+
     private final IntComparator comparator = (r1, r2) -> {
         int f1 = getIntInternal(r1);
         int f2 = getIntInternal(r2);
@@ -86,6 +96,20 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
         super(LOCAL_TIME, name);
         data = times;
         this.locale = locale;
+        updateMissing();
+    }
+
+    /**
+     * Rebuilds the missing value bitmap from the data. Used when the data is replaced or reordered wholesale
+     */
+    private void updateMissing() {
+        modified();
+        missing = new RoaringBitmap();
+        for (int i = 0; i < data.size(); i++) {
+            if (valueIsMissing(data.getInt(i))) {
+                missing.add(i);
+            }
+        }
     }
 
     public static boolean valueIsMissing(int i) {
@@ -140,6 +164,7 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
 
         TimeColumn copy = emptyCopy(size());
         copy.data = new IntArrayList(dest);
+        copy.updateMissing();
         copy.setName(name() + " lag(" + n + ")");
         return copy;
     }
@@ -154,6 +179,9 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
     }
 
     public TimeColumn appendInternal(int f) {
+        if (valueIsMissing(f)) {
+            missing.add(data.size());
+        }
         data.add(f);
         return this;
     }
@@ -171,7 +199,10 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
 
     @Override
     public TimeColumn removeMissing() {
-        TimeColumn noMissing = emptyCopy();
+        if (missing.isEmpty()) {
+            return copy();
+        }
+        TimeColumn noMissing = emptyCopy(size() - countMissing());
         IntIterator iterator = intIterator();
         while(iterator.hasNext()) {
             int i = iterator.nextInt();
@@ -225,12 +256,15 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
     public TimeColumn copy() {
         TimeColumn column = emptyCopy(size());
         column.data = data.clone();
+        column.missing = missing.clone();
         return column;
     }
 
     @Override
     public void clear() {
+        modified();
         data.clear();
+        missing.clear();
     }
 
     /**
@@ -249,11 +283,13 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
         int[] sorted = data.toIntArray();
         Arrays.parallelSort(sorted);
         this.data = new IntArrayList(sorted);
+        updateMissing();
     }
 
     @Override
     public void sortDescending() {
-        IntArrays.parallelQuickSort(data.elements(), descendingIntComparator);
+        IntArrays.parallelQuickSort(data.elements(), 0, data.size(), descendingIntComparator);
+        updateMissing();
     }
 
     public LocalTime max() {
@@ -321,13 +357,7 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
      */
     @Override
     public int countMissing() {
-        int count = 0;
-        for (int i = 0; i < size(); i++) {
-            if (getIntInternal(i) == MISSING_VALUE) {
-                count++;
-            }
-        }
-        return count;
+        return missing.getCardinality();
     }
 
     @Override
@@ -342,6 +372,7 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
         IntSet ints = new IntOpenHashSet(data);
         TimeColumn column = emptyCopy(ints.size());
         column.data = IntArrayList.wrap(ints.toIntArray());
+        column.updateMissing();
         column.setName(name() + " Unique values");
         return column;
     }
@@ -405,6 +436,15 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
         return data;
     }
 
+    /**
+     * Returns a test of whether the packed time in a given row passes the predicate, reading the column's backing
+     * array directly. The test must not be used once the column has been modified
+     */
+    public IntPredicate rowTest(IntPredicate predicate) {
+        int[] values = data.elements();
+        return row -> predicate.test(values[row]);
+    }
+
     @Override
     public double getDouble(int i) {
         return getIntInternal(i);
@@ -424,13 +464,16 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
         return "LocalTime column: " + name();
     }
 
+    /**
+     * Appends all the values in the given column, copying the packed values and missing value rows in bulk
+     */
     @Override
     public void append(Column column) {
         Preconditions.checkArgument(column.type() == this.type());
-        TimeColumn intColumn = (TimeColumn) column;
-        for (int i = 0; i < intColumn.size(); i++) {
-            appendInternal(intColumn.getIntInternal(i));
-        }
+        TimeColumn source = (TimeColumn) column;
+        int offset = data.size();
+        data.addElements(offset, source.data.elements(), 0, source.size());
+        missing.or(RoaringBitmap.addOffset(source.missing, offset));
     }
 
     /**
@@ -442,10 +485,8 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
      */
     public List<LocalTime> top(int n) {
         List<LocalTime> top = new ArrayList<>();
-        int[] values = data.toIntArray();
-        IntArrays.parallelQuickSort(values, descendingIntComparator);
-        for (int i = 0; i < n && i < values.length; i++) {
-            top.add(PackedLocalTime.asLocalTime(values[i]));
+        for (int row : TopN.rows(size(), n, ReversingIntComparator.reverse(comparator))) {
+            top.add(PackedLocalTime.asLocalTime(getIntInternal(row)));
         }
         return top;
     }
@@ -459,23 +500,27 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
      */
     public List<LocalTime> bottom(int n) {
         List<LocalTime> bottom = new ArrayList<>();
-        int[] values = data.toIntArray();
-        IntArrays.parallelQuickSort(values);
-        int rowCount = 0;
-        int validCount = 0;
-        while (validCount < n && rowCount < size()) {
-            int value = values[rowCount];
-            if (value != MISSING_VALUE) {
-                bottom.add(PackedLocalTime.asLocalTime(value));
-                validCount++;
+        // missing values are skipped, so order them after all others
+        IntComparator missingLast = (r1, r2) -> {
+            int result = Boolean.compare(isMissing(r1), isMissing(r2));
+            return result != 0 ? result : comparator.compare(r1, r2);
+        };
+        for (int row : TopN.rows(size(), n, missingLast)) {
+            if (!isMissing(row)) {
+                bottom.add(PackedLocalTime.asLocalTime(getIntInternal(row)));
             }
-            rowCount++;
         }
         return bottom;
     }
 
     public TimeColumn set(int index, int value) {
+        modified();
         data.set(index, value);
+        if (valueIsMissing(value)) {
+            missing.add(index);
+        } else if (!missing.isEmpty()) {
+            missing.remove(index);
+        }
         return this;
     }
 
@@ -518,12 +563,12 @@ public class TimeColumn extends AbstractColumn implements Iterable<LocalTime>, T
 
     @Override
     public Selection isMissing() {
-        return eval(isMissing);
+        return new BitmapBackedSelection(missing.clone());
     }
 
     @Override
     public Selection isNotMissing() {
-        return eval(isNotMissing);
+        return new BitmapBackedSelection(RoaringBitmap.flip(missing, 0L, size()));
     }
 
     @Override
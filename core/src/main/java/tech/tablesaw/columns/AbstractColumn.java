@@ -28,6 +28,8 @@ public abstract class AbstractColumn implements Column {
 
     private final ColumnType type;
 
+    private int modificationCount;
+
     public AbstractColumn(ColumnType type, String name) {
         this.type = type;
         setName(name);
@@ -45,6 +47,18 @@ public abstract class AbstractColumn implements Column {
 
     public abstract Column appendCell(String stringvalue);
 
+    @Override
+    public int modificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Records that values already in the column have been overwritten, reordered or removed
+     */
+    protected void modified() {
+        modificationCount++;
+    }
+
     /**
      * Returns the width of the column in characters, for printing
      */
@@ -159,6 +159,12 @@ public interface Column {
 
     void clear();
 
+    /**
+     * Returns a counter that changes whenever values already in the column are overwritten, reordered or removed.
+     * Appending values does not change it
+     */
+    int modificationCount();
+
     void sortAscending();
 
     void sortDescending();
@@ -0,0 +1,223 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.tablesaw.columns;
+
+import org.roaringbitmap.RoaringBitmap;
+import tech.tablesaw.selection.BitmapBackedSelection;
+import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * Per-block statistics for a column: the min and max non-missing value, and the number of missing values, in each
+ * block of {@link #BLOCK_SIZE} rows.
+ * <p>
+ * Values are recorded as longs whose natural order matches the order of the column's values. Range filters use the
+ * statistics to skip blocks that cannot match and to accept whole blocks that must match, scanning only the rest.
+ * <p>
+ * Bounds are only ever widened when a value is overwritten, so they may be looser than the data, but never tighter
+ */
+public class ZoneMap {
+
+    public static final int BLOCK_SHIFT = 16;
+
+    public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private long[] min = new long[4];
+    private long[] max = new long[4];
+    private int[] missingCount = new int[4];
+    private int blockCount;
+
+    /**
+     * Returns a long whose signed order matches the numeric order of the given double. Negative zero maps to the same
+     * value as zero, so that values equal under == have equal keys. NaN has no meaningful position.
+     */
+    public static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value + 0.0);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Records a value appended at the given row, which must be the next row of the column
+     */
+    public void append(int row, long value, boolean isMissing) {
+        int block = row >>> BLOCK_SHIFT;
+        if (block == blockCount) {
+            addBlock();
+        }
+        if (isMissing) {
+            missingCount[block]++;
+        } else {
+            include(block, value);
+        }
+    }
+
+    /**
+     * Records that the value at the given row has been replaced
+     */
+    public void set(int row, long value, boolean wasMissing, boolean isMissing) {
+        int block = row >>> BLOCK_SHIFT;
+        if (wasMissing && !isMissing) {
+            missingCount[block]--;
+        } else if (!wasMissing && isMissing) {
+            missingCount[block]++;
+        }
+        if (!isMissing) {
+            include(block, value);
+        }
+    }
+
+    public void clear() {
+        blockCount = 0;
+    }
+
+    public ZoneMap copy() {
+        ZoneMap copy = new ZoneMap();
+        copy.min = Arrays.copyOf(min, min.length);
+        copy.max = Arrays.copyOf(max, max.length);
+        copy.missingCount = Arrays.copyOf(missingCount, missingCount.length);
+        copy.blockCount = blockCount;
+        return copy;
+    }
+
+    public int blockCount() {
+        return blockCount;
+    }
+
+    public long min(int block) {
+        return min[block];
+    }
+
+    public long max(int block) {
+        return max[block];
+    }
+
+    public int missingCount(int block) {
+        return missingCount[block];
+    }
+
+    /**
+     * Returns the rows whose values fall in the closed range [low, high].
+     *
+     * @param includeMissing true if the range covers the column's missing value indicator
+     * @param missing        the rows holding missing values
+     * @param size           the number of rows in the column
+     * @param rowTest        evaluates the range predicate for a single row, used for blocks that straddle a bound
+     */
+    public Selection select(long low, long high, boolean includeMissing, RoaringBitmap missing, int size,
+                            IntPredicate rowTest) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (int block = 0; block < blockCount; block++) {
+            int start = block << BLOCK_SHIFT;
+            int end = Math.min(start + BLOCK_SIZE, size);
+            if (max[block] < low || min[block] > high) {
+                // covers blocks with no non-missing values too, as their bounds are empty
+                if (includeMissing && missingCount[block] > 0) {
+                    result.or(missingIn(missing, start, end));
+                }
+            } else if (low <= min[block] && max[block] <= high) {
+                result.add((long) start, (long) end);
+                if (!includeMissing && missingCount[block] > 0) {
+                    result.andNot(missingIn(missing, start, end));
+                }
+            } else {
+                result.or(SelectionBuilder.selectBitmap(start, end, rowTest));
+            }
+        }
+        return new BitmapBackedSelection(result);
+    }
+
+    /**
+     * Returns true if some block lies wholly inside or wholly outside the closed range [low, high], so that
+     * {@link #select} accepts or skips its rows without testing them one at a time
+     */
+    public boolean skipsBlocks(long low, long high) {
+        for (int block = 0; block < blockCount; block++) {
+            if (max[block] < low || min[block] > high || (low <= min[block] && max[block] <= high)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns an estimate of the number of rows whose values fall in the closed range [low, high]. Blocks that lie
+     * wholly inside the range count in full; for a block that straddles a bound, the count is the share of the block's
+     * value range that overlaps [low, high], measured on the given scale and assuming values are spread evenly over it
+     *
+     * @param scale maps a value to a position on a scale on which the column's values are roughly evenly spread
+     */
+    public double estimateCount(long low, long high, boolean includeMissing, int size, LongToDoubleFunction scale) {
+        double count = 0;
+        for (int block = 0; block < blockCount; block++) {
+            int start = block << BLOCK_SHIFT;
+            int present = Math.min(BLOCK_SIZE, size - start) - missingCount[block];
+            if (includeMissing) {
+                count += missingCount[block];
+            }
+            if (max[block] < low || min[block] > high) {
+                continue;
+            }
+            if (low <= min[block] && max[block] <= high) {
+                count += present;
+            } else {
+                double from = scale.applyAsDouble(Math.max(low, min[block]));
+                double to = scale.applyAsDouble(Math.min(high, max[block]));
+                double span = scale.applyAsDouble(max[block]) - scale.applyAsDouble(min[block]);
+                double share = span > 0 && span < Double.POSITIVE_INFINITY ? (to - from) / span : 0.5;
+                count += present * share;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the double whose {@link #sortableBits(double)} are the given key
+     */
+    public static double fromSortableBits(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    private static RoaringBitmap missingIn(RoaringBitmap missing, int start, int end) {
+        RoaringBitmap range = new RoaringBitmap();
+        range.add((long) start, (long) end);
+        return RoaringBitmap.and(missing, range);
+    }
+
+    private void include(int block, long value) {
+        if (value < min[block]) {
+            min[block] = value;
+        }
+        if (value > max[block]) {
+            max[block] = value;
+        }
+    }
+
+    private void addBlock() {
+        if (blockCount == min.length) {
+            int capacity = blockCount * 2;
+            min = Arrays.copyOf(min, capacity);
+            max = Arrays.copyOf(max, capacity);
+            missingCount = Arrays.copyOf(missingCount, capacity);
+        }
+        min[blockCount] = Long.MAX_VALUE;
+        max[blockCount] = Long.MIN_VALUE;
+        missingCount[blockCount] = 0;
+        blockCount++;
+    }
+}
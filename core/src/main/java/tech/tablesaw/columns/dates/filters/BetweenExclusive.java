@@ -41,10 +41,6 @@ public class BetweenExclusive extends ColumnFilter {
     @Override
     public Selection apply(Column columnBeingFiltered) {
         DateColumn dateColumn = (DateColumn) columnBeingFiltered;
-        int packed1 = PackedLocalDate.pack(low);
-        Selection matches = dateColumn.eval(PackedLocalDate::isAfter, packed1);
-        int packed = PackedLocalDate.pack(high);
-        matches.and(dateColumn.eval(PackedLocalDate::isBefore, packed));
-        return matches;
+        return dateColumn.isBetweenExcluding(PackedLocalDate.pack(low), PackedLocalDate.pack(high));
     }
 }
@@ -15,14 +15,15 @@
 package tech.tablesaw.columns.dates.filters;
 
 import tech.tablesaw.api.DateColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
 import tech.tablesaw.columns.dates.PackedLocalDate;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.IntIndex;
 import tech.tablesaw.selection.Selection;
 
 import java.time.LocalDate;
+import java.util.function.IntPredicate;
 
 public class BetweenInclusive extends ColumnFilter {
     private final LocalDate low;
@@ -34,17 +35,37 @@ public class BetweenInclusive extends ColumnFilter {
         this.high = highValue;
     }
 
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    @Override
+    protected Selection applyIndex(IntIndex index) {
+        return index.between(PackedLocalDate.pack(low), PackedLocalDate.pack(high));
     }
 
     @Override
     public Selection apply(Column columnBeingFiltered) {
         DateColumn dateColumn = (DateColumn) columnBeingFiltered;
-        int packed1 = PackedLocalDate.pack(low);
-        Selection matches = dateColumn.eval(PackedLocalDate::isOnOrAfter, packed1);
-        int packed = PackedLocalDate.pack(high);
-        matches.and(dateColumn.eval(PackedLocalDate::isOnOrBefore, packed));
-        return matches;
+        return dateColumn.isBetweenIncluding(PackedLocalDate.pack(low), PackedLocalDate.pack(high));
+    }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        return ((DateColumn) column).avoidsScanBetweenIncluding(PackedLocalDate.pack(low), PackedLocalDate.pack(high));
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        int packedLow = PackedLocalDate.pack(low);
+        int packedHigh = PackedLocalDate.pack(high);
+        return ((DateColumn) column).rowTest(v -> packedLow <= v && v <= packedHigh);
+    }
+
+    @Override
+    protected double estimateRows(Column column) {
+        DateColumn dateColumn = (DateColumn) column;
+        return dateColumn.estimateCountBetweenIncluding(PackedLocalDate.pack(low), PackedLocalDate.pack(high));
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return BETWEEN_SELECTIVITY;
     }
 }
@@ -15,13 +15,15 @@
 package tech.tablesaw.columns.dates.filters;
 
 import tech.tablesaw.api.DateColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
+import tech.tablesaw.columns.dates.PackedLocalDate;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.IntIndex;
 import tech.tablesaw.selection.Selection;
 
 import java.time.LocalDate;
+import java.util.function.IntPredicate;
 
 public class EqualTo extends ColumnFilter {
 
@@ -32,8 +34,9 @@ public class EqualTo extends ColumnFilter {
         this.value = value;
     }
 
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    @Override
+    protected Selection applyIndex(IntIndex index) {
+        return index.get(PackedLocalDate.pack(value));
     }
 
     @Override
@@ -41,4 +44,39 @@ public class EqualTo extends ColumnFilter {
         DateColumn dateColumn = (DateColumn) columnBeingFiltered;
         return dateColumn.isEqualTo(value);
     }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        int packed = PackedLocalDate.pack(value);
+        return ((DateColumn) column).avoidsScanBetweenIncluding(packed, packed);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        int packed = PackedLocalDate.pack(value);
+        return ((DateColumn) column).rowTest(v -> v == packed);
+    }
+
+    @Override
+    protected double estimateRows(IntIndex index) {
+        return index.count(PackedLocalDate.pack(value));
+    }
+
+    /**
+     * Counts the matching rows of a sorted column; the block statistics say little about a single value
+     */
+    @Override
+    protected double estimateRows(Column column) {
+        DateColumn dateColumn = (DateColumn) column;
+        if (!dateColumn.isSortedAscending()) {
+            return NO_ESTIMATE;
+        }
+        int packed = PackedLocalDate.pack(value);
+        return dateColumn.estimateCountBetweenIncluding(packed, packed);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return EQUALITY_SELECTIVITY;
+    }
 }
@@ -15,14 +15,14 @@
 package tech.tablesaw.columns.dates.filters;
 
 import tech.tablesaw.api.DateColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
-import tech.tablesaw.columns.dates.PackedLocalDate;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.IntIndex;
 import tech.tablesaw.selection.Selection;
 
 import javax.annotation.concurrent.Immutable;
+import java.util.function.IntPredicate;
 
 @Immutable
 public class IsAfter extends ColumnFilter {
@@ -35,13 +35,39 @@ public class IsAfter extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(IntIndex index) {
+        return index.greaterThan(value);
     }
 
     @Override
     public Selection apply(Column columnBeingFiltered) {
         DateColumn dateColumn = (DateColumn) columnBeingFiltered;
-        return dateColumn.eval(PackedLocalDate::isAfter, value);
+        return dateColumn.isAfter(value);
+    }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        if (value == Integer.MAX_VALUE) {
+            return true;
+        }
+        return ((DateColumn) column).avoidsScanBetweenIncluding(value + 1, Integer.MAX_VALUE);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        return ((DateColumn) column).rowTest(v -> v > value);
+    }
+
+    @Override
+    protected double estimateRows(Column column) {
+        if (value == Integer.MAX_VALUE) {
+            return 0;
+        }
+        return ((DateColumn) column).estimateCountBetweenIncluding(value + 1, Integer.MAX_VALUE);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return RANGE_SELECTIVITY;
     }
 }
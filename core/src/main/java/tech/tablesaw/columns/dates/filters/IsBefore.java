@@ -15,13 +15,14 @@
 package tech.tablesaw.columns.dates.filters;
 
 import tech.tablesaw.api.DateColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
-import tech.tablesaw.columns.dates.PackedLocalDate;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.IntIndex;
 import tech.tablesaw.selection.Selection;
 
+import java.util.function.IntPredicate;
+
 public class IsBefore extends ColumnFilter {
 
     private final int value;
@@ -32,13 +33,39 @@ public class IsBefore extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(IntIndex index) {
+        return index.lessThan(value);
     }
 
     @Override
     public Selection apply(Column columnBeingFiltered) {
         DateColumn dateColumn = (DateColumn) columnBeingFiltered;
-        return dateColumn.eval(PackedLocalDate::isBefore, value);
+        return dateColumn.isBefore(value);
+    }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        if (value == Integer.MIN_VALUE) {
+            return true;
+        }
+        return ((DateColumn) column).avoidsScanBetweenIncluding(Integer.MIN_VALUE, value - 1);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        return ((DateColumn) column).rowTest(v -> v < value);
+    }
+
+    @Override
+    protected double estimateRows(Column column) {
+        if (value == Integer.MIN_VALUE) {
+            return 0;
+        }
+        return ((DateColumn) column).estimateCountBetweenIncluding(Integer.MIN_VALUE, value - 1);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return RANGE_SELECTIVITY;
     }
 }
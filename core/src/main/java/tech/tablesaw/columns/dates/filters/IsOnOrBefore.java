@@ -15,14 +15,14 @@
 package tech.tablesaw.columns.dates.filters;
 
 import tech.tablesaw.api.DateColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
-import tech.tablesaw.columns.dates.PackedLocalDate;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.IntIndex;
 import tech.tablesaw.selection.Selection;
 
 import javax.annotation.concurrent.Immutable;
+import java.util.function.IntPredicate;
 
 @Immutable
 public class IsOnOrBefore extends ColumnFilter {
@@ -35,13 +35,33 @@ public class IsOnOrBefore extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(IntIndex index) {
+        return index.atMost(value);
     }
 
     @Override
     public Selection apply(Column columnBeingFiltered) {
         DateColumn dateColumn = (DateColumn) columnBeingFiltered;
-        return dateColumn.eval(PackedLocalDate::isOnOrBefore, value);
+        return dateColumn.isBetweenIncluding(Integer.MIN_VALUE, value);
+    }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        return ((DateColumn) column).avoidsScanBetweenIncluding(Integer.MIN_VALUE, value);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        return ((DateColumn) column).rowTest(v -> v <= value);
+    }
+
+    @Override
+    protected double estimateRows(Column column) {
+        return ((DateColumn) column).estimateCountBetweenIncluding(Integer.MIN_VALUE, value);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return RANGE_SELECTIVITY;
     }
 }
@@ -7,6 +7,7 @@ import tech.tablesaw.columns.Column;
 import tech.tablesaw.filtering.predicates.LongBiPredicate;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -51,29 +52,11 @@ public interface DateTimeFilters extends Column {
     }
 
     default Selection isAfter(DateTimeColumn column) {
-        Selection results = new BitmapBackedSelection();
-        int i = 0;
-        LongIterator intIterator = column.longIterator();
-        for (long next : data()) {
-            if (next > intIterator.nextLong()) {
-                results.add(i);
-            }
-            i++;
-        }
-        return results;
+        return eval((next, other) -> next > other, column);
     }
 
     default Selection isBefore(DateTimeColumn column) {
-        Selection results = new BitmapBackedSelection();
-        int i = 0;
-        LongIterator intIterator = column.longIterator();
-        for (long next : data()) {
-            if (next < intIterator.nextLong()) {
-                results.add(i);
-            }
-            i++;
-        }
-        return results;
+        return eval((next, other) -> next < other, column);
     }
 
     default Selection isEqualTo(LocalDateTime value) {
@@ -231,55 +214,24 @@ public interface DateTimeFilters extends Column {
     }
 
     default Selection eval(LongPredicate predicate) {
-        Selection bitmap = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            long next = data().getLong(idx);
-            if (predicate.test(next)) {
-                bitmap.add(idx);
-            }
-        }
-        return bitmap;
+        return SelectionBuilder.select(data().elements(), size(), predicate);
     }
 
     default Selection eval(LongBiPredicate predicate, long value) {
-        Selection bitmap = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            long next = data().getLong(idx);
-            if (predicate.test(next, value)) {
-                bitmap.add(idx);
-            }
-        }
-        return bitmap;
+        return SelectionBuilder.select(data().elements(), size(), next -> predicate.test(next, value));
     }
 
     default Selection eval(LongBiPredicate predicate, DateTimeColumn otherColumn) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(this.getLongInternal(idx), otherColumn.getLongInternal(idx))) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(),
+                idx -> predicate.test(this.getLongInternal(idx), otherColumn.getLongInternal(idx)));
     }
 
     default Selection eval(BiPredicate<LocalDateTime, LocalDateTime> predicate, LocalDateTime valueToCompare) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(get(idx), valueToCompare)) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(), idx -> predicate.test(get(idx), valueToCompare));
     }
 
     default Selection eval(Predicate<LocalDateTime> predicate) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(get(idx))) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(), idx -> predicate.test(get(idx)));
     }
 
 
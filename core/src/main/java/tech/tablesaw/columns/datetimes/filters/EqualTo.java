@@ -15,13 +15,15 @@
 package tech.tablesaw.columns.datetimes.filters;
 
 import tech.tablesaw.api.DateTimeColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
+import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.LongIndex;
 import tech.tablesaw.selection.Selection;
 
 import java.time.LocalDateTime;
+import java.util.function.IntPredicate;
 
 public class EqualTo extends ColumnFilter {
 
@@ -33,8 +35,8 @@ public class EqualTo extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(LongIndex index) {
+        return index.get(PackedLocalDateTime.pack(value));
     }
 
     @Override
@@ -42,4 +44,39 @@ public class EqualTo extends ColumnFilter {
         DateTimeColumn dateColumn = (DateTimeColumn) columnBeingFiltered;
         return dateColumn.isEqualTo(value);
     }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        long packed = PackedLocalDateTime.pack(value);
+        return ((DateTimeColumn) column).avoidsScanBetweenIncluding(packed, packed);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        long packed = PackedLocalDateTime.pack(value);
+        return ((DateTimeColumn) column).rowTest(v -> v == packed);
+    }
+
+    @Override
+    protected double estimateRows(LongIndex index) {
+        return index.count(PackedLocalDateTime.pack(value));
+    }
+
+    /**
+     * Counts the matching rows of a sorted column; the block statistics say little about a single value
+     */
+    @Override
+    protected double estimateRows(Column column) {
+        DateTimeColumn dateTimeColumn = (DateTimeColumn) column;
+        if (!dateTimeColumn.isSortedAscending()) {
+            return NO_ESTIMATE;
+        }
+        long packed = PackedLocalDateTime.pack(value);
+        return dateTimeColumn.estimateCountBetweenIncluding(packed, packed);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return EQUALITY_SELECTIVITY;
+    }
 }
@@ -15,17 +15,17 @@
 package tech.tablesaw.columns.datetimes.filters;
 
 import tech.tablesaw.api.DateTimeColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
-import tech.tablesaw.columns.datetimes.DateTimePredicates;
 import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.LongIndex;
 import tech.tablesaw.selection.Selection;
 
 import javax.annotation.concurrent.Immutable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.function.IntPredicate;
 
 // TODO(lwhite): Handle nulls in the constructor or in apply. A null should ideally return an empty selection the size of the column
 @Immutable
@@ -44,13 +44,42 @@ public class IsAfter extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.dateTimeColumn(columnReference().getColumnName()));
+    protected Selection applyIndex(LongIndex index) {
+        return index.greaterThan(PackedLocalDateTime.pack(value));
     }
 
     @Override
     public Selection apply(Column columnBeingFiltered) {
         DateTimeColumn dateColumn = (DateTimeColumn) columnBeingFiltered;
-        return dateColumn.eval(DateTimePredicates.isGreaterThan, PackedLocalDateTime.pack(value));
+        return dateColumn.isAfter(value);
+    }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        long packed = PackedLocalDateTime.pack(value);
+        if (packed == Long.MAX_VALUE) {
+            return true;
+        }
+        return ((DateTimeColumn) column).avoidsScanBetweenIncluding(packed + 1, Long.MAX_VALUE);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        long packed = PackedLocalDateTime.pack(value);
+        return ((DateTimeColumn) column).rowTest(v -> v > packed);
+    }
+
+    @Override
+    protected double estimateRows(Column column) {
+        long packed = PackedLocalDateTime.pack(value);
+        if (packed == Long.MAX_VALUE) {
+            return 0;
+        }
+        return ((DateTimeColumn) column).estimateCountBetweenIncluding(packed + 1, Long.MAX_VALUE);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return RANGE_SELECTIVITY;
     }
 }
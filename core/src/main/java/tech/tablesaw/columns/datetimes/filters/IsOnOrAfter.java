@@ -15,16 +15,16 @@
 package tech.tablesaw.columns.datetimes.filters;
 
 import tech.tablesaw.api.DateTimeColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
-import tech.tablesaw.columns.datetimes.DateTimePredicates;
 import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.LongIndex;
 import tech.tablesaw.selection.Selection;
 
 import javax.annotation.concurrent.Immutable;
 import java.time.LocalDateTime;
+import java.util.function.IntPredicate;
 
 
 @Immutable
@@ -43,13 +43,33 @@ public class IsOnOrAfter extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(LongIndex index) {
+        return index.atLeast(value);
     }
 
     @Override
     public Selection apply(Column columnBeingFiltered) {
         DateTimeColumn dateColumn = (DateTimeColumn) columnBeingFiltered;
-        return dateColumn.eval(DateTimePredicates.isGreaterThanOrEqualTo, value);
+        return dateColumn.isBetweenIncluding(value, Long.MAX_VALUE);
+    }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        return ((DateTimeColumn) column).avoidsScanBetweenIncluding(value, Long.MAX_VALUE);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        return ((DateTimeColumn) column).rowTest(v -> v >= value);
+    }
+
+    @Override
+    protected double estimateRows(Column column) {
+        return ((DateTimeColumn) column).estimateCountBetweenIncluding(value, Long.MAX_VALUE);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return RANGE_SELECTIVITY;
     }
 }
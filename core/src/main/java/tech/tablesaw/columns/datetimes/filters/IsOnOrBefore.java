@@ -15,16 +15,16 @@
 package tech.tablesaw.columns.datetimes.filters;
 
 import tech.tablesaw.api.DateTimeColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
-import tech.tablesaw.columns.datetimes.DateTimePredicates;
 import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.LongIndex;
 import tech.tablesaw.selection.Selection;
 
 import javax.annotation.concurrent.Immutable;
 import java.time.LocalDateTime;
+import java.util.function.IntPredicate;
 
 @Immutable
 public class IsOnOrBefore extends ColumnFilter {
@@ -42,13 +42,33 @@ public class IsOnOrBefore extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(LongIndex index) {
+        return index.atMost(value);
     }
 
     @Override
     public Selection apply(Column columnBeingFiltered) {
         DateTimeColumn dateColumn = (DateTimeColumn) columnBeingFiltered;
-        return dateColumn.eval(DateTimePredicates.isLessThanOrEqualTo, value);
+        return dateColumn.isBetweenIncluding(Long.MIN_VALUE, value);
+    }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        return ((DateTimeColumn) column).avoidsScanBetweenIncluding(Long.MIN_VALUE, value);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        return ((DateTimeColumn) column).rowTest(v -> v <= value);
+    }
+
+    @Override
+    protected double estimateRows(Column column) {
+        return ((DateTimeColumn) column).estimateCountBetweenIncluding(Long.MIN_VALUE, value);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return RANGE_SELECTIVITY;
     }
 }
@@ -14,6 +14,7 @@
 
 package tech.tablesaw.columns.numbers;
 
+import it.unimi.dsi.fastutil.doubles.DoubleCollection;
 import it.unimi.dsi.fastutil.doubles.DoubleIterator;
 import it.unimi.dsi.fastutil.doubles.DoubleList;
 import tech.tablesaw.api.NumberColumn;
@@ -84,6 +85,20 @@ public interface NumberFilters extends Column {
 
     Selection isNotIn(double... doubles);
 
+    /**
+     * Returns the rows holding one of the given values. Large collections, of millions of values, are supported
+     */
+    Selection isIn(DoubleCollection doubles);
+
+    /**
+     * Returns the rows holding one of the non-missing values in the given column
+     */
+    Selection isIn(NumberColumn values);
+
+    Selection isNotIn(DoubleCollection doubles);
+
+    Selection isNotIn(NumberColumn values);
+
     default Selection isZero() {
         return eval(isZero);
     }
@@ -14,13 +14,16 @@
 
 package tech.tablesaw.columns.numbers.filters;
 
+import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.NumberColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.DoubleIndex;
 import tech.tablesaw.selection.Selection;
 
+import java.util.function.IntPredicate;
+
 public class BetweenInclusive extends ColumnFilter {
 
     private final double low;
@@ -32,12 +35,33 @@ public class BetweenInclusive extends ColumnFilter {
         this.high = highValue.doubleValue();
     }
 
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    @Override
+    protected Selection applyIndex(DoubleIndex index) {
+        return index.between(low, high);
     }
 
     public Selection apply(Column columnBeingFiltered) {
         NumberColumn numberColumn = (NumberColumn) columnBeingFiltered;
         return numberColumn.isBetweenInclusive(low, high);
     }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        return ((DoubleColumn) column).avoidsScanBetweenInclusive(low, high);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        return ((DoubleColumn) column).rowTest(v -> low <= v && v <= high);
+    }
+
+    @Override
+    protected double estimateRows(Column column) {
+        return ((DoubleColumn) column).estimateCountBetweenInclusive(low, high);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return BETWEEN_SELECTIVITY;
+    }
 }
@@ -14,13 +14,16 @@
 
 package tech.tablesaw.columns.numbers.filters;
 
+import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.NumberColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.DoubleIndex;
 import tech.tablesaw.selection.Selection;
 
+import java.util.function.IntPredicate;
+
 public class EqualTo extends ColumnFilter {
 
     private final double value;
@@ -30,12 +33,45 @@ public class EqualTo extends ColumnFilter {
         this.value = value.doubleValue();
     }
 
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    @Override
+    protected Selection applyIndex(DoubleIndex index) {
+        return index.get(value);
     }
 
     public Selection apply(Column columnBeingFiltered) {
         NumberColumn numberColumn = (NumberColumn) columnBeingFiltered;
         return numberColumn.isEqualTo(value);
     }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        return ((DoubleColumn) column).avoidsScanBetweenInclusive(value, value);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        return ((DoubleColumn) column).rowTest(v -> v == value);
+    }
+
+    @Override
+    protected double estimateRows(DoubleIndex index) {
+        return index.count(value);
+    }
+
+    /**
+     * Counts the matching rows of a sorted column; the block statistics say little about a single value
+     */
+    @Override
+    protected double estimateRows(Column column) {
+        DoubleColumn doubleColumn = (DoubleColumn) column;
+        if (!doubleColumn.isSortedAscending()) {
+            return NO_ESTIMATE;
+        }
+        return doubleColumn.estimateCountBetweenInclusive(value, value);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return EQUALITY_SELECTIVITY;
+    }
 }
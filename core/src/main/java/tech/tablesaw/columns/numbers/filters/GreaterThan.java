@@ -14,13 +14,16 @@
 
 package tech.tablesaw.columns.numbers.filters;
 
+import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.NumberColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.DoubleIndex;
 import tech.tablesaw.selection.Selection;
 
+import java.util.function.IntPredicate;
+
 public class GreaterThan extends ColumnFilter {
 
     private final double value;
@@ -30,12 +33,33 @@ public class GreaterThan extends ColumnFilter {
         this.value = value.doubleValue();
     }
 
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    @Override
+    protected Selection applyIndex(DoubleIndex index) {
+        return index.greaterThan(value);
     }
 
     public Selection apply(Column columnBeingFiltered) {
         NumberColumn numberColumn = (NumberColumn) columnBeingFiltered;
         return numberColumn.isGreaterThan(value);
     }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        return ((DoubleColumn) column).avoidsScanBetweenInclusive(Math.nextUp(value), Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        return ((DoubleColumn) column).rowTest(v -> v > value);
+    }
+
+    @Override
+    protected double estimateRows(Column column) {
+        return ((DoubleColumn) column).estimateCountBetweenInclusive(Math.nextUp(value), Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return RANGE_SELECTIVITY;
+    }
 }
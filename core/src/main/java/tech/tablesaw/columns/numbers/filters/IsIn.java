@@ -14,14 +14,17 @@
 
 package tech.tablesaw.columns.numbers.filters;
 
+import it.unimi.dsi.fastutil.doubles.DoubleRBTreeSet;
+import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.NumberColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.DoubleIndex;
 import tech.tablesaw.selection.Selection;
 
 import java.util.List;
+import java.util.function.IntPredicate;
 
 /**
  * Implements EqualTo testing for Number Columns
@@ -41,8 +44,8 @@ public class IsIn extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(DoubleIndex index) {
+        return index.isIn(doubles);
     }
 
     @Override
@@ -50,4 +53,40 @@ public class IsIn extends ColumnFilter {
         NumberColumn numberColumn = (NumberColumn) columnBeingFiltered;
         return numberColumn.isIn(doubles);
     }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        DoubleRBTreeSet doubleSet = new DoubleRBTreeSet(doubles);
+        return ((DoubleColumn) column).rowTest(doubleSet::contains);
+    }
+
+    @Override
+    protected double estimateRows(DoubleIndex index) {
+        double rows = 0;
+        for (double value : doubles) {
+            rows += index.count(value);
+        }
+        return rows;
+    }
+
+    /**
+     * Counts the matching rows of a sorted column; the block statistics say little about single values
+     */
+    @Override
+    protected double estimateRows(Column column) {
+        DoubleColumn doubleColumn = (DoubleColumn) column;
+        if (!doubleColumn.isSortedAscending()) {
+            return NO_ESTIMATE;
+        }
+        double rows = 0;
+        for (double value : doubles) {
+            rows += doubleColumn.estimateCountBetweenInclusive(value, value);
+        }
+        return rows;
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return Math.min(1.0, doubles.length * EQUALITY_SELECTIVITY);
+    }
 }
@@ -14,13 +14,16 @@
 
 package tech.tablesaw.columns.numbers.filters;
 
+import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.NumberColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.DoubleIndex;
 import tech.tablesaw.selection.Selection;
 
+import java.util.function.IntPredicate;
+
 public class LessThanOrEqualTo extends ColumnFilter {
 
     private final double value;
@@ -31,8 +34,8 @@ public class LessThanOrEqualTo extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(DoubleIndex index) {
+        return index.atMost(value);
     }
 
     @Override
@@ -40,4 +43,24 @@ public class LessThanOrEqualTo extends ColumnFilter {
         NumberColumn numberColumn = (NumberColumn) columnBeingFiltered;
         return numberColumn.isLessThanOrEqualTo(value);
     }
+
+    @Override
+    protected boolean avoidsScan(Column column) {
+        return ((DoubleColumn) column).avoidsScanBetweenInclusive(Double.NEGATIVE_INFINITY, value);
+    }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        return ((DoubleColumn) column).rowTest(v -> v <= value);
+    }
+
+    @Override
+    protected double estimateRows(Column column) {
+        return ((DoubleColumn) column).estimateCountBetweenInclusive(Double.NEGATIVE_INFINITY, value);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return RANGE_SELECTIVITY;
+    }
 }
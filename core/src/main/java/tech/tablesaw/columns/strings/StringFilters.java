@@ -33,8 +33,8 @@ import tech.tablesaw.columns.strings.filters.IsUpperCase;
 import tech.tablesaw.columns.strings.filters.MatchesRegex;
 import tech.tablesaw.columns.strings.filters.StartsWith;
 import tech.tablesaw.filtering.Filter;
-import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
 
 import java.util.Collection;
 import java.util.function.BiPredicate;
@@ -47,44 +47,20 @@ public interface StringFilters extends Column {
     StringColumn where(Filter filter);
 
     default Selection eval(BiPredicate<String, String> predicate, StringColumn otherColumn) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(get(idx), otherColumn.get(idx))) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(), idx -> predicate.test(get(idx), otherColumn.get(idx)));
     }
 
     default Selection eval(BiPredicate<String, String> predicate, String value) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(get(idx), value)) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(), idx -> predicate.test(get(idx), value));
     }
 
 
     default Selection eval(BiPredicate<String, Integer> predicate, Integer value) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(get(idx), value)) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(), idx -> predicate.test(get(idx), value));
     }
 
     default Selection eval(Predicate<String> predicate) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(get(idx))) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(), idx -> predicate.test(get(idx)));
     }
 
     default Selection equalsIgnoreCase(String string) {
@@ -155,6 +131,13 @@ public interface StringFilters extends Column {
         return isNotIn(strings.toArray(new String[strings.size()]));
     }
 
+    /**
+     * Returns the rows holding one of the non-missing values in the given column
+     */
+    Selection isIn(StringColumn strings);
+
+    Selection isNotIn(StringColumn strings);
+
     // Column Methods
     default Selection isEqualTo(StringColumn other) {
         return new ColumnEqualTo(other).apply(this);
@@ -14,14 +14,17 @@
 
 package tech.tablesaw.columns.strings.filters;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import tech.tablesaw.api.ColumnType;
 import tech.tablesaw.api.StringColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.strings.StringColumnReference;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.CategoryIndex;
 import tech.tablesaw.selection.Selection;
 
+import java.util.function.IntPredicate;
+
 /**
  * Implements EqualTo testing for Category and Text Columns
  */
@@ -35,8 +38,8 @@ public class EqualTo extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(CategoryIndex index) {
+        return index.get(value);
     }
 
     @Override
@@ -52,4 +55,28 @@ public class EqualTo extends ColumnFilter {
                         String.format("ColumnType %s does not support equalTo on a String value", type));
         }
     }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        if (column.type() != ColumnType.STRING) {
+            return null;
+        }
+        StringColumn stringColumn = (StringColumn) column;
+        IntArrayList keys = stringColumn.data();
+        int key = stringColumn.getKeyForValue(value);
+        return row -> keys.getInt(row) == key;
+    }
+
+    @Override
+    protected double estimateRows(CategoryIndex index) {
+        return index.count(value);
+    }
+
+    /**
+     * Estimates that each distinct string in the column is equally common
+     */
+    @Override
+    protected double estimateRows(Column column) {
+        return (double) column.size() / Math.max(1, column.countUnique());
+    }
 }
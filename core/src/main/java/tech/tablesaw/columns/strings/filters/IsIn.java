@@ -14,14 +14,17 @@
 
 package tech.tablesaw.columns.strings.filters;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import tech.tablesaw.api.StringColumn;
-import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.strings.StringColumnReference;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.CategoryIndex;
 import tech.tablesaw.selection.Selection;
 
 import java.util.Collection;
+import java.util.function.IntPredicate;
 
 /**
  * Implements EqualTo testing for Category and Text Columns
@@ -40,8 +43,9 @@ public class IsIn extends ColumnFilter {
         this.filters = strings;
     }
 
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    @Override
+    protected Selection applyIndex(CategoryIndex index) {
+        return index.isIn(filters);
     }
 
     @Override
@@ -49,4 +53,33 @@ public class IsIn extends ColumnFilter {
         StringColumn stringColumn = (StringColumn) columnBeingFiltered;
         return stringColumn.isIn(filters);
     }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        StringColumn stringColumn = (StringColumn) column;
+        IntArrayList keys = stringColumn.data();
+        IntOpenHashSet filterKeys = new IntOpenHashSet(filters.length);
+        for (String filter : filters) {
+            filterKeys.add(stringColumn.getKeyForValue(filter));
+        }
+        filterKeys.remove(-1);
+        return row -> filterKeys.contains(keys.getInt(row));
+    }
+
+    @Override
+    protected double estimateRows(CategoryIndex index) {
+        double rows = 0;
+        for (String filter : filters) {
+            rows += index.count(filter);
+        }
+        return rows;
+    }
+
+    /**
+     * Estimates that each distinct string in the column is equally common
+     */
+    @Override
+    protected double estimateRows(Column column) {
+        return (double) column.size() * filters.length / Math.max(1, column.countUnique());
+    }
 }
@@ -7,6 +7,7 @@ import tech.tablesaw.columns.Column;
 import tech.tablesaw.filtering.predicates.IntBiPredicate;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
 
 import java.time.LocalTime;
 import java.util.function.BiPredicate;
@@ -21,55 +22,24 @@ public interface TimeFilters extends Column {
     TimeColumn where(Selection selection);
 
     default Selection eval(IntBiPredicate predicate, TimeColumn otherColumn) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(getIntInternal(idx), otherColumn.getIntInternal(idx))) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(),
+                idx -> predicate.test(getIntInternal(idx), otherColumn.getIntInternal(idx)));
     }
 
     default Selection eval(IntPredicate predicate) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            int next = data().getInt(idx);
-            if (predicate.test(next)) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(data().elements(), size(), predicate);
     }
 
     default Selection eval(IntBiPredicate predicate, int value) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            int next = data().getInt(idx);
-            if (predicate.test(next, value)) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(data().elements(), size(), next -> predicate.test(next, value));
     }
 
     default Selection eval(BiPredicate<LocalTime, LocalTime> predicate, LocalTime valueToCompare) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(get(idx), valueToCompare)) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(), idx -> predicate.test(get(idx), valueToCompare));
     }
 
     default Selection eval(Predicate<LocalTime> predicate) {
-        Selection selection = new BitmapBackedSelection();
-        for (int idx = 0; idx < size(); idx++) {
-            if (predicate.test(get(idx))) {
-                selection.add(idx);
-            }
-        }
-        return selection;
+        return SelectionBuilder.select(0, size(), idx -> predicate.test(get(idx)));
     }
 
     default Selection isMidnight() {
@@ -131,29 +101,13 @@ public interface TimeFilters extends Column {
     }
 
     default Selection isNotEqualTo(LocalTime value) {
-        Selection results = new BitmapBackedSelection();
         int packedLocalTime = PackedLocalTime.pack(value);
-        int i = 0;
-        for (int next : data()) {
-            if (packedLocalTime != next) {
-                results.add(i);
-            }
-            i++;
-        }
-        return results;
+        return eval((int next) -> packedLocalTime != next);
     }
 
     default Selection isEqualTo(LocalTime value) {
-        Selection results = new BitmapBackedSelection();
         int packedLocalTime = PackedLocalTime.pack(value);
-        int i = 0;
-        for (int next : data()) {
-            if (packedLocalTime == next) {
-                results.add(i);
-            }
-            i++;
-        }
-        return results;
+        return eval((int next) -> packedLocalTime == next);
     }
 
     /**
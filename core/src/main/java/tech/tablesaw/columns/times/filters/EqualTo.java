@@ -14,14 +14,16 @@
 
 package tech.tablesaw.columns.times.filters;
 
-import tech.tablesaw.api.Table;
 import tech.tablesaw.api.TimeColumn;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
+import tech.tablesaw.columns.times.PackedLocalTime;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.IntIndex;
 import tech.tablesaw.selection.Selection;
 
 import java.time.LocalTime;
+import java.util.function.IntPredicate;
 
 public class EqualTo extends ColumnFilter {
 
@@ -33,8 +35,8 @@ public class EqualTo extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(IntIndex index) {
+        return index.get(PackedLocalTime.pack(value));
     }
 
     @Override
@@ -42,4 +44,20 @@ public class EqualTo extends ColumnFilter {
         TimeColumn dateColumn = (TimeColumn) columnBeingFiltered;
         return dateColumn.isEqualTo(value);
     }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        int packed = PackedLocalTime.pack(value);
+        return ((TimeColumn) column).rowTest(v -> v == packed);
+    }
+
+    @Override
+    protected double estimateRows(IntIndex index) {
+        return index.count(PackedLocalTime.pack(value));
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return EQUALITY_SELECTIVITY;
+    }
 }
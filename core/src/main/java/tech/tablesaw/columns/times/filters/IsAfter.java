@@ -14,15 +14,16 @@
 
 package tech.tablesaw.columns.times.filters;
 
-import tech.tablesaw.api.Table;
 import tech.tablesaw.api.TimeColumn;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
 import tech.tablesaw.columns.times.PackedLocalTime;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.IntIndex;
 import tech.tablesaw.selection.Selection;
 
 import java.time.LocalTime;
+import java.util.function.IntPredicate;
 
 public class IsAfter extends ColumnFilter {
 
@@ -34,8 +35,8 @@ public class IsAfter extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(IntIndex index) {
+        return index.greaterThan(PackedLocalTime.pack(value));
     }
 
     @Override
@@ -43,4 +44,15 @@ public class IsAfter extends ColumnFilter {
         TimeColumn timeColumn = (TimeColumn) columnBeingFiltered;
         return timeColumn.eval(PackedLocalTime::isAfter, PackedLocalTime.pack(value));
     }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        int packed = PackedLocalTime.pack(value);
+        return ((TimeColumn) column).rowTest(v -> v > packed);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return RANGE_SELECTIVITY;
+    }
 }
@@ -14,16 +14,17 @@
 
 package tech.tablesaw.columns.times.filters;
 
-import tech.tablesaw.api.Table;
 import tech.tablesaw.api.TimeColumn;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
 import tech.tablesaw.columns.times.PackedLocalTime;
 import tech.tablesaw.filtering.ColumnFilter;
+import tech.tablesaw.index.IntIndex;
 import tech.tablesaw.selection.Selection;
 
 import javax.annotation.concurrent.Immutable;
 import java.time.LocalTime;
+import java.util.function.IntPredicate;
 
 @Immutable
 public class IsOnOrBefore extends ColumnFilter {
@@ -45,8 +46,8 @@ public class IsOnOrBefore extends ColumnFilter {
     }
 
     @Override
-    public Selection apply(Table relation) {
-        return apply(relation.column(columnReference().getColumnName()));
+    protected Selection applyIndex(IntIndex index) {
+        return index.atMost(value);
     }
 
     @Override
@@ -54,4 +55,14 @@ public class IsOnOrBefore extends ColumnFilter {
         TimeColumn timeColumn = (TimeColumn) columnBeingFiltered;
         return timeColumn.eval(PackedLocalTime::isOnOrBefore, value);
     }
+
+    @Override
+    protected IntPredicate rowTest(Column column) {
+        return ((TimeColumn) column).rowTest(v -> v <= value);
+    }
+
+    @Override
+    protected double defaultSelectivity() {
+        return RANGE_SELECTIVITY;
+    }
 }
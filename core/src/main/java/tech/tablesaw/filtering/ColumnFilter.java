@@ -14,9 +14,19 @@
 
 package tech.tablesaw.filtering;
 
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.ColumnReference;
+import tech.tablesaw.index.CategoryIndex;
+import tech.tablesaw.index.DoubleIndex;
+import tech.tablesaw.index.Index;
+import tech.tablesaw.index.IntIndex;
+import tech.tablesaw.index.LongIndex;
+import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
 
 import javax.annotation.concurrent.Immutable;
+import java.util.function.IntPredicate;
 
 /**
  * A column filter applies to a single column
@@ -24,6 +34,18 @@ import javax.annotation.concurrent.Immutable;
 @Immutable
 public abstract class ColumnFilter implements Filter {
 
+    /**
+     * Selectivity estimates for predicates on columns without statistics, following the defaults used by System R
+     */
+    protected static final double EQUALITY_SELECTIVITY = 0.1;
+    protected static final double RANGE_SELECTIVITY = 1.0 / 3;
+    protected static final double BETWEEN_SELECTIVITY = 0.25;
+
+    /**
+     * Returned by the row count estimates when the index or column has nothing to estimate from
+     */
+    protected static final double NO_ESTIMATE = -1;
+
     private final ColumnReference columnReference;
 
     public ColumnFilter(ColumnReference columnReference) {
@@ -33,4 +55,167 @@ public abstract class ColumnFilter implements Filter {
     public ColumnReference columnReference() {
         return columnReference;
     }
+
+    /**
+     * Applies the filter through the index registered for the column, if the filter can use it, and otherwise to the
+     * column itself
+     */
+    @Override
+    public Selection apply(Table relation) {
+        String columnName = columnReference.getColumnName();
+        Selection selection = applyIndex(relation.index(columnName));
+        return selection != null ? selection : apply(relation.column(columnName));
+    }
+
+    /**
+     * Returns the rows passing this filter according to the given index, or null if there is no index or the filter
+     * cannot use one of its kind
+     */
+    private Selection applyIndex(Index index) {
+        if (index instanceof DoubleIndex) {
+            return applyIndex((DoubleIndex) index);
+        }
+        if (index instanceof IntIndex) {
+            return applyIndex((IntIndex) index);
+        }
+        if (index instanceof LongIndex) {
+            return applyIndex((LongIndex) index);
+        }
+        if (index instanceof CategoryIndex) {
+            return applyIndex((CategoryIndex) index);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the rows passing this filter looked up in an index over the column, or null if the filter does not use
+     * an index of this kind. Filters that can be answered by an index override the method for their column's kind
+     */
+    protected Selection applyIndex(DoubleIndex index) {
+        return null;
+    }
+
+    protected Selection applyIndex(IntIndex index) {
+        return null;
+    }
+
+    protected Selection applyIndex(LongIndex index) {
+        return null;
+    }
+
+    protected Selection applyIndex(CategoryIndex index) {
+        return null;
+    }
+
+    /**
+     * Estimates the fraction of rows passing this filter from the postings of an index registered for the column, or
+     * else from the statistics the column keeps, falling back to {@link #defaultSelectivity()} when neither applies
+     */
+    @Override
+    public double estimateSelectivity(Table relation) {
+        int rowCount = relation.rowCount();
+        if (rowCount == 0) {
+            return defaultSelectivity();
+        }
+        String columnName = columnReference.getColumnName();
+        double rows = estimateRows(relation.index(columnName));
+        if (rows < 0) {
+            rows = estimateRows(relation.column(columnName));
+        }
+        return rows < 0 ? defaultSelectivity() : Math.min(1.0, rows / rowCount);
+    }
+
+    /**
+     * Returns the selectivity assumed when there is nothing to estimate it from
+     */
+    protected double defaultSelectivity() {
+        return 0.5;
+    }
+
+    private double estimateRows(Index index) {
+        if (index instanceof DoubleIndex) {
+            return estimateRows((DoubleIndex) index);
+        }
+        if (index instanceof IntIndex) {
+            return estimateRows((IntIndex) index);
+        }
+        if (index instanceof LongIndex) {
+            return estimateRows((LongIndex) index);
+        }
+        if (index instanceof CategoryIndex) {
+            return estimateRows((CategoryIndex) index);
+        }
+        return NO_ESTIMATE;
+    }
+
+    /**
+     * Returns the number of rows passing this filter according to the postings of an index over the column, or
+     * {@link #NO_ESTIMATE}. Filters override the method for the kinds of index whose postings they can count cheaply
+     */
+    protected double estimateRows(DoubleIndex index) {
+        return NO_ESTIMATE;
+    }
+
+    protected double estimateRows(IntIndex index) {
+        return NO_ESTIMATE;
+    }
+
+    protected double estimateRows(LongIndex index) {
+        return NO_ESTIMATE;
+    }
+
+    protected double estimateRows(CategoryIndex index) {
+        return NO_ESTIMATE;
+    }
+
+    /**
+     * Returns an estimate of the number of rows passing this filter taken from the column's statistics, such as the
+     * binary search bounds of a sorted column or its zone map, or {@link #NO_ESTIMATE}
+     */
+    protected double estimateRows(Column column) {
+        return NO_ESTIMATE;
+    }
+
+    /**
+     * Returns a test of whether the value in a given row of the column passes this filter, or null if the filter can
+     * only be applied to the column as a whole
+     */
+    protected IntPredicate rowTest(Column column) {
+        return null;
+    }
+
+    /**
+     * Returns true if applying this filter to the column avoids testing every row, because the column is sorted and
+     * can be binary searched, or its zone map lets whole blocks be accepted or skipped
+     */
+    protected boolean avoidsScan(Column column) {
+        return false;
+    }
+
+    /**
+     * Returns null if the column is indexed, or the filter {@link #avoidsScan avoids scanning} it, as the filter is
+     * then answered without looking at every row, which a filter tree compiled into one pass over the rows would do
+     */
+    @Override
+    public IntPredicate rowTest(Table relation) {
+        String columnName = columnReference.getColumnName();
+        if (relation.index(columnName) != null) {
+            return null;
+        }
+        Column column = relation.column(columnName);
+        return avoidsScan(column) ? null : rowTest(column);
+    }
+
+    /**
+     * Tests only the candidate rows, unless every row is a candidate, or the column is indexed or the filter avoids
+     * scanning it, in which case applying the filter to the whole column is cheaper
+     */
+    @Override
+    public Selection apply(Table relation, Selection candidates) {
+        IntPredicate test = candidates.size() < relation.rowCount() ? rowTest(relation) : null;
+        if (test == null) {
+            return Filter.super.apply(relation, candidates);
+        }
+        return SelectionBuilder.select(candidates, test);
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.filtering;
+
+import tech.tablesaw.api.Table;
+import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Evaluates a tree of filters in a single pass over the rows of a table.
+ * <p>
+ * The tree is compiled into one test per row by composing the row tests of its leaves, and the results are packed
+ * into the selection a 64-bit word at a time by a {@link SelectionBuilder}, so no intermediate selection is built for
+ * any node of the tree
+ */
+public final class CompiledFilter {
+
+    private CompiledFilter() {}
+
+    /**
+     * Returns the rows of the relation that pass the given filter, or null if some part of the filter cannot be
+     * tested a row at a time
+     */
+    public static Selection apply(Filter filter, Table relation) {
+        IntPredicate test = filter.rowTest(relation);
+        if (test == null) {
+            return null;
+        }
+        return SelectionBuilder.select(0, relation.rowCount(), test);
+    }
+}
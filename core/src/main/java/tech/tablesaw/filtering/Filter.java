@@ -1,9 +1,13 @@
 package tech.tablesaw.filtering;
 
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
+import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
 
+import java.util.function.IntPredicate;
+
 public interface Filter {
 
     Selection apply(Table relation);
@@ -15,4 +19,33 @@ public interface Filter {
      * @return
      */
     Selection apply(Column columnBeingFiltered);
+
+    /**
+     * Returns the rows among the given candidates that pass this filter. Composite filters use this to evaluate later
+     * filters only on rows that passed earlier ones.
+     * <p>
+     * This default applies the filter to the whole relation and intersects the result with the candidates. Filters
+     * that can test rows one at a time override it to examine only the candidates. Neither argument is modified
+     */
+    default Selection apply(Table relation, Selection candidates) {
+        RoaringBitmap rows = apply(relation).toBitmapInternal();
+        return new BitmapBackedSelection(RoaringBitmap.and(rows, candidates.toBitmapInternal()));
+    }
+
+    /**
+     * Returns an estimate of the fraction of the relation's rows that pass this filter, between 0 and 1. Composite
+     * filters evaluate their most selective children first
+     */
+    default double estimateSelectivity(Table relation) {
+        return 0.5;
+    }
+
+    /**
+     * Returns a test of whether a given row of the relation passes this filter, or null if the filter can only be
+     * applied to the relation as a whole, or is cheaper to apply that way. Composite filters combine the tests of their
+     * children, so that a whole tree of filters can be evaluated in one pass over the rows
+     */
+    default IntPredicate rowTest(Table relation) {
+        return null;
+    }
 }
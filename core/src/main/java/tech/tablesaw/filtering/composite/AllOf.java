@@ -16,13 +16,19 @@ package tech.tablesaw.filtering.composite;
 
 import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
+import tech.tablesaw.filtering.CompiledFilter;
 import tech.tablesaw.filtering.Filter;
+import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
 
 /**
  * A composite filtering that only returns {@code true} if all component filters return true
@@ -45,18 +51,95 @@ public class AllOf implements Filter {
         return new AllOf(filters);
     }
 
+    /**
+     * Evaluates all the filters in one pass over the rows if each can be tested a row at a time and none has a faster
+     * path of its own, such as an index, a sorted column or a zone map. Otherwise, applies the most selective filter
+     * to the whole relation, and each remaining filter only to the rows that passed the filters before it, stopping
+     * early if no rows remain
+     */
     public Selection apply(Table relation) {
-        Selection selection = null;
-        for (Filter filter : filterList) {
-            if (selection == null) {
-                selection = filter.apply(relation);
-            } else {
-                selection.and(filter.apply(relation));
+        if (filterList.isEmpty()) {
+            return null;
+        }
+        Selection compiled = CompiledFilter.apply(this, relation);
+        if (compiled != null) {
+            return compiled;
+        }
+        List<Filter> ordered = bySelectivity(relation);
+        Selection selection = ordered.get(0).apply(relation);
+        for (int i = 1; i < ordered.size() && !selection.isEmpty(); i++) {
+            selection = ordered.get(i).apply(relation, selection);
+        }
+        return selection;
+    }
+
+    @Override
+    public Selection apply(Table relation, Selection candidates) {
+        Selection selection = new BitmapBackedSelection(candidates.toBitmapInternal());
+        for (Filter filter : bySelectivity(relation)) {
+            if (selection.isEmpty()) {
+                break;
             }
+            selection = filter.apply(relation, selection);
         }
         return selection;
     }
 
+    @Override
+    public double estimateSelectivity(Table relation) {
+        double selectivity = 1.0;
+        for (Filter filter : filterList) {
+            selectivity *= filter.estimateSelectivity(relation);
+        }
+        return selectivity;
+    }
+
+    /**
+     * Returns a test that checks the filters from the most to the least selective, stopping at the first that fails
+     */
+    @Override
+    public IntPredicate rowTest(Table relation) {
+        IntPredicate[] tests = rowTests(bySelectivity(relation), relation);
+        if (tests == null) {
+            return null;
+        }
+        return row -> {
+            for (IntPredicate test : tests) {
+                if (!test.test(row)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Returns the row tests of the given filters, or null if any of them has none
+     */
+    static IntPredicate[] rowTests(List<Filter> filters, Table relation) {
+        IntPredicate[] tests = new IntPredicate[filters.size()];
+        for (int i = 0; i < tests.length; i++) {
+            tests[i] = filters.get(i).rowTest(relation);
+            if (tests[i] == null) {
+                return null;
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Returns the filters ordered from the most to the least selective
+     */
+    private List<Filter> bySelectivity(Table relation) {
+        Map<Filter, Double> estimates = new IdentityHashMap<>();
+        for (Filter filter : filterList) {
+            estimates.put(filter, filter.estimateSelectivity(relation));
+        }
+        List<Filter> ordered = new ArrayList<>(filterList);
+        ordered.sort(Comparator.comparing(estimates::get));
+        return ordered;
+    }
+
     @Override
     public Selection apply(Column columnBeingFiltered) {
         Selection selection = null;
@@ -16,13 +16,19 @@ package tech.tablesaw.filtering.composite;
 
 import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
+import tech.tablesaw.filtering.CompiledFilter;
 import tech.tablesaw.filtering.Filter;
+import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
 
 /**
  * A composite filtering that only returns {@code true} if all component filters return true
@@ -48,17 +54,76 @@ public class AnyOf implements Filter {
 
     @Override
     public Selection apply(Table relation) {
-        Selection selection = null;
-        for (Filter filter : filterList) {
-            if (selection == null) {
-                selection = filter.apply(relation);
-            } else {
-                selection.or(filter.apply(relation));
+        if (filterList.isEmpty()) {
+            return null;
+        }
+        Selection compiled = CompiledFilter.apply(this, relation);
+        if (compiled != null) {
+            return compiled;
+        }
+        return apply(relation, Selection.withRange(0, relation.rowCount()));
+    }
+
+    /**
+     * Applies the filters from the least to the most selective, each one only to the candidate rows that no earlier
+     * filter has already selected, stopping early once every candidate is selected
+     */
+    @Override
+    public Selection apply(Table relation, Selection candidates) {
+        Selection selection = new BitmapBackedSelection();
+        Selection remaining = new BitmapBackedSelection(candidates.toBitmapInternal());
+        for (Filter filter : bySelectivity(relation)) {
+            if (remaining.isEmpty()) {
+                break;
             }
+            Selection matches = filter.apply(relation, remaining);
+            selection.or(matches);
+            remaining.andNot(matches);
         }
         return selection;
     }
 
+    @Override
+    public double estimateSelectivity(Table relation) {
+        double rejected = 1.0;
+        for (Filter filter : filterList) {
+            rejected *= 1.0 - filter.estimateSelectivity(relation);
+        }
+        return 1.0 - rejected;
+    }
+
+    /**
+     * Returns a test that checks the filters from the least to the most selective, stopping at the first that passes
+     */
+    @Override
+    public IntPredicate rowTest(Table relation) {
+        IntPredicate[] tests = AllOf.rowTests(bySelectivity(relation), relation);
+        if (tests == null) {
+            return null;
+        }
+        return row -> {
+            for (IntPredicate test : tests) {
+                if (test.test(row)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Returns the filters ordered from the least to the most selective
+     */
+    private List<Filter> bySelectivity(Table relation) {
+        Map<Filter, Double> estimates = new IdentityHashMap<>();
+        for (Filter filter : filterList) {
+            estimates.put(filter, filter.estimateSelectivity(relation));
+        }
+        List<Filter> ordered = new ArrayList<>(filterList);
+        ordered.sort(Comparator.comparing(estimates::get).reversed());
+        return ordered;
+    }
+
     @Override
     public Selection apply(Column columnBeingFiltered) {
         Selection selection = null;
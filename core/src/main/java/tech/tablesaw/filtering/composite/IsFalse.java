@@ -16,11 +16,13 @@ package tech.tablesaw.filtering.composite;
 
 import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
+import tech.tablesaw.filtering.CompiledFilter;
 import tech.tablesaw.filtering.Filter;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
 
 import javax.annotation.concurrent.Immutable;
+import java.util.function.IntPredicate;
 
 /**
  * A boolean filtering, returns true if the filtering it wraps returns false, and vice-versa.
@@ -43,6 +45,10 @@ public class IsFalse implements Filter {
      */
     @Override
     public Selection apply(Table relation) {
+        Selection compiled = CompiledFilter.apply(this, relation);
+        if (compiled != null) {
+            return compiled;
+        }
         Selection selection = new BitmapBackedSelection();
         selection.addRange(0, relation.rowCount());
         selection.andNot(filter.apply(relation));
@@ -56,4 +62,22 @@ public class IsFalse implements Filter {
         selection.andNot(filter.apply(columnBeingFiltered));
         return selection;
     }
+
+    @Override
+    public Selection apply(Table relation, Selection candidates) {
+        Selection selection = new BitmapBackedSelection(candidates.toBitmapInternal());
+        selection.andNot(filter.apply(relation, candidates));
+        return selection;
+    }
+
+    @Override
+    public double estimateSelectivity(Table relation) {
+        return 1.0 - filter.estimateSelectivity(relation);
+    }
+
+    @Override
+    public IntPredicate rowTest(Table relation) {
+        IntPredicate test = filter.rowTest(relation);
+        return test == null ? null : test.negate();
+    }
 }
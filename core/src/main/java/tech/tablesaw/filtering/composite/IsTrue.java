@@ -20,6 +20,7 @@ import tech.tablesaw.filtering.Filter;
 import tech.tablesaw.selection.Selection;
 
 import javax.annotation.concurrent.Immutable;
+import java.util.function.IntPredicate;
 
 /**
  * A boolean filtering. For symmetry with IsFalse
@@ -49,4 +50,19 @@ public class IsTrue implements Filter {
     public Selection apply(Column columnBeingFiltered) {
         return filter.apply(columnBeingFiltered);
     }
+
+    @Override
+    public Selection apply(Table relation, Selection candidates) {
+        return filter.apply(relation, candidates);
+    }
+
+    @Override
+    public double estimateSelectivity(Table relation) {
+        return filter.estimateSelectivity(relation);
+    }
+
+    @Override
+    public IntPredicate rowTest(Table relation) {
+        return filter.rowTest(relation);
+    }
 }
@@ -12,44 +12,57 @@
  * limitations under the License.
  */
 
+
 package tech.tablesaw.index;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.api.StringColumn;
-import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * An index for four-byte integer and Date columns
+ * An index for string columns, keyed by the dictionary codes the column stores for each row, so that building and
+ * maintaining it never hashes a string
  */
-public class CategoryIndex {
+public class CategoryIndex implements Index {
 
-    private final Map<String, IntArrayList> index;
+    private final StringColumn column;
+    private final int modificationCount;
+    private final Int2ObjectOpenHashMap<RoaringBitmap> index;
+    private int indexedRows;
 
     public CategoryIndex(StringColumn column) {
-        int sizeEstimate = Integer.min(1_000_000, column.size() / 100);
-        Map<String, IntArrayList> tempMap = new HashMap<>(sizeEstimate);
-        for (int i = 0; i < column.size(); i++) {
-            String value = column.get(i);
-            IntArrayList recordIds = tempMap.get(value);
-            if (recordIds == null) {
-                recordIds = new IntArrayList();
-                recordIds.add(i);
-                tempMap.put(value, recordIds);
-            } else {
-                recordIds.add(i);
-            }
-        }
-        index = new HashMap<>(tempMap);
+        this.column = column;
+        this.modificationCount = column.modificationCount();
+        index = new Int2ObjectOpenHashMap<>(column.countUnique());
+        indexedRows = 0;
+        update();
+        Postings.optimize(index.values());
+    }
+
+    @Override
+    public boolean isValid() {
+        return column.modificationCount() == modificationCount && column.size() >= indexedRows;
     }
 
-    private static void addAllToSelection(IntArrayList tableKeys, Selection selection) {
-        for (int i : tableKeys) {
-            selection.add(i);
+    @Override
+    public void update() {
+        IntArrayList keys = column.data();
+        int size = keys.size();
+        for (int i = indexedRows; i < size; i++) {
+            int key = keys.getInt(i);
+            RoaringBitmap rows = index.get(key);
+            if (rows == null) {
+                rows = new RoaringBitmap();
+                index.put(key, rows);
+            }
+            rows.add(i);
         }
+        indexedRows = size;
     }
 
     /**
@@ -58,12 +71,27 @@ public class CategoryIndex {
      * @param value This is a 'key' from the index perspective, meaning it is a value from the standpoint of the column
      */
     public Selection get(String value) {
-        Selection selection = new BitmapBackedSelection();
-        IntArrayList list = index.get(value);
-        if (list != null) {
-            addAllToSelection(list, selection);
-        }
-        return selection;
+        return Postings.select(index.get(column.getKeyForValue(value)));
+    }
+
+    /**
+     * Returns the number of rows holding the given string
+     */
+    public int count(String value) {
+        return Postings.count(index.get(column.getKeyForValue(value)));
     }
 
+    /**
+     * Returns a bitmap containing row numbers of all cells matching any of the given strings
+     */
+    public Selection isIn(String... values) {
+        List<RoaringBitmap> postings = new ArrayList<>(values.length);
+        for (String value : values) {
+            RoaringBitmap rows = index.get(column.getKeyForValue(value));
+            if (rows != null) {
+                postings.add(rows);
+            }
+        }
+        return Postings.union(postings);
+    }
 }
@@ -12,45 +12,72 @@
  * limitations under the License.
  */
 
+
 package tech.tablesaw.index;
 
 import it.unimi.dsi.fastutil.doubles.Double2ObjectAVLTreeMap;
+import it.unimi.dsi.fastutil.doubles.Double2ObjectMap;
 import it.unimi.dsi.fastutil.doubles.Double2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.doubles.Double2ObjectSortedMap;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.api.NumberColumn;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * An index for double-precision 64-bit IEEE 754 floating point columns.
+ * <p>
+ * Missing values (NaN) are not indexed, as they never compare equal to, less than, or greater than anything, and
+ * negative zero is indexed as zero
  */
-public class DoubleIndex {
+public class DoubleIndex implements Index {
 
-    private final Double2ObjectAVLTreeMap<IntArrayList> index;
+    private final NumberColumn column;
+    private final int modificationCount;
+    private final Double2ObjectAVLTreeMap<RoaringBitmap> index;
+    private int indexedRows;
 
     public DoubleIndex(NumberColumn column) {
+        this.column = column;
+        this.modificationCount = column.modificationCount();
         int sizeEstimate = Integer.min(1_000_000, column.size() / 100);
-        Double2ObjectOpenHashMap<IntArrayList> tempMap = new Double2ObjectOpenHashMap<>(sizeEstimate);
-        for (int i = 0; i < column.size(); i++) {
-            double value = column.get(i);
-            IntArrayList recordIds = tempMap.get(value);
-            if (recordIds == null) {
-                recordIds = new IntArrayList();
-                recordIds.add(i);
-                tempMap.trim();
-                tempMap.put(value, recordIds);
-            } else {
-                recordIds.add(i);
-            }
+        Double2ObjectOpenHashMap<RoaringBitmap> tempMap = new Double2ObjectOpenHashMap<>(sizeEstimate);
+        indexedRows = column.size();
+        for (int i = 0; i < indexedRows; i++) {
+            add(tempMap, column.get(i), i);
         }
+        Postings.optimize(tempMap.values());
         index = new Double2ObjectAVLTreeMap<>(tempMap);
     }
 
-    private static void addAllToSelection(IntArrayList tableKeys, Selection selection) {
-        for (int i : tableKeys) {
-            selection.add(i);
+    private static void add(Double2ObjectMap<RoaringBitmap> map, double value, int row) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        double key = value + 0.0;
+        RoaringBitmap rows = map.get(key);
+        if (rows == null) {
+            rows = new RoaringBitmap();
+            map.put(key, rows);
         }
+        rows.add(row);
+    }
+
+    @Override
+    public boolean isValid() {
+        return column.modificationCount() == modificationCount && column.size() >= indexedRows;
+    }
+
+    @Override
+    public void update() {
+        int size = column.size();
+        for (int i = indexedRows; i < size; i++) {
+            add(index, column.get(i), i);
+        }
+        indexedRows = size;
     }
 
     /**
@@ -59,48 +86,73 @@ public class DoubleIndex {
      * @param value This is a 'key' from the index perspective, meaning it is a value from the standpoint of the column
      */
     public Selection get(double value) {
-        Selection selection = new BitmapBackedSelection();
-        IntArrayList list = index.get(value);
-        if (list != null) {
-            addAllToSelection(list, selection);
+        return Postings.select(index.get(value + 0.0));
+    }
+
+    /**
+     * Returns the number of rows holding the given value
+     */
+    public int count(double value) {
+        return Postings.count(index.get(value + 0.0));
+    }
+
+    /**
+     * Returns the rows whose values equal any of the given values
+     */
+    public Selection isIn(double... values) {
+        List<RoaringBitmap> postings = new ArrayList<>(values.length);
+        for (double value : values) {
+            RoaringBitmap rows = index.get(value + 0.0);
+            if (rows != null) {
+                postings.add(rows);
+            }
         }
-        return selection;
+        return Postings.union(postings);
     }
 
     public Selection atLeast(double value) {
-        Selection selection = new BitmapBackedSelection();
-        Double2ObjectSortedMap<IntArrayList> tail = index.tailMap(value);
-        for (IntArrayList keys : tail.values()) {
-            addAllToSelection(keys, selection);
+        if (Double.isNaN(value)) {
+            return new BitmapBackedSelection();
         }
-        return selection;
+        return Postings.union(index.tailMap(value + 0.0).values());
     }
 
     public Selection greaterThan(double value) {
-        Selection selection = new BitmapBackedSelection();
-        Double2ObjectSortedMap<IntArrayList> tail = index.tailMap(value + 0.000001);
-        for (IntArrayList keys : tail.values()) {
-            addAllToSelection(keys, selection);
+        if (Double.isNaN(value) || value == Double.POSITIVE_INFINITY) {
+            return new BitmapBackedSelection();
         }
-        return selection;
+        return Postings.union(index.tailMap(Math.nextUp(value + 0.0)).values());
     }
 
     public Selection atMost(double value) {
-        Selection selection = new BitmapBackedSelection();
-        Double2ObjectSortedMap<IntArrayList> head = index.headMap(value + 0.000001);  // we add 1 to get values equal
-        // to the arg
-        for (IntArrayList keys : head.values()) {
-            addAllToSelection(keys, selection);
+        if (Double.isNaN(value)) {
+            return new BitmapBackedSelection();
         }
-        return selection;
+        return Postings.union(atMost(index, value).values());
     }
 
     public Selection lessThan(double value) {
-        Selection selection = new BitmapBackedSelection();
-        Double2ObjectSortedMap<IntArrayList> head = index.headMap(value);
-        for (IntArrayList keys : head.values()) {
-            addAllToSelection(keys, selection);
+        if (Double.isNaN(value)) {
+            return new BitmapBackedSelection();
+        }
+        return Postings.union(index.headMap(value + 0.0).values());
+    }
+
+    /**
+     * Returns the rows whose values fall in the closed range [low, high]
+     */
+    public Selection between(double low, double high) {
+        if (!(low <= high)) {
+            return new BitmapBackedSelection();
+        }
+        return Postings.union(atMost(index.tailMap(low + 0.0), high).values());
+    }
+
+    private static Double2ObjectSortedMap<RoaringBitmap> atMost(Double2ObjectSortedMap<RoaringBitmap> map,
+                                                                double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return map;
         }
-        return selection;
+        return map.headMap(Math.nextUp(value + 0.0));
     }
-}
\ No newline at end of file
+}
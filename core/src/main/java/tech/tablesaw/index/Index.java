@@ -0,0 +1,35 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.index;
+
+/**
+ * A secondary index over the values of one column, mapping each value to the rows that hold it.
+ * <p>
+ * An index is kept in step with rows appended to its column by calling {@link #update()}. Changes to values already
+ * in the column, such as sets, sorts, or clearing, make the index invalid, and it must be rebuilt
+ */
+public interface Index {
+
+    /**
+     * Returns true if the values indexed so far are unchanged in the column
+     */
+    boolean isValid();
+
+    /**
+     * Adds any rows appended to the column since the index was built or last updated
+     */
+    void update();
+}
@@ -12,14 +12,16 @@
  * limitations under the License.
  */
 
+
 package tech.tablesaw.index;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.api.DateColumn;
 import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.dates.PackedLocalDate;
 import tech.tablesaw.columns.times.PackedLocalTime;
 import tech.tablesaw.selection.BitmapBackedSelection;
@@ -27,55 +29,63 @@ import tech.tablesaw.selection.Selection;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.function.IntUnaryOperator;
 
 
 /**
  * An index for four-byte integer and integer backed columns (date, category, time)
  */
-public class IntIndex {
+public class IntIndex implements Index {
 
-    private final Int2ObjectAVLTreeMap<IntArrayList> index;
+    private final Column column;
+    private final IntUnaryOperator values;
+    private final int modificationCount;
+    private final Int2ObjectAVLTreeMap<RoaringBitmap> index;
+    private int indexedRows;
 
     public IntIndex(DateColumn column) {
-        int sizeEstimate = Integer.min(1_000_000, column.size() / 100);
-        Int2ObjectOpenHashMap<IntArrayList> tempMap = new Int2ObjectOpenHashMap<>(sizeEstimate);
-        for (int i = 0; i < column.size(); i++) {
-            int value = column.getIntInternal(i);
-            IntArrayList recordIds = tempMap.get(value);
-            if (recordIds == null) {
-                recordIds = new IntArrayList();
-                recordIds.add(i);
-                tempMap.trim();
-                tempMap.put(value, recordIds);
-            } else {
-                recordIds.add(i);
-            }
-        }
-        index = new Int2ObjectAVLTreeMap<>(tempMap);
+        this(column, column::getIntInternal);
     }
 
     public IntIndex(TimeColumn column) {
+        this(column, column::getIntInternal);
+    }
+
+    private IntIndex(Column column, IntUnaryOperator values) {
+        this.column = column;
+        this.values = values;
+        this.modificationCount = column.modificationCount();
         int sizeEstimate = Integer.min(1_000_000, column.size() / 100);
-        Int2ObjectOpenHashMap<IntArrayList> tempMap = new Int2ObjectOpenHashMap<>(sizeEstimate);
-        for (int i = 0; i < column.size(); i++) {
-            int value = column.getIntInternal(i);
-            IntArrayList recordIds = tempMap.get(value);
-            if (recordIds == null) {
-                recordIds = new IntArrayList();
-                recordIds.add(i);
-                tempMap.trim();
-                tempMap.put(value, recordIds);
-            } else {
-                recordIds.add(i);
-            }
+        Int2ObjectOpenHashMap<RoaringBitmap> tempMap = new Int2ObjectOpenHashMap<>(sizeEstimate);
+        indexedRows = column.size();
+        for (int i = 0; i < indexedRows; i++) {
+            add(tempMap, values.applyAsInt(i), i);
         }
+        Postings.optimize(tempMap.values());
         index = new Int2ObjectAVLTreeMap<>(tempMap);
     }
 
-    private static void addAllToSelection(IntArrayList tableKeys, Selection selection) {
-        for (int i : tableKeys) {
-            selection.add(i);
+    private static void add(Int2ObjectMap<RoaringBitmap> map, int value, int row) {
+        RoaringBitmap rows = map.get(value);
+        if (rows == null) {
+            rows = new RoaringBitmap();
+            map.put(value, rows);
+        }
+        rows.add(row);
+    }
+
+    @Override
+    public boolean isValid() {
+        return column.modificationCount() == modificationCount && column.size() >= indexedRows;
+    }
+
+    @Override
+    public void update() {
+        int size = column.size();
+        for (int i = indexedRows; i < size; i++) {
+            add(index, values.applyAsInt(i), i);
         }
+        indexedRows = size;
     }
 
     /**
@@ -84,12 +94,22 @@ public class IntIndex {
      * @param value This is a 'key' from the index perspective, meaning it is a value from the standpoint of the column
      */
     public Selection get(int value) {
-        Selection selection = new BitmapBackedSelection();
-        IntArrayList list = index.get(value);
-        if (list != null) {
-            addAllToSelection(list, selection);
-        }
-        return selection;
+        return Postings.select(index.get(value));
+    }
+
+    /**
+     * Returns the index's own list of the rows holding the given value, or null if no row holds it. The bitmap is not
+     * copied, so callers that probe the index many times, such as joins, pay nothing per miss; it must not be modified
+     */
+    public RoaringBitmap postings(int value) {
+        return index.get(value);
+    }
+
+    /**
+     * Returns the number of rows holding the given value
+     */
+    public int count(int value) {
+        return Postings.count(index.get(value));
     }
 
     public Selection get(LocalTime value) {
@@ -101,12 +121,7 @@ public class IntIndex {
     }
 
     public Selection atLeast(int value) {
-        Selection selection = new BitmapBackedSelection();
-        Int2ObjectSortedMap<IntArrayList> tail = index.tailMap(value);
-        for (IntArrayList keys : tail.values()) {
-            addAllToSelection(keys, selection);
-        }
-        return selection;
+        return Postings.union(index.tailMap(value).values());
     }
 
     public Selection atLeast(LocalTime value) {
@@ -118,12 +133,10 @@ public class IntIndex {
     }
 
     public Selection greaterThan(int value) {
-        Selection selection = new BitmapBackedSelection();
-        Int2ObjectSortedMap<IntArrayList> tail = index.tailMap(value + 1);
-        for (IntArrayList keys : tail.values()) {
-            addAllToSelection(keys, selection);
+        if (value == Integer.MAX_VALUE) {
+            return new BitmapBackedSelection();
         }
-        return selection;
+        return Postings.union(index.tailMap(value + 1).values());
     }
 
     public Selection greaterThan(LocalTime value) {
@@ -135,12 +148,10 @@ public class IntIndex {
     }
 
     public Selection atMost(int value) {
-        Selection selection = new BitmapBackedSelection();
-        Int2ObjectSortedMap<IntArrayList> head = index.headMap(value + 1);  // we add 1 to get values equal to the arg
-        for (IntArrayList keys : head.values()) {
-            addAllToSelection(keys, selection);
+        if (value == Integer.MAX_VALUE) {
+            return Postings.union(index.values());
         }
-        return selection;
+        return Postings.union(index.headMap(value + 1).values());  // we add 1 to get values equal to the arg
     }
 
     public Selection atMost(LocalTime value) {
@@ -152,12 +163,7 @@ public class IntIndex {
     }
 
     public Selection lessThan(int value) {
-        Selection selection = new BitmapBackedSelection();
-        Int2ObjectSortedMap<IntArrayList> head = index.headMap(value);  // we add 1 to get values equal to the arg
-        for (IntArrayList keys : head.values()) {
-            addAllToSelection(keys, selection);
-        }
-        return selection;
+        return Postings.union(index.headMap(value).values());
     }
 
     public Selection lessThan(LocalTime value) {
@@ -167,4 +173,17 @@ public class IntIndex {
     public Selection lessThan(LocalDate value) {
         return lessThan(PackedLocalDate.pack(value));
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the rows whose values fall in the closed range [low, high]
+     */
+    public Selection between(int low, int high) {
+        if (low > high) {
+            return new BitmapBackedSelection();
+        }
+        if (high == Integer.MAX_VALUE) {
+            return atLeast(low);
+        }
+        return Postings.union(index.subMap(low, high + 1).values());
+    }
+}
@@ -12,67 +12,77 @@
  * limitations under the License.
  */
 
+
 package tech.tablesaw.index;
 
-import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.longs.Long2ObjectAVLTreeMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectSortedMap;
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.api.DateTimeColumn;
 import tech.tablesaw.api.NumberColumn;
+import tech.tablesaw.columns.Column;
 import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
 
 import java.time.LocalDateTime;
+import java.util.function.IntToLongFunction;
 
 /**
  * An index for eight-byte long and long backed columns (datetime)
  */
-public class LongIndex {
+public class LongIndex implements Index {
 
-    private final Long2ObjectAVLTreeMap<IntArrayList> index;
+    private final Column column;
+    private final IntToLongFunction values;
+    private final int modificationCount;
+    private final Long2ObjectAVLTreeMap<RoaringBitmap> index;
+    private int indexedRows;
 
     public LongIndex(DateTimeColumn column) {
-        int sizeEstimate = Integer.min(1_000_000, column.size() / 100);
-        Long2ObjectOpenHashMap<IntArrayList> tempMap = new Long2ObjectOpenHashMap<>(sizeEstimate);
-        for (int i = 0; i < column.size(); i++) {
-            long value = column.getLongInternal(i);
-            IntArrayList recordIds = tempMap.get(value);
-            if (recordIds == null) {
-                recordIds = new IntArrayList();
-                recordIds.add(i);
-                tempMap.trim();
-                tempMap.put(value, recordIds);
-            } else {
-                recordIds.add(i);
-            }
-        }
-        index = new Long2ObjectAVLTreeMap<>(tempMap);
+        this(column, column::getLongInternal);
     }
 
     public LongIndex(NumberColumn column) {
+        this(column, column::getLong);
+    }
+
+    private LongIndex(Column column, IntToLongFunction values) {
+        this.column = column;
+        this.values = values;
+        this.modificationCount = column.modificationCount();
         int sizeEstimate = Integer.min(1_000_000, column.size() / 100);
-        Long2ObjectOpenHashMap<IntArrayList> tempMap = new Long2ObjectOpenHashMap<>(sizeEstimate);
-        for (int i = 0; i < column.size(); i++) {
-            long value = column.getLong(i);
-            IntArrayList recordIds = tempMap.get(value);
-            if (recordIds == null) {
-                recordIds = new IntArrayList();
-                recordIds.add(i);
-                tempMap.trim();
-                tempMap.put(value, recordIds);
-            } else {
-                recordIds.add(i);
-            }
+        Long2ObjectOpenHashMap<RoaringBitmap> tempMap = new Long2ObjectOpenHashMap<>(sizeEstimate);
+        indexedRows = column.size();
+        for (int i = 0; i < indexedRows; i++) {
+            add(tempMap, values.applyAsLong(i), i);
         }
+        Postings.optimize(tempMap.values());
         index = new Long2ObjectAVLTreeMap<>(tempMap);
     }
 
-    private static void addAllToSelection(IntArrayList tableKeys, Selection selection) {
-        for (int i : tableKeys) {
-            selection.add(i);
+    private static void add(Long2ObjectMap<RoaringBitmap> map, long value, int row) {
+        RoaringBitmap rows = map.get(value);
+        if (rows == null) {
+            rows = new RoaringBitmap();
+            map.put(value, rows);
+        }
+        rows.add(row);
+    }
+
+    @Override
+    public boolean isValid() {
+        return column.modificationCount() == modificationCount && column.size() >= indexedRows;
+    }
+
+    @Override
+    public void update() {
+        int size = column.size();
+        for (int i = indexedRows; i < size; i++) {
+            add(index, values.applyAsLong(i), i);
         }
+        indexedRows = size;
     }
 
     /**
@@ -81,12 +91,22 @@ public class LongIndex {
      * @param value This is a 'key' from the index perspective, meaning it is a value from the standpoint of the column
      */
     public Selection get(long value) {
-        Selection selection = new BitmapBackedSelection();
-        IntArrayList list = index.get(value);
-        if (list != null) {
-            addAllToSelection(list, selection);
-        }
-        return selection;
+        return Postings.select(index.get(value));
+    }
+
+    /**
+     * Returns the index's own list of the rows holding the given value, or null if no row holds it. The bitmap is not
+     * copied, so callers that probe the index many times, such as joins, pay nothing per miss; it must not be modified
+     */
+    public RoaringBitmap postings(long value) {
+        return index.get(value);
+    }
+
+    /**
+     * Returns the number of rows holding the given value
+     */
+    public int count(long value) {
+        return Postings.count(index.get(value));
     }
 
     public Selection get(LocalDateTime value) {
@@ -94,12 +114,7 @@ public class LongIndex {
     }
 
     public Selection atLeast(long value) {
-        Selection selection = new BitmapBackedSelection();
-        Long2ObjectSortedMap<IntArrayList> tail = index.tailMap(value);
-        for (IntArrayList keys : tail.values()) {
-            addAllToSelection(keys, selection);
-        }
-        return selection;
+        return Postings.union(index.tailMap(value).values());
     }
 
     public Selection atLeast(LocalDateTime value) {
@@ -107,12 +122,10 @@ public class LongIndex {
     }
 
     public Selection greaterThan(long value) {
-        Selection selection = new BitmapBackedSelection();
-        Long2ObjectSortedMap<IntArrayList> tail = index.tailMap(value + 1);
-        for (IntArrayList keys : tail.values()) {
-            addAllToSelection(keys, selection);
+        if (value == Long.MAX_VALUE) {
+            return new BitmapBackedSelection();
         }
-        return selection;
+        return Postings.union(index.tailMap(value + 1).values());
     }
 
     public Selection greaterThan(LocalDateTime value) {
@@ -120,12 +133,10 @@ public class LongIndex {
     }
 
     public Selection atMost(long value) {
-        Selection selection = new BitmapBackedSelection();
-        Long2ObjectSortedMap<IntArrayList> head = index.headMap(value + 1);  // we add 1 to get values equal to the arg
-        for (IntArrayList keys : head.values()) {
-            addAllToSelection(keys, selection);
+        if (value == Long.MAX_VALUE) {
+            return Postings.union(index.values());
         }
-        return selection;
+        return Postings.union(index.headMap(value + 1).values());  // we add 1 to get values equal to the arg
     }
 
     public Selection atMost(LocalDateTime value) {
@@ -133,15 +144,23 @@ public class LongIndex {
     }
 
     public Selection lessThan(long value) {
-        Selection selection = new BitmapBackedSelection();
-        Long2ObjectSortedMap<IntArrayList> head = index.headMap(value);  // we add 1 to get values equal to the arg
-        for (IntArrayList keys : head.values()) {
-            addAllToSelection(keys, selection);
-        }
-        return selection;
+        return Postings.union(index.headMap(value).values());
     }
 
     public Selection lessThan(LocalDateTime value) {
         return lessThan(PackedLocalDateTime.pack(value));
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the rows whose values fall in the closed range [low, high]
+     */
+    public Selection between(long low, long high) {
+        if (low > high) {
+            return new BitmapBackedSelection();
+        }
+        if (high == Long.MAX_VALUE) {
+            return atLeast(low);
+        }
+        return Postings.union(index.subMap(low, high + 1).values());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.index;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import tech.tablesaw.selection.BitmapBackedSelection;
+import tech.tablesaw.selection.Selection;
+
+import java.util.Collection;
+
+/**
+ * Utilities for working with the posting lists (the bitmaps of row numbers) held by an index
+ */
+final class Postings {
+
+    private Postings() {}
+
+    /**
+     * Returns a selection holding the given rows, which may be null if no row matched
+     */
+    static Selection select(RoaringBitmap rows) {
+        if (rows == null) {
+            return new BitmapBackedSelection();
+        }
+        return Selection.of(rows.clone());
+    }
+
+    /**
+     * Returns the number of rows in the given posting list, which may be null if no row matched
+     */
+    static int count(RoaringBitmap rows) {
+        return rows == null ? 0 : rows.getCardinality();
+    }
+
+    /**
+     * Returns a selection holding the union of the given posting lists
+     */
+    static Selection union(Collection<RoaringBitmap> postings) {
+        return Selection.of(FastAggregation.or(postings.iterator()));
+    }
+
+    /**
+     * Compresses the given posting lists, converting runs of consecutive rows to run containers
+     */
+    static void optimize(Collection<RoaringBitmap> postings) {
+        for (RoaringBitmap rows : postings) {
+            rows.runOptimize();
+        }
+    }
+}
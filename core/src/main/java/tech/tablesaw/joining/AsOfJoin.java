@@ -0,0 +1,224 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.dates.PackedLocalDate;
+import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
+import tech.tablesaw.columns.times.PackedLocalTime;
+
+/**
+ * Pairs each row with the row of another table nearest in time, as described by {@link AsOfOptions}.
+ * <p>
+ * When both timestamp columns are known to be sorted and there are no grouping columns, the two are walked together in
+ * linear time. Otherwise the rows of the other table are grouped on the grouping columns and sorted by time within
+ * each group, and each row's match is found by binary search in its group
+ */
+final class AsOfJoin {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final DateTimeColumn times;
+    private final DateTimeColumn times2;
+    private final AsOfOptions.Direction direction;
+    private final long toleranceMillis;
+
+    private AsOfJoin(DateTimeColumn times, DateTimeColumn times2, AsOfOptions options) {
+        this.times = times;
+        this.times2 = times2;
+        this.direction = options.direction();
+        this.toleranceMillis = options.tolerance() == null ? Long.MAX_VALUE : options.tolerance().toMillis();
+    }
+
+    /**
+     * Returns a pair for every row of the first table, with the matching row of the second or -1 if it has none
+     */
+    static RowPairs join(DateTimeColumn times, Column[] by, DateTimeColumn times2, Column[] by2,
+                         AsOfOptions options) {
+        AsOfJoin join = new AsOfJoin(times, times2, options);
+        if (by.length == 0 && times.isSortedAscending() && times2.isSortedAscending()) {
+            return join.merge();
+        }
+        return join.search(by, by2);
+    }
+
+    /**
+     * Walks two sorted columns together, keeping the bounds of the run of timestamps equal to the current one
+     */
+    private RowPairs merge() {
+        RowPairs pairs = new RowPairs();
+        int size2 = times2.size();
+        int start = 0;
+        while (start < size2 && DateTimeColumn.valueIsMissing(times2.getLongInternal(start))) {
+            start++;
+        }
+        int atOrAfter = start;
+        int after = start;
+        for (int row = 0; row < times.size(); row++) {
+            long time = times.getLongInternal(row);
+            if (DateTimeColumn.valueIsMissing(time)) {
+                pairs.add(row, RowPairs.NO_MATCH);
+                continue;
+            }
+            while (atOrAfter < size2 && times2.getLongInternal(atOrAfter) < time) {
+                atOrAfter++;
+            }
+            after = Math.max(after, atOrAfter);
+            while (after < size2 && times2.getLongInternal(after) <= time) {
+                after++;
+            }
+            int before = after - 1 >= start ? after - 1 : RowPairs.NO_MATCH;
+            pairs.add(row, choose(time, before, atOrAfter < size2 ? atOrAfter : RowPairs.NO_MATCH));
+        }
+        return pairs;
+    }
+
+    /**
+     * Groups and sorts the rows of the second table, then binary searches the group of each row of the first
+     */
+    private RowPairs search(Column[] by, Column[] by2) {
+        int size2 = times2.size();
+        int[] groups = new int[size2];
+        IntArrayList firstRows = new IntArrayList();
+        Long2IntOpenHashMap firstGroups = new Long2IntOpenHashMap();
+        firstGroups.defaultReturnValue(-1);
+        IntArrayList nextGroups = new IntArrayList();
+        JoinKeys groupKeys = by.length == 0 ? null : JoinKeys.of(by2, by2);
+        for (int row2 = 0; row2 < size2; row2++) {
+            if (groupKeys == null) {
+                groups[row2] = 0;
+                if (firstRows.isEmpty()) {
+                    firstRows.add(row2);
+                }
+                continue;
+            }
+            long key = groupKeys.rightKey(row2);
+            int group = firstGroups.get(key);
+            while (group >= 0 && !groupKeys.matches(firstRows.getInt(group), row2)) {
+                group = nextGroups.getInt(group);
+            }
+            if (group < 0) {
+                group = firstRows.size();
+                firstRows.add(row2);
+                nextGroups.add(firstGroups.put(key, group));
+            }
+            groups[row2] = group;
+        }
+
+        int groupCount = firstRows.size();
+        int[] starts = new int[groupCount + 1];
+        for (int row2 = 0; row2 < size2; row2++) {
+            if (!DateTimeColumn.valueIsMissing(times2.getLongInternal(row2))) {
+                starts[groups[row2] + 1]++;
+            }
+        }
+        for (int group = 0; group < groupCount; group++) {
+            starts[group + 1] += starts[group];
+        }
+        int[] rows = new int[starts[groupCount]];
+        int[] positions = starts.clone();
+        for (int row2 = 0; row2 < size2; row2++) {
+            if (!DateTimeColumn.valueIsMissing(times2.getLongInternal(row2))) {
+                rows[positions[groups[row2]]++] = row2;
+            }
+        }
+        long[] sortedTimes = new long[rows.length];
+        for (int group = 0; group < groupCount; group++) {
+            IntArrays.mergeSort(rows, starts[group], starts[group + 1],
+                    (r1, r2) -> Long.compare(times2.getLongInternal(r1), times2.getLongInternal(r2)));
+        }
+        for (int i = 0; i < rows.length; i++) {
+            sortedTimes[i] = times2.getLongInternal(rows[i]);
+        }
+
+        JoinKeys keys = by.length == 0 ? null : JoinKeys.of(by, by2);
+        RowPairs pairs = new RowPairs();
+        for (int row = 0; row < times.size(); row++) {
+            long time = times.getLongInternal(row);
+            int group = groupCount == 0 ? -1 : 0;
+            if (keys != null) {
+                group = firstGroups.get(keys.leftKey(row));
+                while (group >= 0 && !keys.matches(row, firstRows.getInt(group))) {
+                    group = nextGroups.getInt(group);
+                }
+            }
+            if (group < 0 || DateTimeColumn.valueIsMissing(time)) {
+                pairs.add(row, RowPairs.NO_MATCH);
+                continue;
+            }
+            int start = starts[group];
+            int end = starts[group + 1];
+            int atOrAfter = firstIndex(sortedTimes, start, end, time, false);
+            int after = firstIndex(sortedTimes, atOrAfter, end, time, true);
+            pairs.add(row, choose(time,
+                    after > start ? rows[after - 1] : RowPairs.NO_MATCH,
+                    atOrAfter < end ? rows[atOrAfter] : RowPairs.NO_MATCH));
+        }
+        return pairs;
+    }
+
+    /**
+     * Returns the index of the first timestamp in the range that is greater than (if after is true), or at least, the
+     * given time
+     */
+    private static int firstIndex(long[] sortedTimes, int start, int end, long time, boolean after) {
+        int low = start;
+        int high = end;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedTimes[mid] < time || (after && sortedTimes[mid] == time)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Chooses between the latest row at or before the time and the earliest at or after it, either of which may be
+     * -1, according to the direction and tolerance
+     */
+    private int choose(long time, int before, int atOrAfter) {
+        long millis = epochMillis(time);
+        long gapBefore = before == RowPairs.NO_MATCH
+                ? Long.MAX_VALUE : millis - epochMillis(times2.getLongInternal(before));
+        long gapAfter = atOrAfter == RowPairs.NO_MATCH
+                ? Long.MAX_VALUE : epochMillis(times2.getLongInternal(atOrAfter)) - millis;
+        switch (direction) {
+            case BACKWARD:
+                return gapBefore <= toleranceMillis ? before : RowPairs.NO_MATCH;
+            case FORWARD:
+                return gapAfter <= toleranceMillis ? atOrAfter : RowPairs.NO_MATCH;
+            case NEAREST:
+                if (Math.min(gapBefore, gapAfter) > toleranceMillis) {
+                    return RowPairs.NO_MATCH;
+                }
+                return gapBefore <= gapAfter ? before : atOrAfter;
+            default:
+                throw new IllegalStateException("Unhandled direction in case statement");
+        }
+    }
+
+    private static long epochMillis(long dateTime) {
+        return PackedLocalDate.toEpochDay(PackedLocalDateTime.date(dateTime)) * MILLIS_PER_DAY
+                + PackedLocalTime.getMillisecondOfDay(PackedLocalDateTime.time(dateTime));
+    }
+}
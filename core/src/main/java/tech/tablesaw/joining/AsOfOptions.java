@@ -0,0 +1,101 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.joining;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+
+/**
+ * Options for an as-of join, which pairs each row with the row of the other table whose timestamp is nearest in the
+ * given direction, optionally within a tolerance and among rows with the same values in some grouping columns:
+ * <p>
+ * trades.join("Time").asOf(quotes, "Time",
+ * AsOfOptions.builder().by("Symbol").tolerance(Duration.ofSeconds(5)).build())
+ */
+public class AsOfOptions {
+
+    /**
+     * Which rows of the other table a row may be paired with
+     */
+    public enum Direction {
+        /** The latest row at or before the row's timestamp */
+        BACKWARD,
+        /** The earliest row at or after the row's timestamp */
+        FORWARD,
+        /** The row closest in time, preferring the earlier row when two are equally close */
+        NEAREST
+    }
+
+    private final Direction direction;
+    private final Duration tolerance;
+    private final String[] by;
+
+    private AsOfOptions(Builder builder) {
+        this.direction = builder.direction;
+        this.tolerance = builder.tolerance;
+        this.by = builder.by;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Direction direction() {
+        return direction;
+    }
+
+    /**
+     * Returns the largest gap allowed between paired timestamps, or null if any gap is allowed
+     */
+    public Duration tolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Returns the names of the columns, in both tables, whose values must be equal for rows to be paired
+     */
+    public String[] by() {
+        return by.clone();
+    }
+
+    public static class Builder {
+
+        private Direction direction = Direction.BACKWARD;
+        private Duration tolerance;
+        private String[] by = new String[0];
+
+        public Builder direction(Direction direction) {
+            this.direction = Preconditions.checkNotNull(direction);
+            return this;
+        }
+
+        public Builder tolerance(Duration tolerance) {
+            Preconditions.checkArgument(!tolerance.isNegative(), "The tolerance must not be negative");
+            this.tolerance = tolerance;
+            return this;
+        }
+
+        public Builder by(String... columnNames) {
+            this.by = columnNames.clone();
+            return this;
+        }
+
+        public AsOfOptions build() {
+            return new AsOfOptions(this);
+        }
+    }
+}
@@ -1,141 +1,296 @@
 package tech.tablesaw.joining;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.Streams;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
 import tech.tablesaw.api.DateColumn;
 import tech.tablesaw.api.DateTimeColumn;
 import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.NumberColumn;
 import tech.tablesaw.api.StringColumn;
 import tech.tablesaw.api.Table;
 import tech.tablesaw.api.TimeColumn;
 import tech.tablesaw.columns.Column;
-import tech.tablesaw.index.CategoryIndex;
+import tech.tablesaw.index.Index;
 import tech.tablesaw.index.IntIndex;
 import tech.tablesaw.index.LongIndex;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class DataFrameJoiner {
 
+    /**
+     * A registered index over table2 is only probed when table2 has at least this many times as many rows as the
+     * joiner's table. A tree lookup per row costs more than a hash probe, so the index only wins when it saves
+     * building a hash table over a much larger table2
+     */
+    static final int INDEX_JOIN_RATIO = 32;
+
     private final Table table;
-    private final Column column;
+    private final Column[] columns;
 
-    public DataFrameJoiner(Table table, String column) {
+    public DataFrameJoiner(Table table, String... columnNames) {
+        Preconditions.checkArgument(columnNames.length > 0, "At least one join column is required");
         this.table = table;
-        this.column = table.column(column);
+        this.columns = new Column[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            columns[i] = table.column(columnNames[i]);
+        }
     }
 
     /**
-     * Joins the joiner to the table2, using the given column for the second table and returns the resulting table
+     * Joins the joiner to the table2, using the given columns for the second table and returns the resulting table
      *
-     * @param table2   The table to join with
-     * @param col2Name The column to join on. If col2Name refers to a double column, the join is performed after
-     *                 rounding to integers.
+     * @param table2    The table to join with
+     * @param col2Names The columns to join on, matched in order with the joiner's columns. If a column is a double
+     *                  column, the join is performed after rounding to integers.
      */
-    public Table inner(Table table2, String col2Name) {
-        return joinInternal(table2, col2Name, false);
+    public Table inner(Table table2, String... col2Names) {
+        return joinInternal(table2, col2Names, false);
     }
 
-    private Table joinInternal(Table table2, String col2Name, boolean outer) {
-        Table result = emptyTableFromColumns(table, table2, col2Name);
+    private Table joinInternal(Table table2, String[] col2Names, boolean outer) {
+        Column[] columns2 = columns(table2, col2Names);
+        JoinKeys keys = JoinKeys.of(columns, columns2);
+        if (columns.length == 1) {
+            IntToLongFunction sortedKeys = sortedKeys(columns[0]);
+            IntToLongFunction sortedKeys2 = sortedKeys(columns2[0]);
+            if (sortedKeys != null && sortedKeys2 != null) {
+                return result(table2, columns2, mergeJoin(sortedKeys, sortedKeys2, table2.rowCount(), outer));
+            }
+            if (columns[0] instanceof StringColumn) {
+                StringColumn strings2 = (StringColumn) columns2[0];
+                return result(table2, columns2, stringJoin((StringColumn) columns[0], strings2, outer));
+            }
+            IntFunction<RoaringBitmap> registered = (long) table.rowCount() * INDEX_JOIN_RATIO <= table2.rowCount()
+                    ? registeredIndex(table2, col2Names[0])
+                    : null;
+            if (registered != null) {
+                return result(table2, columns2, probeIndex(registered, outer));
+            }
+        }
+        RowPairs pairs = table.rowCount() + table2.rowCount() >= PartitionedHashJoin.PARALLEL_THRESHOLD
+                ? PartitionedHashJoin.join(keys, table.rowCount(), table2.rowCount(), outer)
+                : hashJoin(keys, table2.rowCount(), outer);
+        return result(table2, columns2, pairs);
+    }
+
+    /**
+     * Returns the join keys of the given column if they are known to be in ascending order, and otherwise null.
+     * Numbers are sorted with missing values last, so a number column only qualifies if it has none
+     */
+    private static IntToLongFunction sortedKeys(Column column) {
+        if (column instanceof DoubleColumn) {
+            DoubleColumn numbers = (DoubleColumn) column;
+            boolean sorted = numbers.isSortedAscending()
+                    && (numbers.isEmpty() || !numbers.isMissing(numbers.size() - 1));
+            return sorted ? numbers::getLong : null;
+        }
         if (column instanceof DateColumn) {
-            IntIndex index = new IntIndex(table2.dateColumn(col2Name));
-            DateColumn col1 = (DateColumn) column;
-            for (int i = 0; i < col1.size(); i++) {
-                int value = col1.getIntInternal(i);
-                Table table1Rows = table.where(Selection.with(i));
-                Table table2Rows = table2.where(index.get(value));
-                table2Rows.removeColumns(col2Name);
-                if (outer && table2Rows.isEmpty()) {
-                    withMissing(result, table1Rows, table2Rows);
-                } else {
-                    crossProduct(result, table1Rows, table2Rows);
-                }
+            DateColumn dates = (DateColumn) column;
+            return dates.isSortedAscending() ? dates::getIntInternal : null;
+        }
+        if (column instanceof DateTimeColumn) {
+            DateTimeColumn dateTimes = (DateTimeColumn) column;
+            return dateTimes.isSortedAscending() ? dateTimes::getLongInternal : null;
+        }
+        return null;
+    }
+
+    /**
+     * Joins two tables whose keys are in ascending order by walking them together, pairing each run of equal keys in
+     * the joiner's table with the run of the same key in table2. No hash table is built
+     */
+    private RowPairs mergeJoin(IntToLongFunction keys, IntToLongFunction keys2, int rowCount2, boolean outer) {
+        RowPairs pairs = new RowPairs();
+        int rowCount = table.rowCount();
+        int row = 0;
+        int row2 = 0;
+        while (row < rowCount) {
+            long key = keys.applyAsLong(row);
+            while (row2 < rowCount2 && keys2.applyAsLong(row2) < key) {
+                row2++;
+            }
+            int runEnd = row + 1;
+            while (runEnd < rowCount && keys.applyAsLong(runEnd) == key) {
+                runEnd++;
             }
-        } else if (column instanceof DateTimeColumn) {
-            LongIndex index = new LongIndex(table2.dateTimeColumn(col2Name));
-            DateTimeColumn col1 = (DateTimeColumn) column;
-            for (int i = 0; i < col1.size(); i++) {
-                long value = col1.getLongInternal(i);
-                Table table1Rows = table.where(Selection.with(i));
-                Table table2Rows = table2.where(index.get(value));
-                table2Rows.removeColumns(col2Name);
-                if (outer && table2Rows.isEmpty()) {
-                    withMissing(result, table1Rows, table2Rows);
-                } else {
-                    crossProduct(result, table1Rows, table2Rows);
+            int runEnd2 = row2;
+            while (runEnd2 < rowCount2 && keys2.applyAsLong(runEnd2) == key) {
+                runEnd2++;
+            }
+            for (; row < runEnd; row++) {
+                for (int match = row2; match < runEnd2; match++) {
+                    pairs.add(row, match);
+                }
+                if (outer && row2 == runEnd2) {
+                    pairs.add(row, RowPairs.NO_MATCH);
                 }
             }
-        } else if (column instanceof TimeColumn) {
-            IntIndex index = new IntIndex(table2.timeColumn(col2Name));
-            TimeColumn col1 = (TimeColumn) column;
-            for (int i = 0; i < col1.size(); i++) {
-                int value = col1.getIntInternal(i);
-                Table table1Rows = table.where(Selection.with(i));
-                Table table2Rows = table2.where(index.get(value));
-                table2Rows.removeColumns(col2Name);
-                if (outer && table2Rows.isEmpty()) {
-                    withMissing(result, table1Rows, table2Rows);
-                } else {
-                    crossProduct(result, table1Rows, table2Rows);
+            row2 = runEnd2;
+        }
+        return pairs;
+    }
+
+    /**
+     * Joins on a single string column by dictionary key. The rows of table2 are grouped by key, and each row of the
+     * joiner's table finds its group by looking up its own key in a translation between the two dictionaries, built
+     * by hashing each distinct string once
+     */
+    private RowPairs stringJoin(StringColumn column, StringColumn column2, boolean outer) {
+        int[] translation = column.dictionaryKeysIn(column2);
+        IntArrayList keys2 = column2.values();
+        int[] starts = new int[column2.dictionaryKeyLimit() + 1];
+        for (int row2 = 0; row2 < keys2.size(); row2++) {
+            starts[keys2.getInt(row2) + 1]++;
+        }
+        for (int key = 1; key < starts.length; key++) {
+            starts[key] += starts[key - 1];
+        }
+        int[] rows2 = new int[keys2.size()];
+        int[] positions = starts.clone();
+        for (int row2 = 0; row2 < keys2.size(); row2++) {
+            rows2[positions[keys2.getInt(row2)]++] = row2;
+        }
+        RowPairs pairs = new RowPairs();
+        IntArrayList keys = column.values();
+        for (int row = 0; row < keys.size(); row++) {
+            int key = translation[keys.getInt(row)];
+            if (key >= 0 && starts[key] < starts[key + 1]) {
+                for (int i = starts[key]; i < starts[key + 1]; i++) {
+                    pairs.add(row, rows2[i]);
                 }
+            } else if (outer) {
+                pairs.add(row, RowPairs.NO_MATCH);
             }
-        } else if (column instanceof StringColumn) {
-            CategoryIndex index = new CategoryIndex(table2.stringColumn(col2Name));
-            StringColumn col1 = (StringColumn) column;
-            for (int i = 0; i < col1.size(); i++) {
-                String value = col1.get(i);
-                Table table1Rows = table.where(Selection.with(i));
-                Table table2Rows = table2.where(index.get(value));
-                table2Rows.removeColumns(col2Name);
-                if (outer && table2Rows.isEmpty()) {
-                    withMissing(result, table1Rows, table2Rows);
-                } else {
-                    crossProduct(result, table1Rows, table2Rows);
+        }
+        return pairs;
+    }
+
+    private static Column[] columns(Table table2, String[] col2Names) {
+        Column[] columns2 = new Column[col2Names.length];
+        for (int i = 0; i < col2Names.length; i++) {
+            columns2[i] = table2.column(col2Names[i]);
+        }
+        return columns2;
+    }
+
+    /**
+     * Builds a hash table over the keys of table2, chaining its rows in order, and probes it with each row of the
+     * joiner's table
+     */
+    private RowPairs hashJoin(JoinKeys keys, int rowCount2, boolean outer) {
+        Long2IntOpenHashMap firstRows = new Long2IntOpenHashMap(rowCount2);
+        firstRows.defaultReturnValue(RowPairs.NO_MATCH);
+        int[] nextRows = new int[rowCount2];
+        for (int row = rowCount2 - 1; row >= 0; row--) {
+            nextRows[row] = firstRows.put(keys.rightKey(row), row);
+        }
+        RowPairs pairs = new RowPairs();
+        for (int row = 0; row < table.rowCount(); row++) {
+            int matches = pairs.size();
+            for (int row2 = firstRows.get(keys.leftKey(row)); row2 != RowPairs.NO_MATCH; row2 = nextRows[row2]) {
+                if (keys.matches(row, row2)) {
+                    pairs.add(row, row2);
                 }
             }
-        } else if (column instanceof DoubleColumn) {
-            LongIndex index = new LongIndex(table2.numberColumn(col2Name));
-            NumberColumn col1 = (NumberColumn) column;
-            for (int i = 0; i < col1.size(); i++) {
-                long value = col1.getLong(i);
-                Table table1Rows = table.where(Selection.with(i));
-                Table table2Rows = table2.where(index.get(value));
-                table2Rows.removeColumns(col2Name);
-                if (outer && table2Rows.isEmpty()) {
-                    withMissing(result, table1Rows, table2Rows);
-                } else {
-                    crossProduct(result, table1Rows, table2Rows);
+            if (outer && pairs.size() == matches) {
+                pairs.add(row, RowPairs.NO_MATCH);
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Joins by looking up each row of the joiner's table in an index over table2, walking the index's posting lists
+     * in place
+     */
+    private RowPairs probeIndex(IntFunction<RoaringBitmap> index, boolean outer) {
+        RowPairs pairs = new RowPairs();
+        for (int row = 0; row < table.rowCount(); row++) {
+            RoaringBitmap matches = index.apply(row);
+            if (matches == null) {
+                if (outer) {
+                    pairs.add(row, RowPairs.NO_MATCH);
                 }
+                continue;
             }
-        } else {
-            throw new IllegalArgumentException(
-                    "Joining is supported on numeric, string, and date-like columns. Column "
-                            + column.name() + " is of type " + column.type());
+            IntIterator rows2 = matches.getIntIterator();
+            while (rows2.hasNext()) {
+                pairs.add(row, rows2.next());
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Returns a function from each row of the joiner's table to the posting list of the matching rows of table2, or
+     * null when there are none, using the index table2 has registered for the named column; returns null if it has
+     * no index that suits the join. Number and string indexes are not used, as the hash joins do better on those keys
+     */
+    private IntFunction<RoaringBitmap> registeredIndex(Table table2, String col2Name) {
+        Index registered = table2.index(col2Name);
+        Column column = columns[0];
+        if (registered instanceof IntIndex && column instanceof DateColumn) {
+            return row -> ((IntIndex) registered).postings(((DateColumn) column).getIntInternal(row));
+        }
+        if (registered instanceof IntIndex && column instanceof TimeColumn) {
+            return row -> ((IntIndex) registered).postings(((TimeColumn) column).getIntInternal(row));
         }
+        if (registered instanceof LongIndex && column instanceof DateTimeColumn) {
+            return row -> ((LongIndex) registered).postings(((DateTimeColumn) column).getLongInternal(row));
+        }
+        return null;
+    }
 
+    /**
+     * Returns a table of the joined rows, with the columns of the joiner's table followed by those of table2 other
+     * than its join columns
+     */
+    private Table result(Table table2, Column[] columns2, RowPairs pairs) {
+        List<Column> keyColumns2 = Arrays.asList(columns2);
+        List<Column> otherColumns2 = table2.columns().stream()
+                .filter(c -> !keyColumns2.contains(c))
+                .collect(Collectors.toList());
+        Column[] cols = Streams.concat(table.columns().stream(), otherColumns2.stream())
+                .map(col -> col.emptyCopy(pairs.size()))
+                .toArray(Column[]::new);
+        Table result = Table.create(table.name(), cols);
+        pairs.appendTo(result, table.columns(), otherColumns2);
         return result;
     }
 
     /**
-     * Joins the joiner to the table2, using the given column for the second table and returns the resulting table
+     * Joins the joiner to the table2, using the given columns for the second table and returns the resulting table
      *
-     * @param table2   The table to join with
-     * @param col2Name The column to join on. If col2Name refers to a double column, the join is performed after
-     *                 rounding to integers.
+     * @param table2    The table to join with
+     * @param col2Names The columns to join on, matched in order with the joiner's columns. If a column is a double
+     *                  column, the join is performed after rounding to integers.
      */
-    public Table leftOuter(Table table2, String col2Name) {
-        return joinInternal(table2, col2Name, true);
+    public Table leftOuter(Table table2, String... col2Names) {
+        return joinInternal(table2, col2Names, true);
     }
 
     /**
-     * Joins the joiner to the table2, using the given column for the second table and returns the resulting table
+     * Joins the joiner to the table2, using the given columns for the second table and returns the resulting table
      *
-     * @param table2   The table to join with
-     * @param col2Name The column to join on. If col2Name refers to a double column, the join is performed after
-     *                 rounding to integers.
+     * @param table2    The table to join with
+     * @param col2Names The columns to join on, matched in order with the joiner's columns. If a column is a double
+     *                  column, the join is performed after rounding to integers.
      */
-    public Table rightOuter(Table table2, String col2Name) {
-        Table leftOuter = table2.join(col2Name).leftOuter(table, column.name());
+    public Table rightOuter(Table table2, String... col2Names) {
+        String[] colNames = Arrays.stream(columns).map(Column::name).toArray(String[]::new);
+        Table leftOuter = table2.join(col2Names).leftOuter(table, colNames);
 
         // reverse the columns
         Table result = Table.create(leftOuter.name());
@@ -150,40 +305,141 @@ public class DataFrameJoiner {
         return result;
     }
 
-    private Table emptyTableFromColumns(Table table1, Table table2, String col2Name) {
-        Column[] cols = Streams.concat(
-                table1.columns().stream(),
-                table2.columns().stream().filter(c -> !c.name().equals(col2Name))
-        ).map(col -> col.emptyCopy(col.size())).toArray(Column[]::new);
-        return Table.create(table1.name(), cols);
+    /**
+     * Pairs each row of the joiner's table with the latest row of table2 at or before its timestamp. The joiner's
+     * column and col2Name must both be date-time columns. Rows without such a row are kept, with missing values
+     */
+    public Table asOf(Table table2, String col2Name) {
+        return asOf(table2, col2Name, AsOfOptions.builder().build());
     }
 
-    private void crossProduct(Table destination, Table table1, Table table2) {
-        for (int c = 0; c < table1.columnCount() + table2.columnCount(); c++) {
-            for (int r1 = 0; r1 < table1.rowCount(); r1++) {
-                for (int r2 = 0; r2 < table2.rowCount(); r2++) {
-                    if (c < table1.columnCount()) {
-                        destination.column(c).appendCell(table1.getUnformatted(r1, c));
-                    } else {
-                        destination.column(c).appendCell(table2.getUnformatted(r2, c - table1.columnCount()));
-                    }
-                }
-            }
+    /**
+     * Pairs each row of the joiner's table with the row of table2 nearest in time as described by the options, such
+     * as the latest row at or before its timestamp with the same symbol. The joiner's column and col2Name must both
+     * be date-time columns. Rows without a match are kept, with missing values
+     */
+    public Table asOf(Table table2, String col2Name, AsOfOptions options) {
+        Column column2 = table2.column(col2Name);
+        if (columns.length != 1 || !(columns[0] instanceof DateTimeColumn) || !(column2 instanceof DateTimeColumn)) {
+            throw new IllegalArgumentException("An as-of join needs a single date-time column on each side");
         }
+        String[] by = options.by();
+        Column[] byColumns = columns(table, by);
+        Column[] byColumns2 = columns(table2, by);
+        RowPairs pairs = AsOfJoin.join((DateTimeColumn) columns[0], byColumns,
+                (DateTimeColumn) column2, byColumns2, options);
+        Column[] excluded = Streams.concat(Stream.of(column2), Arrays.stream(byColumns2)).toArray(Column[]::new);
+        return result(table2, excluded, pairs);
+    }
+
+    /**
+     * Pairs each row of the joiner's table with every row of table2 whose interval, from the value in startColumn to
+     * that in endColumn with both ends included, contains the row's value. The joiner's column and the two interval
+     * columns must all be numbers, dates or date-times
+     *
+     * @param table2      The table of intervals
+     * @param startColumn The column holding the start of each interval
+     * @param endColumn   The column holding the end of each interval
+     */
+    public Table between(Table table2, String startColumn, String endColumn) {
+        return betweenInternal(table2, startColumn, endColumn, false);
+    }
+
+    /**
+     * Pairs each row of the joiner's table with every row of table2 whose interval contains the row's value, as in
+     * {@link #between(Table, String, String)}, keeping rows that no interval contains with missing values
+     */
+    public Table leftOuterBetween(Table table2, String startColumn, String endColumn) {
+        return betweenInternal(table2, startColumn, endColumn, true);
+    }
+
+    private Table betweenInternal(Table table2, String startColumn, String endColumn, boolean outer) {
+        Preconditions.checkArgument(columns.length == 1, "An interval join needs a single column to join on");
+        RowPairs pairs = IntervalJoin.join(columns[0], table2.column(startColumn), table2.column(endColumn), outer);
+        return result(table2, new Column[0], pairs);
     }
 
     /**
-     * Adds rows to destination for each row in table1, with the columns from table2 added as missing values in each
+     * Returns the rows of the joiner's table that have a match in table2, each once and without the columns of
+     * table2. These are the rows that an inner join would return, but no rows are paired
+     *
+     * @param table2    The table to match against
+     * @param col2Names The columns to join on, matched in order with the joiner's columns
      */
-    private void withMissing(Table destination, Table table1, Table table2) {
-        for (int c = 0; c < table1.columnCount() + table2.columnCount(); c++) {
-            for (int r1 = 0; r1 < table1.rowCount(); r1++) {
-                if (c < table1.columnCount()) {
-                    destination.column(c).appendCell(table1.getUnformatted(r1, c));
-                } else {
-                    destination.column(c).appendMissing();
+    public Table semi(Table table2, String... col2Names) {
+        return table.where(semiSelection(table2, col2Names));
+    }
+
+    /**
+     * Returns the rows of the joiner's table that have no match in table2
+     *
+     * @param table2    The table to match against
+     * @param col2Names The columns to join on, matched in order with the joiner's columns
+     */
+    public Table anti(Table table2, String... col2Names) {
+        return table.where(antiSelection(table2, col2Names));
+    }
+
+    /**
+     * Returns a selection of the rows of the joiner's table that have a match in table2
+     */
+    public Selection semiSelection(Table table2, String... col2Names) {
+        return selectMatches(table2, col2Names, true);
+    }
+
+    /**
+     * Returns a selection of the rows of the joiner's table that have no match in table2
+     */
+    public Selection antiSelection(Table table2, String... col2Names) {
+        return selectMatches(table2, col2Names, false);
+    }
+
+    private Selection selectMatches(Table table2, String[] col2Names, boolean matched) {
+        Column[] columns2 = columns(table2, col2Names);
+        JoinKeys keys = JoinKeys.of(columns, columns2);
+        if (columns.length == 1 && columns[0] instanceof StringColumn) {
+            return selectMatches((StringColumn) columns[0], (StringColumn) columns2[0], matched);
+        }
+        int rowCount2 = table2.rowCount();
+        if (keys.isPacked()) {
+            LongOpenHashSet keys2 = new LongOpenHashSet(rowCount2);
+            for (int row2 = 0; row2 < rowCount2; row2++) {
+                keys2.add(keys.rightKey(row2));
+            }
+            return SelectionBuilder.select(0, table.rowCount(), row -> keys2.contains(keys.leftKey(row)) == matched);
+        }
+        Long2IntOpenHashMap firstRows = new Long2IntOpenHashMap(rowCount2);
+        firstRows.defaultReturnValue(RowPairs.NO_MATCH);
+        int[] nextRows = new int[rowCount2];
+        for (int row2 = rowCount2 - 1; row2 >= 0; row2--) {
+            nextRows[row2] = firstRows.put(keys.rightKey(row2), row2);
+        }
+        return SelectionBuilder.select(0, table.rowCount(), row -> {
+            for (int row2 = firstRows.get(keys.leftKey(row)); row2 != RowPairs.NO_MATCH; row2 = nextRows[row2]) {
+                if (keys.matches(row, row2)) {
+                    return matched;
                 }
             }
+            return !matched;
+        });
+    }
+
+    /**
+     * Matches string keys by dictionary key: each string in the joiner's dictionary is looked up once in that of
+     * table2, and the rows are then tested by key
+     */
+    private static Selection selectMatches(StringColumn column, StringColumn column2, boolean matched) {
+        int[] translation = column.dictionaryKeysIn(column2);
+        boolean[] present = new boolean[column2.dictionaryKeyLimit()];
+        IntArrayList keys2 = column2.values();
+        for (int i = 0; i < keys2.size(); i++) {
+            present[keys2.getInt(i)] = true;
+        }
+        boolean[] selected = new boolean[translation.length];
+        for (int key = 0; key < translation.length; key++) {
+            selected[key] = (translation[key] >= 0 && present[translation[key]]) == matched;
         }
+        IntArrayList keys = column.values();
+        return SelectionBuilder.select(keys.elements(), keys.size(), key -> selected[key]);
     }
 }
@@ -0,0 +1,568 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.joining;
+
+import com.google.common.base.Preconditions;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.NumberColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.selection.Selection;
+import tech.tablesaw.sorting.ExternalSort;
+import tech.tablesaw.sorting.RunFile;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntToLongFunction;
+
+/**
+ * A join for inputs too large to hold in memory together.
+ * <p>
+ * The rows of both sides are added in batches and split into partitions on a hash of their keys; the partitions are
+ * buffered in memory up to the budget and then spilled to temporary files. When all rows have been added, each pair
+ * of partitions with the same hash is read back and joined in memory, one pair at a time. A partition whose right-hand
+ * side is still too large for the budget is split again on other bits of the hash before it is joined:
+ * <p>
+ * try (GraceHashJoin join = GraceHashJoin.builder(new String[]{"Id"}, new String[]{"Id"})
+ * .memoryBudget(1 << 28).tempDirectory(dir).build()) {
+ * join.addLeft(orders); join.addRight(customers);
+ * join.inner().forEachRemaining(...);
+ * }
+ * <p>
+ * The joined rows are returned a partition at a time, so their order is that of the partitions rather than of the
+ * inputs. Keys are matched as by {@link DataFrameJoiner}. Closing the join closes and deletes any temporary files,
+ * whether or not the join was run.
+ */
+public final class GraceHashJoin implements Closeable {
+
+    /**
+     * The default memory budget, in bytes
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    /**
+     * The default number of partitions each side is split into
+     */
+    public static final int DEFAULT_PARTITIONS = 64;
+
+    private static final int ROW_GROUP_SIZE = 1 << 13;
+    private static final int MAX_LEVELS = 4;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final String[] leftNames;
+    private final String[] rightNames;
+    private final long memoryBudget;
+    private final File tempDirectory;
+    private final int partitionCount;
+
+    private final List<File> files = new ArrayList<>();
+    private final Side left;
+    private final Side right;
+    private boolean joining;
+
+    private GraceHashJoin(Builder builder) {
+        this.leftNames = builder.leftNames;
+        this.rightNames = builder.rightNames;
+        this.memoryBudget = builder.memoryBudget;
+        this.tempDirectory = builder.tempDirectory;
+        this.partitionCount = builder.partitions;
+        this.left = new Side(leftNames);
+        this.right = new Side(rightNames);
+    }
+
+    /**
+     * Returns a builder for a join of the given left-hand columns to the given right-hand columns
+     */
+    public static Builder builder(String[] leftNames, String[] rightNames) {
+        Preconditions.checkArgument(leftNames.length > 0 && leftNames.length == rightNames.length,
+                "A join needs the same number of key columns on each side");
+        return new Builder(leftNames, rightNames);
+    }
+
+    /**
+     * Adds rows to the left-hand side. Every batch must have the same columns as the first
+     */
+    public void addLeft(Table batch) throws IOException {
+        Preconditions.checkState(!joining, "Rows cannot be added once the join has started");
+        left.add(batch);
+    }
+
+    /**
+     * Adds rows to the right-hand side. Every batch must have the same columns as the first
+     */
+    public void addRight(Table batch) throws IOException {
+        Preconditions.checkState(!joining, "Rows cannot be added once the join has started");
+        right.add(batch);
+    }
+
+    /**
+     * Returns the rows of the inner join as a sequence of tables, one per partition that has matches
+     */
+    public Iterator<Table> inner() throws IOException {
+        return join(false);
+    }
+
+    /**
+     * Returns the rows of the left outer join as a sequence of tables
+     */
+    public Iterator<Table> leftOuter() throws IOException {
+        return join(true);
+    }
+
+    /**
+     * Returns the number of partition files written so far, including those of partitions split again
+     */
+    public int spillCount() {
+        return files.size();
+    }
+
+    /**
+     * Closes any partition files still being written, which is the case if the join was never started or failed part
+     * way through, and deletes the temporary files holding the partitions. The files are deleted even if closing one
+     * fails, in which case the first failure is thrown afterwards
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = right.closeWriters(left.closeWriters(null));
+        for (File file : files) {
+            Files.deleteIfExists(file.toPath());
+        }
+        files.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Iterator<Table> join(boolean outer) throws IOException {
+        Preconditions.checkState(!joining, "The join has already been started");
+        Preconditions.checkState(left.schema != null && right.schema != null,
+                "Rows must be added to both sides before they are joined");
+        joining = true;
+        Deque<Partition> pending = new ArrayDeque<>();
+        for (int p = 0; p < partitionCount; p++) {
+            pending.add(new Partition(left.finish(p), right.finish(p), right.rowCounts[p], 1));
+        }
+        return new Joined(pending, outer);
+    }
+
+    /**
+     * Returns the partition of the given row among the given number of partitions, using the bits of the key's hash
+     * for the given level of partitioning
+     */
+    private static int partition(IntToLongFunction[] keys, int row, int level, int partitions) {
+        long hash = level;
+        for (IntToLongFunction key : keys) {
+            hash = (hash + key.applyAsLong(row)) * HASH_MULTIPLIER;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) ((hash >>> 1) % partitions);
+    }
+
+    /**
+     * Returns a hashable value of each row of a key column that is the same for equal keys on either side: strings by
+     * their hash code, and numbers rounded as in other joins
+     */
+    private static IntToLongFunction[] keys(Table table, String[] names) {
+        IntToLongFunction[] keys = new IntToLongFunction[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Column column = table.column(names[i]);
+            switch (column.type()) {
+                case NUMBER:
+                    keys[i] = ((NumberColumn) column)::getLong;
+                    break;
+                case LOCAL_DATE:
+                    keys[i] = ((DateColumn) column)::getIntInternal;
+                    break;
+                case LOCAL_TIME:
+                    keys[i] = ((TimeColumn) column)::getIntInternal;
+                    break;
+                case LOCAL_DATE_TIME:
+                    keys[i] = ((DateTimeColumn) column)::getLongInternal;
+                    break;
+                case STRING:
+                    StringColumn strings = (StringColumn) column;
+                    keys[i] = row -> strings.get(row).hashCode();
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            "Joining is supported on numeric, string, and date-like columns. Column "
+                                    + column.name() + " is of type " + column.type());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Splits a table into the given number of tables on the hash of its keys at the given level
+     */
+    private static Table[] split(Table table, String[] names, int level, int partitions) {
+        IntToLongFunction[] keys = keys(table, names);
+        int[][] rows = new int[partitions][];
+        int[] counts = new int[partitions];
+        int[] partitionOf = new int[table.rowCount()];
+        for (int row = 0; row < table.rowCount(); row++) {
+            partitionOf[row] = partition(keys, row, level, partitions);
+            counts[partitionOf[row]]++;
+        }
+        for (int p = 0; p < partitions; p++) {
+            rows[p] = new int[counts[p]];
+            counts[p] = 0;
+        }
+        for (int row = 0; row < table.rowCount(); row++) {
+            int p = partitionOf[row];
+            rows[p][counts[p]++] = row;
+        }
+        Table[] parts = new Table[partitions];
+        for (int p = 0; p < partitions; p++) {
+            parts[p] = table.where(Selection.with(rows[p]));
+        }
+        return parts;
+    }
+
+    private File newFile() throws IOException {
+        File file = File.createTempFile("tablesaw-join-", ".run", tempDirectory);
+        files.add(file);
+        return file;
+    }
+
+    private static Table read(File file, Table schema) throws IOException {
+        Table table = schema.emptyCopy();
+        try (RunFile.Reader reader = new RunFile.Reader(file, schema)) {
+            for (Table group = reader.next(); group != null; group = reader.next()) {
+                table.append(group);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * One side of the join: the rows of each partition buffered in memory, and the files they have been spilled to
+     */
+    private final class Side {
+
+        private final String[] names;
+        private Table schema;
+        private Table[] buffers;
+        private RunFile.Writer[] writers;
+        private File[] spilled;
+        private long[] rowCounts;
+        private long bufferedRows;
+        private long rowBytes;
+
+        private Side(String[] names) {
+            this.names = names;
+        }
+
+        private void add(Table batch) throws IOException {
+            if (schema == null) {
+                schema = batch.emptyCopy();
+                buffers = new Table[partitionCount];
+                for (int p = 0; p < partitionCount; p++) {
+                    buffers[p] = schema.emptyCopy();
+                }
+                writers = new RunFile.Writer[partitionCount];
+                spilled = new File[partitionCount];
+                rowCounts = new long[partitionCount];
+            }
+            // string dictionaries count too, so that distinct strings are not buffered past the budget
+            rowBytes = Math.max(rowBytes, ExternalSort.estimatedRowBytes(batch));
+            Table[] parts = split(batch, names, 0, partitionCount);
+            for (int p = 0; p < partitionCount; p++) {
+                buffers[p].append(parts[p]);
+                rowCounts[p] += parts[p].rowCount();
+            }
+            bufferedRows += batch.rowCount();
+            if (2 * bufferedRows * rowBytes > memoryBudget) {
+                spill();
+            }
+        }
+
+        private void spill() throws IOException {
+            for (int p = 0; p < partitionCount; p++) {
+                if (buffers[p].rowCount() == 0) {
+                    continue;
+                }
+                if (writers[p] == null) {
+                    spilled[p] = newFile();
+                    writers[p] = new RunFile.Writer(spilled[p]);
+                }
+                writers[p].write(buffers[p], ROW_GROUP_SIZE);
+                buffers[p] = schema.emptyCopy();
+            }
+            bufferedRows = 0;
+        }
+
+        /**
+         * Returns the rows of the given partition, in memory if none have been spilled and otherwise in a file
+         */
+        private Source finish(int partition) throws IOException {
+            if (spilled[partition] == null) {
+                return new Source(buffers[partition], null);
+            }
+            RunFile.Writer writer = writers[partition];
+            writers[partition] = null;
+            try {
+                writer.write(buffers[partition], ROW_GROUP_SIZE);
+            } finally {
+                writer.close();
+            }
+            buffers[partition] = null;
+            return new Source(null, spilled[partition]);
+        }
+
+        /**
+         * Closes the writers of the partitions spilled but not yet finished. Returns the given failure, if any, or else
+         * the first failure to close a writer, with any later ones suppressed in it
+         */
+        private IOException closeWriters(IOException failure) {
+            if (writers == null) {
+                return failure;
+            }
+            for (int p = 0; p < partitionCount; p++) {
+                if (writers[p] == null) {
+                    continue;
+                }
+                try {
+                    writers[p].close();
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+                writers[p] = null;
+            }
+            return failure;
+        }
+    }
+
+    /**
+     * The rows of one side of a partition: a table, or a file to read them from
+     */
+    private static final class Source {
+
+        private final Table table;
+        private final File file;
+
+        private Source(Table table, File file) {
+            this.table = table;
+            this.file = file;
+        }
+
+        private Table read(Table schema) throws IOException {
+            if (table != null) {
+                return table;
+            }
+            Table rows = GraceHashJoin.read(file, schema);
+            Files.deleteIfExists(file.toPath());
+            return rows;
+        }
+    }
+
+    private static final class Partition {
+
+        private final Source left;
+        private final Source right;
+        private final long rightRows;
+        private final int level;
+
+        private Partition(Source left, Source right, long rightRows, int level) {
+            this.left = left;
+            this.right = right;
+            this.rightRows = rightRows;
+            this.level = level;
+        }
+    }
+
+    /**
+     * Joins the partitions one pair at a time, splitting again those too large for the budget
+     */
+    private final class Joined implements Iterator<Table> {
+
+        private final Deque<Partition> pending;
+        private final boolean outer;
+        private Table next;
+
+        private Joined(Deque<Partition> pending, boolean outer) {
+            this.pending = pending;
+            this.outer = outer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && !pending.isEmpty()) {
+                    next = join(pending.poll());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return next != null;
+        }
+
+        @Override
+        public Table next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Table result = next;
+            next = null;
+            return result;
+        }
+
+        /**
+         * Returns the joined rows of the partition, or null if there are none
+         */
+        private Table join(Partition partition) throws IOException {
+            if (2 * partition.rightRows * right.rowBytes > memoryBudget && partition.level < MAX_LEVELS) {
+                repartition(partition);
+                return null;
+            }
+            Table leftRows = partition.left.read(left.schema);
+            Table rightRows = partition.right.read(right.schema);
+            if (leftRows.rowCount() == 0 || (!outer && rightRows.rowCount() == 0)) {
+                return null;
+            }
+            DataFrameJoiner joiner = leftRows.join(leftNames);
+            Table joined = outer ? joiner.leftOuter(rightRows, rightNames) : joiner.inner(rightRows, rightNames);
+            return joined.rowCount() == 0 ? null : joined;
+        }
+
+        /**
+         * Splits both sides of a partition again on other bits of the hash, and queues the new partitions to be
+         * joined next
+         */
+        private void repartition(Partition partition) throws IOException {
+            Source[] lefts = split(partition.left, left.schema, leftNames, partition.level);
+            long[] rightRows = new long[partitionCount];
+            Source[] rights = split(partition.right, right.schema, rightNames, partition.level, rightRows);
+            for (int p = partitionCount - 1; p >= 0; p--) {
+                pending.addFirst(new Partition(lefts[p], rights[p], rightRows[p], partition.level + 1));
+            }
+        }
+
+        private Source[] split(Source source, Table schema, String[] names, int level) throws IOException {
+            return split(source, schema, names, level, new long[partitionCount]);
+        }
+
+        /**
+         * Streams the rows of a source into new files, one per partition, counting the rows of each
+         */
+        private Source[] split(Source source, Table schema, String[] names, int level, long[] rowCounts)
+                throws IOException {
+            File[] parts = new File[partitionCount];
+            RunFile.Writer[] writers = new RunFile.Writer[partitionCount];
+            try {
+                for (int p = 0; p < partitionCount; p++) {
+                    parts[p] = newFile();
+                    writers[p] = new RunFile.Writer(parts[p]);
+                }
+                if (source.table != null) {
+                    write(source.table, names, level, writers, rowCounts);
+                } else {
+                    try (RunFile.Reader reader = new RunFile.Reader(source.file, schema)) {
+                        for (Table group = reader.next(); group != null; group = reader.next()) {
+                            write(group, names, level, writers, rowCounts);
+                        }
+                    }
+                    Files.deleteIfExists(source.file.toPath());
+                }
+            } finally {
+                for (RunFile.Writer writer : writers) {
+                    if (writer != null) {
+                        writer.close();
+                    }
+                }
+            }
+            Source[] sources = new Source[partitionCount];
+            for (int p = 0; p < partitionCount; p++) {
+                sources[p] = new Source(null, parts[p]);
+            }
+            return sources;
+        }
+
+        private void write(Table rows, String[] names, int level, RunFile.Writer[] writers, long[] rowCounts)
+                throws IOException {
+            Table[] parts = GraceHashJoin.split(rows, names, level, partitionCount);
+            for (int p = 0; p < partitionCount; p++) {
+                writers[p].write(parts[p], ROW_GROUP_SIZE);
+                rowCounts[p] += parts[p].rowCount();
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private final String[] leftNames;
+        private final String[] rightNames;
+        private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+        private File tempDirectory;
+        private int partitions = DEFAULT_PARTITIONS;
+
+        private Builder(String[] leftNames, String[] rightNames) {
+            this.leftNames = leftNames.clone();
+            this.rightNames = rightNames.clone();
+        }
+
+        /**
+         * Sets the approximate number of bytes of rows to hold in memory, both while partitioning and when joining
+         * a pair of partitions
+         */
+        public Builder memoryBudget(long bytes) {
+            Preconditions.checkArgument(bytes > 0, "The memory budget must be positive");
+            this.memoryBudget = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the directory for the spilled partitions; by default the system temporary directory is used
+         */
+        public Builder tempDirectory(File directory) {
+            this.tempDirectory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the number of partitions each side is split into, and each partition split into when it is too large
+         */
+        public Builder partitions(int partitions) {
+            Preconditions.checkArgument(partitions > 1, "There must be at least two partitions");
+            this.partitions = partitions;
+            return this;
+        }
+
+        public GraceHashJoin build() {
+            return new GraceHashJoin(this);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.NumberColumn;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.ZoneMap;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Pairs each value with the intervals of another table that contain it, both ends included.
+ * <p>
+ * The values and the intervals are sorted, by value and by start, and swept together. Intervals are added to an
+ * active list as the sweep passes their start, and dropped from it as it passes their end, so every interval in the
+ * list when a value is reached contains it. The work is O(n log n + m log m) plus the size of the output
+ */
+final class IntervalJoin {
+
+    // Don't instantiate
+    private IntervalJoin() {
+    }
+
+    /**
+     * Returns the pairs of a row of the values column and a row of the interval columns that contains its value,
+     * ordered by value row and then interval row, and in an outer join a pair with no interval for each value that
+     * no interval contains. Missing values, and intervals with a missing end or that end before they start, match
+     * nothing
+     *
+     * @throws IllegalArgumentException if the columns are not all numbers, all dates or all date-times
+     */
+    static RowPairs join(Column values, Column starts, Column ends, boolean outer) {
+        if (values.type() != starts.type() || values.type() != ends.type()) {
+            throw new IllegalArgumentException("Column " + values.name() + " of type " + values.type()
+                    + " cannot be joined to intervals of types " + starts.type() + " and " + ends.type());
+        }
+        IntToLongFunction valueKeys = keys(values);
+        IntToLongFunction startKeys = keys(starts);
+        IntToLongFunction endKeys = keys(ends);
+
+        long[] valueKey = new long[values.size()];
+        int[] valueRows = new int[values.size()];
+        int valueCount = 0;
+        for (int row = 0; row < values.size(); row++) {
+            if (!values.isMissing(row)) {
+                valueKey[row] = valueKeys.applyAsLong(row);
+                valueRows[valueCount++] = row;
+            }
+        }
+        IntArrays.parallelQuickSort(valueRows, 0, valueCount,
+                (r1, r2) -> Long.compare(valueKey[r1], valueKey[r2]));
+
+        int intervalCount = starts.size();
+        long[] startKey = new long[intervalCount];
+        long[] endKey = new long[intervalCount];
+        int[] intervalRows = new int[intervalCount];
+        int validCount = 0;
+        for (int row = 0; row < intervalCount; row++) {
+            if (!starts.isMissing(row) && !ends.isMissing(row)) {
+                startKey[row] = startKeys.applyAsLong(row);
+                endKey[row] = endKeys.applyAsLong(row);
+                if (startKey[row] <= endKey[row]) {
+                    intervalRows[validCount++] = row;
+                }
+            }
+        }
+        IntArrays.parallelQuickSort(intervalRows, 0, validCount,
+                (r1, r2) -> Long.compare(startKey[r1], startKey[r2]));
+
+        int[] matchCounts = new int[values.size()];
+        RowPairs matches = new RowPairs();
+        IntArrayList active = new IntArrayList();
+        int nextInterval = 0;
+        for (int i = 0; i < valueCount; i++) {
+            int row = valueRows[i];
+            long key = valueKey[row];
+            while (nextInterval < validCount && startKey[intervalRows[nextInterval]] <= key) {
+                active.add(intervalRows[nextInterval++]);
+            }
+            int kept = 0;
+            for (int j = 0; j < active.size(); j++) {
+                int interval = active.getInt(j);
+                if (endKey[interval] >= key) {
+                    active.set(kept++, interval);
+                    matches.add(row, interval);
+                }
+            }
+            active.size(kept);
+            matchCounts[row] = kept;
+        }
+        return inRowOrder(matches, matchCounts, outer);
+    }
+
+    /**
+     * Orders the pairs by value row, and within each value row by interval row
+     */
+    private static RowPairs inRowOrder(RowPairs matches, int[] matchCounts, boolean outer) {
+        int[] offsets = new int[matchCounts.length + 1];
+        for (int row = 0; row < matchCounts.length; row++) {
+            int count = outer ? Math.max(1, matchCounts[row]) : matchCounts[row];
+            offsets[row + 1] = offsets[row] + count;
+        }
+        int[] leftRows = new int[offsets[matchCounts.length]];
+        int[] rightRows = new int[leftRows.length];
+        int[] positions = offsets.clone();
+        for (int i = 0; i < matches.size(); i++) {
+            int row = matches.leftRow(i);
+            leftRows[positions[row]] = row;
+            rightRows[positions[row]++] = matches.rightRow(i);
+        }
+        for (int row = 0; row < matchCounts.length; row++) {
+            if (matchCounts[row] == 0 && outer) {
+                leftRows[offsets[row]] = row;
+                rightRows[offsets[row]] = RowPairs.NO_MATCH;
+            } else if (matchCounts[row] > 1) {
+                IntArrays.quickSort(rightRows, offsets[row], offsets[row + 1]);
+            }
+        }
+        return RowPairs.of(leftRows, rightRows);
+    }
+
+    /**
+     * Returns the values of the column as longs in the same order as the values
+     */
+    private static IntToLongFunction keys(Column column) {
+        switch (column.type()) {
+            case NUMBER:
+                NumberColumn numbers = (NumberColumn) column;
+                return row -> ZoneMap.sortableBits(numbers.get(row));
+            case LOCAL_DATE:
+                return ((DateColumn) column)::getIntInternal;
+            case LOCAL_DATE_TIME:
+                return ((DateTimeColumn) column)::getLongInternal;
+            default:
+                throw new IllegalArgumentException("Interval joins are supported on numeric, date and date-time "
+                        + "columns. Column " + column.name() + " is of type " + column.type());
+        }
+    }
+}
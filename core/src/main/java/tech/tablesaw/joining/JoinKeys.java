@@ -0,0 +1,171 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.NumberColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * The join key of each row on the two sides of a join, as a long.
+ * <p>
+ * When the key columns together fit in 64 bits (a date and a time, say) their values are packed into the long, and
+ * rows whose longs are equal have equal keys. Otherwise the long is a hash of the key columns, and rows with equal
+ * hashes must be confirmed with {@link #matches(int, int)}. Numbers are rounded to integers, as in single-column joins.
+ * <p>
+ * Strings are keyed by their keys in the right-hand column's dictionary: each string in the left-hand dictionary is
+ * looked up there once, so no string is hashed or compared per row, and a string column takes only as many bits as
+ * the right-hand dictionary needs
+ */
+final class JoinKeys {
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final Part[] left;
+    private final Part[] right;
+    private final boolean packed;
+
+    private JoinKeys(Part[] left, Part[] right, boolean packed) {
+        this.left = left;
+        this.right = right;
+        this.packed = packed;
+    }
+
+    /**
+     * Returns the keys for joining rows of the given left columns to rows of the given right columns
+     *
+     * @throws IllegalArgumentException if the columns differ in number or type, or a column cannot be joined on
+     */
+    static JoinKeys of(Column[] leftColumns, Column[] rightColumns) {
+        if (leftColumns.length != rightColumns.length || leftColumns.length == 0) {
+            throw new IllegalArgumentException("A join needs the same number of key columns on each side, but found "
+                    + leftColumns.length + " and " + rightColumns.length);
+        }
+        Part[] left = new Part[leftColumns.length];
+        Part[] right = new Part[rightColumns.length];
+        int bits = 0;
+        for (int i = 0; i < leftColumns.length; i++) {
+            if (leftColumns[i].type() != rightColumns[i].type()) {
+                throw new IllegalArgumentException("Cannot join column " + leftColumns[i].name() + " of type "
+                        + leftColumns[i].type() + " to column " + rightColumns[i].name() + " of type "
+                        + rightColumns[i].type());
+            }
+            if (leftColumns[i] instanceof StringColumn) {
+                StringColumn strings = (StringColumn) leftColumns[i];
+                StringColumn strings2 = (StringColumn) rightColumns[i];
+                int[] translation = strings.dictionaryKeysIn(strings2);
+                int noMatch = strings2.dictionaryKeyLimit();
+                int keyBits = Integer.SIZE - Integer.numberOfLeadingZeros(noMatch);
+                IntArrayList keys = strings.values();
+                IntArrayList keys2 = strings2.values();
+                left[i] = new Part(keyBits, row -> {
+                    int key = translation[keys.getInt(row)];
+                    return key < 0 ? noMatch : key;
+                });
+                right[i] = new Part(keyBits, keys2::getInt);
+            } else {
+                left[i] = part(leftColumns[i]);
+                right[i] = part(rightColumns[i]);
+            }
+            bits += left[i].bits;
+        }
+        return new JoinKeys(left, right, bits <= Long.SIZE);
+    }
+
+    private static Part part(Column column) {
+        switch (column.type()) {
+            case NUMBER:
+                return new Part(Long.SIZE, ((NumberColumn) column)::getLong);
+            case LOCAL_DATE:
+                return new Part(Integer.SIZE, ((DateColumn) column)::getIntInternal);
+            case LOCAL_TIME:
+                return new Part(Integer.SIZE, ((TimeColumn) column)::getIntInternal);
+            case LOCAL_DATE_TIME:
+                return new Part(Long.SIZE, ((DateTimeColumn) column)::getLongInternal);
+            default:
+                throw new IllegalArgumentException(
+                        "Joining is supported on numeric, string, and date-like columns. Column "
+                                + column.name() + " is of type " + column.type());
+        }
+    }
+
+    /**
+     * Returns true if equal keys are exact, rather than hashes that need to be confirmed
+     */
+    boolean isPacked() {
+        return packed;
+    }
+
+    long leftKey(int row) {
+        return key(left, row);
+    }
+
+    long rightKey(int row) {
+        return key(right, row);
+    }
+
+    /**
+     * Returns true if the given left and right rows have equal keys. Only needed for rows whose longs are equal, and
+     * always true for those when the keys are packed
+     */
+    boolean matches(int leftRow, int rightRow) {
+        if (packed) {
+            return true;
+        }
+        for (int i = 0; i < left.length; i++) {
+            if (left[i].values.applyAsLong(leftRow) != right[i].values.applyAsLong(rightRow)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long key(Part[] parts, int row) {
+        if (packed) {
+            long key = 0;
+            for (Part part : parts) {
+                long value = part.values.applyAsLong(row);
+                key = part.bits == Long.SIZE ? value : (key << part.bits) | (value & ((1L << part.bits) - 1));
+            }
+            return key;
+        }
+        long hash = 0;
+        for (Part part : parts) {
+            hash = (hash + part.values.applyAsLong(row)) * HASH_MULTIPLIER;
+        }
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * One key column: its width when packed, and its value in each row
+     */
+    private static final class Part {
+
+        private final int bits;
+        private final IntToLongFunction values;
+
+        private Part(int bits, IntToLongFunction values) {
+            this.bits = bits;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * A hash join that runs on all cores.
+ * <p>
+ * Both sides are split into partitions on the high bits of a hash of their keys, with enough partitions that the
+ * hash table for each partition of the right-hand side fits in cache. The partitions are then built and probed in
+ * parallel, each independently of the others, and their matches written to their place in the output, which is in the
+ * same order as that of the serial join: by left row, and then by right row
+ */
+final class PartitionedHashJoin {
+
+    /**
+     * The number of rows, on both sides together, at which joins are partitioned and run in parallel
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    private static final int PARTITION_ROWS = 1 << 12;
+    private static final int MAX_PARTITION_BITS = 14;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    // Don't instantiate
+    private PartitionedHashJoin() {
+    }
+
+    /**
+     * Returns the pairs of rows with matching keys, including a pair with no right row for each unmatched left row
+     * if the join is outer
+     */
+    static RowPairs join(JoinKeys keys, int rowCount, int rowCount2, boolean outer) {
+        long[] leftKeys = keys(rowCount, keys::leftKey);
+        long[] rightKeys = keys(rowCount2, keys::rightKey);
+        int bits = partitionBits(rowCount2);
+        Partitions left = new Partitions(leftKeys, bits);
+        Partitions right = new Partitions(rightKeys, bits);
+
+        int[] pairCounts = new int[rowCount];
+        RowPairs[] partitionPairs = new RowPairs[1 << bits];
+        IntStream.range(0, partitionPairs.length).parallel().forEach(p ->
+                partitionPairs[p] = joinPartition(keys, leftKeys, rightKeys, left, right, p, pairCounts, outer));
+
+        int[] offsets = new int[rowCount];
+        int total = 0;
+        for (int row = 0; row < rowCount; row++) {
+            offsets[row] = total;
+            total += pairCounts[row];
+        }
+        int[] leftRows = new int[total];
+        int[] rightRows = new int[total];
+        IntStream.range(0, partitionPairs.length).parallel().forEach(p -> {
+            RowPairs pairs = partitionPairs[p];
+            int position = 0;
+            int previous = -1;
+            for (int i = 0; i < pairs.size(); i++) {
+                int row = pairs.leftRow(i);
+                if (row != previous) {
+                    position = offsets[row];
+                    previous = row;
+                }
+                leftRows[position] = row;
+                rightRows[position++] = pairs.rightRow(i);
+            }
+        });
+        return RowPairs.of(leftRows, rightRows);
+    }
+
+    /**
+     * Joins one partition of each side, counting the pairs made for each left row
+     */
+    private static RowPairs joinPartition(JoinKeys keys, long[] leftKeys, long[] rightKeys, Partitions left,
+                                          Partitions right, int partition, int[] pairCounts, boolean outer) {
+        int start2 = right.starts[partition];
+        int end2 = right.starts[partition + 1];
+        Long2IntOpenHashMap firstRows = new Long2IntOpenHashMap(end2 - start2);
+        firstRows.defaultReturnValue(RowPairs.NO_MATCH);
+        int[] nextRows = new int[end2 - start2];
+        for (int i = end2 - 1; i >= start2; i--) {
+            nextRows[i - start2] = firstRows.put(rightKeys[right.rows[i]], i - start2);
+        }
+        RowPairs pairs = new RowPairs();
+        for (int i = left.starts[partition]; i < left.starts[partition + 1]; i++) {
+            int row = left.rows[i];
+            int matches = pairs.size();
+            for (int j = firstRows.get(leftKeys[row]); j != RowPairs.NO_MATCH; j = nextRows[j]) {
+                int row2 = right.rows[start2 + j];
+                if (keys.matches(row, row2)) {
+                    pairs.add(row, row2);
+                }
+            }
+            if (outer && pairs.size() == matches) {
+                pairs.add(row, RowPairs.NO_MATCH);
+            }
+            pairCounts[row] = pairs.size() - matches;
+        }
+        return pairs;
+    }
+
+    private static long[] keys(int rowCount, IntToLongFunction key) {
+        long[] keys = new long[rowCount];
+        IntStream.range(0, rowCount).parallel().forEach(row -> keys[row] = key.applyAsLong(row));
+        return keys;
+    }
+
+    /**
+     * Returns the number of hash bits to partition on: enough for partitions of about PARTITION_ROWS right-hand rows,
+     * and for several partitions per core
+     */
+    private static int partitionBits(int rowCount2) {
+        int forSize = 32 - Integer.numberOfLeadingZeros(Math.max(1, rowCount2 / PARTITION_ROWS) - 1);
+        int forCores = 32 - Integer.numberOfLeadingZeros(4 * ForkJoinPool.commonPool().getParallelism() - 1);
+        return Math.min(MAX_PARTITION_BITS, Math.max(forSize, forCores));
+    }
+
+    private static int partition(long key, int bits) {
+        return (int) ((key * HASH_MULTIPLIER) >>> (Long.SIZE - bits));
+    }
+
+    /**
+     * The rows of one side grouped by partition, in ascending order within each partition. Rows are counted and
+     * scattered a chunk per task
+     */
+    private static final class Partitions {
+
+        private final int[] rows;
+        private final int[] starts;
+
+        private Partitions(long[] keys, int bits) {
+            int partitions = 1 << bits;
+            int parallelism = ForkJoinPool.commonPool().getParallelism();
+            int chunks = Math.max(1, Math.min(keys.length / PARTITION_ROWS, 4 * parallelism));
+            int chunkSize = (keys.length + chunks - 1) / chunks;
+            int[][] counts = new int[chunks][partitions];
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int[] chunkCounts = counts[chunk];
+                for (int row = chunk * chunkSize; row < Math.min(keys.length, (chunk + 1) * chunkSize); row++) {
+                    chunkCounts[partition(keys[row], bits)]++;
+                }
+            });
+            this.starts = new int[partitions + 1];
+            int total = 0;
+            for (int p = 0; p < partitions; p++) {
+                starts[p] = total;
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    int count = counts[chunk][p];
+                    counts[chunk][p] = total;
+                    total += count;
+                }
+            }
+            starts[partitions] = total;
+            this.rows = new int[keys.length];
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int[] positions = counts[chunk];
+                for (int row = chunk * chunkSize; row < Math.min(keys.length, (chunk + 1) * chunkSize); row++) {
+                    rows[positions[partition(keys[row], bits)]++] = row;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.NumberColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The rows matched by a join, as pairs of a row in the left table and a row in the right table. A right row of -1
+ * marks a left row with no match in an outer join
+ */
+final class RowPairs {
+
+    static final int NO_MATCH = -1;
+
+    /**
+     * The number of pairs at which the output columns are copied in parallel
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final IntArrayList left;
+    private final IntArrayList right;
+
+    RowPairs() {
+        this(new IntArrayList(), new IntArrayList());
+    }
+
+    private RowPairs(IntArrayList left, IntArrayList right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * Returns the pairs held in the given arrays, which must be the same length
+     */
+    static RowPairs of(int[] leftRows, int[] rightRows) {
+        return new RowPairs(IntArrayList.wrap(leftRows), IntArrayList.wrap(rightRows));
+    }
+
+    void add(int leftRow, int rightRow) {
+        left.add(leftRow);
+        right.add(rightRow);
+    }
+
+    int size() {
+        return left.size();
+    }
+
+    int leftRow(int i) {
+        return left.getInt(i);
+    }
+
+    int rightRow(int i) {
+        return right.getInt(i);
+    }
+
+    /**
+     * Appends the joined rows to the given table, whose columns are the given left columns followed by the given
+     * right columns. Large results are copied a column per task, in parallel
+     */
+    void appendTo(Table result, List<Column> leftColumns, List<Column> rightColumns) {
+        int leftCount = leftColumns.size();
+        IntStream columns = IntStream.range(0, leftCount + rightColumns.size());
+        if (size() >= PARALLEL_THRESHOLD) {
+            columns = columns.parallel();
+        }
+        columns.forEach(c -> {
+            if (c < leftCount) {
+                gather(leftColumns.get(c), left.elements(), size(), result.column(c));
+            } else {
+                gather(rightColumns.get(c - leftCount), right.elements(), size(), result.column(c));
+            }
+        });
+    }
+
+    /**
+     * Appends the values of the source column in the given rows to the target column, or a missing value for rows of
+     * -1
+     */
+    static void gather(Column source, int[] rows, int size, Column target) {
+        switch (source.type()) {
+            case NUMBER:
+                NumberColumn numbers = (NumberColumn) source;
+                NumberColumn numberTarget = (NumberColumn) target;
+                for (int i = 0; i < size; i++) {
+                    numberTarget.append(rows[i] == NO_MATCH ? NumberColumn.MISSING_VALUE : numbers.get(rows[i]));
+                }
+                break;
+            case LOCAL_DATE:
+                DateColumn dates = (DateColumn) source;
+                DateColumn dateTarget = (DateColumn) target;
+                for (int i = 0; i < size; i++) {
+                    dateTarget.appendInternal(rows[i] == NO_MATCH
+                            ? DateColumn.MISSING_VALUE : dates.getIntInternal(rows[i]));
+                }
+                break;
+            case LOCAL_TIME:
+                TimeColumn times = (TimeColumn) source;
+                TimeColumn timeTarget = (TimeColumn) target;
+                for (int i = 0; i < size; i++) {
+                    timeTarget.appendInternal(rows[i] == NO_MATCH
+                            ? TimeColumn.MISSING_VALUE : times.getIntInternal(rows[i]));
+                }
+                break;
+            case LOCAL_DATE_TIME:
+                DateTimeColumn dateTimes = (DateTimeColumn) source;
+                DateTimeColumn dateTimeTarget = (DateTimeColumn) target;
+                for (int i = 0; i < size; i++) {
+                    dateTimeTarget.appendInternal(rows[i] == NO_MATCH
+                            ? DateTimeColumn.MISSING_VALUE : dateTimes.getLongInternal(rows[i]));
+                }
+                break;
+            case BOOLEAN:
+                BooleanColumn booleans = (BooleanColumn) source;
+                BooleanColumn booleanTarget = (BooleanColumn) target;
+                for (int i = 0; i < size; i++) {
+                    booleanTarget.append(rows[i] == NO_MATCH
+                            ? BooleanColumn.MISSING_VALUE : booleans.getByte(rows[i]));
+                }
+                break;
+            case STRING:
+                StringColumn strings = (StringColumn) source;
+                StringColumn stringTarget = (StringColumn) target;
+                for (int i = 0; i < size; i++) {
+                    stringTarget.append(rows[i] == NO_MATCH ? StringColumn.MISSING_VALUE : strings.get(rows[i]));
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unhandled column type in case statement");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.selection;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+
+/**
+ * Equality, hashing and printing shared by the selection implementations. Two selections are equal if they hold the
+ * same rows, whatever their representation
+ */
+public abstract class AbstractSelection implements Selection {
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Selection of size: " + size();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Selection)) return false;
+
+        Selection other = (Selection) o;
+        if (size() != other.size()) {
+            return false;
+        }
+        IntIterator it = iterator();
+        IntIterator otherIt = other.iterator();
+        while (it.hasNext()) {
+            if (it.nextInt() != otherIt.nextInt()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        IntIterator it = iterator();
+        while (it.hasNext()) {
+            result = 31 * result + it.nextInt();
+        }
+        return result;
+    }
+}
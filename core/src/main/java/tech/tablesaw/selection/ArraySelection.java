@@ -0,0 +1,224 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.selection;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+
+/**
+ * A selection held as a sorted array of rows, giving constant time positional access. Suited to selections of
+ * comparatively few rows.
+ * <p>
+ * Modifications merge sorted arrays, so they cost time proportional to the number of rows involved
+ */
+public class ArraySelection extends AbstractSelection {
+
+    private int[] rows;
+    private int size;
+
+    /**
+     * Returns a selection of the given rows, which must be sorted in ascending order without duplicates. The array is
+     * not copied
+     */
+    public ArraySelection(int[] sortedRows) {
+        this.rows = sortedRows;
+        this.size = sortedRows.length;
+    }
+
+    public ArraySelection() {
+        this(new int[0]);
+    }
+
+    @Override
+    public int[] toArray() {
+        return Arrays.copyOf(rows, size);
+    }
+
+    @Override
+    public RoaringBitmap toBitmapInternal() {
+        return RoaringBitmap.bitmapOf(toArray());
+    }
+
+    @Override
+    public Selection add(int... ints) {
+        int[] sorted = ints.clone();
+        Arrays.sort(sorted);
+        merge(sorted, sorted.length, true, true, true);
+        return this;
+    }
+
+    @Override
+    public Selection addRange(int start, int end) {
+        merge(range(start, end), Math.max(0, end - start), true, true, true);
+        return this;
+    }
+
+    @Override
+    public Selection removeRange(long start, long end) {
+        if (start >= end) {
+            return this;
+        }
+        int from = lowerBound(start);
+        int to = lowerBound(end);
+        System.arraycopy(rows, to, rows, from, size - to);
+        size -= to - from;
+        return this;
+    }
+
+    @Override
+    public Selection flip(int rangeStart, int rangeEnd) {
+        merge(range(rangeStart, rangeEnd), Math.max(0, rangeEnd - rangeStart), true, true, false);
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Selection and(Selection otherSelection) {
+        merge(otherSelection, false, false, true);
+        return this;
+    }
+
+    @Override
+    public Selection or(Selection otherSelection) {
+        merge(otherSelection, true, true, true);
+        return this;
+    }
+
+    @Override
+    public Selection andNot(Selection otherSelection) {
+        merge(otherSelection, true, false, false);
+        return this;
+    }
+
+    @Override
+    public Selection clear() {
+        size = 0;
+        return this;
+    }
+
+    @Override
+    public boolean contains(int i) {
+        return Arrays.binarySearch(rows, 0, size, i) >= 0;
+    }
+
+    @Override
+    public int get(int i) {
+        Preconditions.checkElementIndex(i, size);
+        return rows[i];
+    }
+
+    @Override
+    public IntIterator iterator() {
+
+        return new IntIterator() {
+
+            private int i = 0;
+
+            @Override
+            public int nextInt() {
+                return rows[i++];
+            }
+
+            @Override
+            public int skip(int k) {
+                throw new UnsupportedOperationException("Views do not support skipping in the iterator");
+            }
+
+            @Override
+            public boolean hasNext() {
+                return i < size;
+            }
+        };
+    }
+
+    /**
+     * Returns the position of the first row that is not less than the given value
+     */
+    private int lowerBound(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rows[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] range(int start, int end) {
+        int[] result = new int[Math.max(0, end - start)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = start + i;
+        }
+        return result;
+    }
+
+    private void merge(Selection other, boolean keepOnlyThis, boolean keepOnlyOther, boolean keepBoth) {
+        if (other instanceof ArraySelection) {
+            ArraySelection array = (ArraySelection) other;
+            merge(array.rows, array.size, keepOnlyThis, keepOnlyOther, keepBoth);
+        } else {
+            int[] otherRows = other.toArray();
+            merge(otherRows, otherRows.length, keepOnlyThis, keepOnlyOther, keepBoth);
+        }
+    }
+
+    /**
+     * Replaces the rows with those chosen from a merge against the given sorted rows, which may repeat values: rows
+     * found in only this selection, in only the other, or in both are kept according to the flags
+     */
+    private void merge(int[] other, int otherSize, boolean keepOnlyThis, boolean keepOnlyOther, boolean keepBoth) {
+        int[] result = new int[size + otherSize];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < otherSize) {
+            if (j > 0 && j < otherSize && other[j] == other[j - 1]) {
+                j++;
+                continue;
+            }
+            if (j == otherSize || (i < size && rows[i] < other[j])) {
+                if (keepOnlyThis) {
+                    result[n++] = rows[i];
+                }
+                i++;
+            } else if (i == size || other[j] < rows[i]) {
+                if (keepOnlyOther) {
+                    result[n++] = other[j];
+                }
+                j++;
+            } else {
+                if (keepBoth) {
+                    result[n++] = rows[i];
+                }
+                i++;
+                j++;
+            }
+        }
+        rows = result;
+        size = n;
+    }
+}
@@ -15,12 +15,21 @@
 package tech.tablesaw.selection;
 
 import it.unimi.dsi.fastutil.ints.IntIterator;
+import org.roaringbitmap.PeekableIntIterator;
 import org.roaringbitmap.RoaringBitmap;
 
-public class BitmapBackedSelection implements Selection {
+public class BitmapBackedSelection extends AbstractSelection {
+
+    /**
+     * The largest forward step that a cursor takes by advancing its cursor rather than by a fresh select
+     */
+    private static final int CURSOR_STEP_LIMIT = 64;
 
     private final RoaringBitmap bitmap;
 
+    // counts modifications, so that cursors can tell when their position is stale
+    private int modifications;
+
     /**
      * Returns a selection initialized from 0 to the given size, which cane be used for
      * queries that exclude certain items, by first selecting the items to exclude,
@@ -44,26 +53,24 @@ public class BitmapBackedSelection implements Selection {
     @Override
     public Selection removeRange(long start, long end) {
         this.bitmap.remove(start, end);
+        modifications++;
         return this;
     }
 
     @Override
     public Selection flip(int rangeStart, int rangeEnd) {
         this.bitmap.flip((long) rangeStart, rangeEnd);
+        modifications++;
         return this;
     }
 
     @Override
     public Selection add(int... ints) {
         bitmap.add(ints);
+        modifications++;
         return this;
     }
 
-    @Override
-    public String toString() {
-        return "Selection of size: " + bitmap.getCardinality();
-    }
-
     @Override
     public int size() {
         return bitmap.getCardinality();
@@ -85,6 +92,7 @@ public class BitmapBackedSelection implements Selection {
     @Override
     public Selection and(Selection otherSelection) {
         bitmap.and(otherSelection.toBitmapInternal());
+        modifications++;
         return this;
     }
 
@@ -94,23 +102,21 @@ public class BitmapBackedSelection implements Selection {
     @Override
     public Selection or(Selection otherSelection) {
         bitmap.or(otherSelection.toBitmapInternal());
+        modifications++;
         return this;
     }
 
     @Override
     public Selection andNot(Selection otherSelection) {
         bitmap.andNot(otherSelection.toBitmapInternal());
+        modifications++;
         return this;
     }
 
-    @Override
-    public boolean isEmpty() {
-        return size() == 0;
-    }
-
     @Override
     public Selection clear() {
         bitmap.clear();
+        modifications++;
         return this;
     }
 
@@ -128,6 +134,7 @@ public class BitmapBackedSelection implements Selection {
     @Override
     public Selection addRange(int start, int end) {
         bitmap.add((long) start, end);
+        modifications++;
         return this;
     }
 
@@ -136,19 +143,55 @@ public class BitmapBackedSelection implements Selection {
         return bitmap.select(i);
     }
 
+    /**
+     * Returns a cursor that answers calls with the same or slowly increasing positions, as when iterating a table
+     * slice, by stepping an iterator forward instead of searching the bitmap again
+     */
     @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+    public SelectionCursor cursor() {
+        return new SelectionCursor() {
 
-        BitmapBackedSelection integers = (BitmapBackedSelection) o;
+            // the position and row of the last call, and an iterator just past that row; valid while the selection
+            // is unmodified
+            private int cursorIndex = -1;
+            private int cursorRow;
+            private PeekableIntIterator iterator;
+            private int expectedModifications;
+
+            @Override
+            public int get(int i) {
+                if (cursorIndex >= 0 && i >= cursorIndex && i - cursorIndex <= CURSOR_STEP_LIMIT
+                        && expectedModifications == modifications) {
+                    while (cursorIndex < i && iterator.hasNext()) {
+                        cursorRow = iterator.next();
+                        cursorIndex++;
+                    }
+                    if (cursorIndex == i) {
+                        return cursorRow;
+                    }
+                }
+                cursorRow = bitmap.select(i);
+                cursorIndex = i;
+                expectedModifications = modifications;
+                iterator = bitmap.getIntIterator();
+                iterator.advanceIfNeeded(cursorRow);
+                iterator.next();
+                return cursorRow;
+            }
+        };
+    }
 
-        return bitmap.equals(integers.bitmap);
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof BitmapBackedSelection) {
+            return bitmap.equals(((BitmapBackedSelection) o).bitmap);
+        }
+        return super.equals(o);
     }
 
     @Override
     public int hashCode() {
-        return bitmap.hashCode();
+        return super.hashCode();
     }
 
     /**
@@ -0,0 +1,360 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.selection;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+
+/**
+ * A selection held as a plain bitset, one bit per row up to the highest selected row. Suited to selections that
+ * keep a large share of the rows they span.
+ * <p>
+ * Positional access through get() binary searches a directory holding the number of rows selected before each block
+ * of {@link #RANK_BLOCK_WORDS} words, built on first use after a modification, and then counts bits within the block.
+ * A {@link #cursor()} steps forward from its previous call a word at a time instead, so reading the rows in order
+ * through it costs about as much as iterating them
+ */
+public class DenseSelection extends AbstractSelection {
+
+    private static final int SET = 0;
+    private static final int CLEAR = 1;
+    private static final int FLIP = 2;
+
+    private static final int RANK_BLOCK_SHIFT = 3;
+    private static final int RANK_BLOCK_WORDS = 1 << RANK_BLOCK_SHIFT;
+
+    private long[] words;
+    private int cardinality;
+
+    // counts modifications, so that cursors can tell when their position is stale
+    private int modifications;
+
+    // ranks[b] is the number of rows selected in the words before block b, or null if not built since the last change
+    private volatile int[] ranks;
+
+    /**
+     * Returns an empty selection with room for rows up to, but not including, the given capacity
+     */
+    public DenseSelection(int capacity) {
+        this.words = new long[wordsFor(capacity)];
+    }
+
+    /**
+     * Returns a dense selection of the rows in the given bitmap
+     */
+    public static DenseSelection of(RoaringBitmap bitmap) {
+        DenseSelection selection = new DenseSelection(bitmap.isEmpty() ? 0 : bitmap.last() + 1);
+        long[] words = selection.words;
+        bitmap.forEach((int row) -> words[wordIndex(row)] |= 1L << row);
+        selection.cardinality = bitmap.getCardinality();
+        return selection;
+    }
+
+    private static int wordIndex(int row) {
+        return row >>> 6;
+    }
+
+    private static int wordsFor(int rowEnd) {
+        return (int) ((rowEnd + Long.SIZE - 1L) >>> 6);
+    }
+
+    private void ensureCapacity(int rowEnd) {
+        int length = wordsFor(rowEnd);
+        if (length > words.length) {
+            words = Arrays.copyOf(words, Math.max(length, 2 * words.length));
+        }
+    }
+
+    private void modified() {
+        modifications++;
+        ranks = null;
+    }
+
+    private int[] ranks() {
+        int[] directory = ranks;
+        if (directory == null) {
+            directory = new int[(words.length + RANK_BLOCK_WORDS - 1) >>> RANK_BLOCK_SHIFT];
+            int count = 0;
+            for (int w = 0; w < words.length; w++) {
+                if ((w & (RANK_BLOCK_WORDS - 1)) == 0) {
+                    directory[w >>> RANK_BLOCK_SHIFT] = count;
+                }
+                count += Long.bitCount(words[w]);
+            }
+            ranks = directory;
+        }
+        return directory;
+    }
+
+    private void recount() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        cardinality = count;
+        modified();
+    }
+
+    /**
+     * Sets, clears or flips the bits for the rows in [start, end)
+     */
+    private void updateRange(int start, int end, int op) {
+        if (start >= end) {
+            return;
+        }
+        int first = wordIndex(start);
+        int last = wordIndex(end - 1);
+        for (int w = first; w <= last; w++) {
+            long mask = -1L;
+            if (w == first) {
+                mask &= -1L << start;
+            }
+            if (w == last) {
+                mask &= -1L >>> -end;
+            }
+            if (op == SET) {
+                words[w] |= mask;
+            } else if (op == CLEAR) {
+                words[w] &= ~mask;
+            } else {
+                words[w] ^= mask;
+            }
+        }
+        recount();
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] result = new int[cardinality];
+        int i = 0;
+        for (IntIterator it = iterator(); it.hasNext(); ) {
+            result[i++] = it.nextInt();
+        }
+        return result;
+    }
+
+    @Override
+    public RoaringBitmap toBitmapInternal() {
+        SelectionBuilder builder = new SelectionBuilder();
+        for (int w = 0; w < words.length; w++) {
+            if (words[w] != 0) {
+                builder.addMask(w * Long.SIZE, words[w]);
+            }
+        }
+        return builder.buildBitmap();
+    }
+
+    @Override
+    public Selection add(int... ints) {
+        for (int i : ints) {
+            Preconditions.checkArgument(i >= 0, "Row %s is negative", i);
+            ensureCapacity(i + 1);
+            long bit = 1L << i;
+            if ((words[wordIndex(i)] & bit) == 0) {
+                words[wordIndex(i)] |= bit;
+                cardinality++;
+            }
+        }
+        modified();
+        return this;
+    }
+
+    @Override
+    public Selection addRange(int start, int end) {
+        ensureCapacity(end);
+        updateRange(start, end, SET);
+        return this;
+    }
+
+    @Override
+    public Selection removeRange(long start, long end) {
+        int limit = words.length * Long.SIZE;
+        updateRange((int) Math.max(0, Math.min(start, limit)), (int) Math.max(0, Math.min(end, limit)), CLEAR);
+        return this;
+    }
+
+    @Override
+    public Selection flip(int rangeStart, int rangeEnd) {
+        ensureCapacity(rangeEnd);
+        updateRange(rangeStart, rangeEnd, FLIP);
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return cardinality;
+    }
+
+    @Override
+    public Selection and(Selection otherSelection) {
+        long[] other = wordsOf(otherSelection);
+        for (int w = 0; w < words.length; w++) {
+            words[w] &= w < other.length ? other[w] : 0;
+        }
+        recount();
+        return this;
+    }
+
+    @Override
+    public Selection or(Selection otherSelection) {
+        long[] other = wordsOf(otherSelection);
+        if (other.length > words.length) {
+            words = Arrays.copyOf(words, other.length);
+        }
+        for (int w = 0; w < other.length; w++) {
+            words[w] |= other[w];
+        }
+        recount();
+        return this;
+    }
+
+    @Override
+    public Selection andNot(Selection otherSelection) {
+        long[] other = wordsOf(otherSelection);
+        for (int w = 0; w < Math.min(words.length, other.length); w++) {
+            words[w] &= ~other[w];
+        }
+        recount();
+        return this;
+    }
+
+    private static long[] wordsOf(Selection selection) {
+        if (selection instanceof DenseSelection) {
+            return ((DenseSelection) selection).words;
+        }
+        return of(selection.toBitmapInternal()).words;
+    }
+
+    @Override
+    public Selection clear() {
+        Arrays.fill(words, 0);
+        cardinality = 0;
+        modified();
+        return this;
+    }
+
+    @Override
+    public boolean contains(int i) {
+        return i >= 0 && wordIndex(i) < words.length && (words[wordIndex(i)] & (1L << i)) != 0;
+    }
+
+    @Override
+    public int get(int i) {
+        Preconditions.checkElementIndex(i, cardinality);
+        int[] directory = ranks();
+        // find the last block with fewer than i + 1 rows selected before it, which holds the ith row
+        int low = 0;
+        int high = directory.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (directory[mid] <= i) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return select(low << (RANK_BLOCK_SHIFT + 6), i - directory[low]);
+    }
+
+    @Override
+    public SelectionCursor cursor() {
+        return new SelectionCursor() {
+
+            // the position and row of the last call, valid while the selection is unmodified
+            private int cursorIndex = -1;
+            private int cursorRow;
+            private int expectedModifications;
+
+            @Override
+            public int get(int i) {
+                Preconditions.checkElementIndex(i, cardinality);
+                if (cursorIndex >= 0 && i >= cursorIndex && expectedModifications == modifications) {
+                    cursorRow = select(cursorRow, i - cursorIndex);
+                } else {
+                    cursorRow = DenseSelection.this.get(i);
+                }
+                cursorIndex = i;
+                expectedModifications = modifications;
+                return cursorRow;
+            }
+        };
+    }
+
+    /**
+     * Returns the kth selected row, counting from zero, at or after the given row
+     */
+    private int select(int from, int k) {
+        int w = wordIndex(from);
+        long word = words[w] & (-1L << from);
+        int count = Long.bitCount(word);
+        while (k >= count) {
+            k -= count;
+            word = words[++w];
+            count = Long.bitCount(word);
+        }
+        for (int j = 0; j < k; j++) {
+            word &= word - 1;
+        }
+        return w * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns the first selected row at or after the given row, or -1 if there is none
+     */
+    private int nextSelected(int from) {
+        int w = wordIndex(from);
+        if (w >= words.length) {
+            return -1;
+        }
+        long word = words[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+        return w * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    @Override
+    public IntIterator iterator() {
+
+        return new IntIterator() {
+
+            private int next = nextSelected(0);
+
+            @Override
+            public int nextInt() {
+                int row = next;
+                next = nextSelected(row + 1);
+                return row;
+            }
+
+            @Override
+            public int skip(int k) {
+                throw new UnsupportedOperationException("Views do not support skipping in the iterator");
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+        };
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.selection;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * A selection of the contiguous rows [start, end), held as its two bounds. Positional access is arithmetic.
+ * <p>
+ * Modifications that keep the rows contiguous only move the bounds; any other modification switches the selection
+ * to a bitmap for the rest of its life
+ */
+public class RangeSelection extends AbstractSelection {
+
+    private int start;
+    private int end;
+
+    // null while the rows are contiguous
+    private BitmapBackedSelection rows;
+
+    /**
+     * Returns a selection of the rows in [start, end)
+     */
+    public RangeSelection(int start, int end) {
+        Preconditions.checkArgument(start <= end, "Range start %s is after its end %s", start, end);
+        this.start = start;
+        this.end = end;
+    }
+
+    private boolean isRange() {
+        return rows == null;
+    }
+
+    private BitmapBackedSelection rows() {
+        if (rows == null) {
+            rows = new BitmapBackedSelection();
+            rows.addRange(start, end);
+        }
+        return rows;
+    }
+
+    @Override
+    public int[] toArray() {
+        if (!isRange()) {
+            return rows.toArray();
+        }
+        int[] result = new int[end - start];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = start + i;
+        }
+        return result;
+    }
+
+    @Override
+    public RoaringBitmap toBitmapInternal() {
+        if (!isRange()) {
+            return rows.toBitmapInternal();
+        }
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.add((long) start, end);
+        return bitmap;
+    }
+
+    @Override
+    public Selection add(int... ints) {
+        if (isRange()) {
+            boolean inRange = true;
+            for (int i : ints) {
+                if (i < start || i >= end) {
+                    inRange = false;
+                    break;
+                }
+            }
+            if (inRange) {
+                return this;
+            }
+        }
+        rows().add(ints);
+        return this;
+    }
+
+    @Override
+    public Selection addRange(int start, int end) {
+        if (start >= end) {
+            return this;
+        }
+        if (isRange() && this.start == this.end) {
+            this.start = start;
+            this.end = end;
+        } else if (isRange() && start <= this.end && end >= this.start) {
+            this.start = Math.min(this.start, start);
+            this.end = Math.max(this.end, end);
+        } else {
+            rows().addRange(start, end);
+        }
+        return this;
+    }
+
+    @Override
+    public Selection removeRange(long start, long end) {
+        if (start >= end) {
+            return this;
+        }
+        if (!isRange()) {
+            rows.removeRange(start, end);
+        } else if (start <= this.start && end >= this.end) {
+            clear();
+        } else if (start <= this.start) {
+            this.start = (int) Math.max(this.start, end);
+        } else if (end >= this.end) {
+            this.end = (int) Math.min(this.end, start);
+        } else {
+            rows().removeRange(start, end);
+        }
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return isRange() ? end - start : rows.size();
+    }
+
+    @Override
+    public Selection and(Selection otherSelection) {
+        if (isRange() && isRange(otherSelection)) {
+            RangeSelection other = (RangeSelection) otherSelection;
+            start = Math.max(start, other.start);
+            end = Math.max(start, Math.min(end, other.end));
+        } else {
+            rows().and(otherSelection);
+        }
+        return this;
+    }
+
+    @Override
+    public Selection or(Selection otherSelection) {
+        if (isRange() && isRange(otherSelection)) {
+            RangeSelection other = (RangeSelection) otherSelection;
+            addRange(other.start, other.end);
+        } else {
+            rows().or(otherSelection);
+        }
+        return this;
+    }
+
+    @Override
+    public Selection andNot(Selection otherSelection) {
+        if (isRange() && isRange(otherSelection)) {
+            RangeSelection other = (RangeSelection) otherSelection;
+            removeRange(other.start, other.end);
+        } else {
+            rows().andNot(otherSelection);
+        }
+        return this;
+    }
+
+    private static boolean isRange(Selection selection) {
+        return selection instanceof RangeSelection && ((RangeSelection) selection).isRange();
+    }
+
+    @Override
+    public Selection clear() {
+        rows = null;
+        start = 0;
+        end = 0;
+        return this;
+    }
+
+    @Override
+    public boolean contains(int i) {
+        return isRange() ? i >= start && i < end : rows.contains(i);
+    }
+
+    @Override
+    public int get(int i) {
+        if (!isRange()) {
+            return rows.get(i);
+        }
+        Preconditions.checkElementIndex(i, end - start);
+        return start + i;
+    }
+
+    @Override
+    public Selection flip(int rangeStart, int rangeEnd) {
+        rows().flip(rangeStart, rangeEnd);
+        return this;
+    }
+
+    @Override
+    public IntIterator iterator() {
+        if (!isRange()) {
+            return rows.iterator();
+        }
+        return new IntIterator() {
+
+            private int next = start;
+
+            @Override
+            public int nextInt() {
+                return next++;
+            }
+
+            @Override
+            public int skip(int k) {
+                throw new UnsupportedOperationException("Views do not support skipping in the iterator");
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+        };
+    }
+}
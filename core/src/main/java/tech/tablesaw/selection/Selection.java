@@ -23,6 +23,7 @@ import tech.tablesaw.columns.Column;
 import tech.tablesaw.filtering.Filter;
 
 import java.util.BitSet;
+import java.util.function.IntPredicate;
 
 /**
  * A selection maintains an ordered set of ints that can be used to eval rows from a table or column
@@ -38,9 +39,32 @@ public interface Selection extends IntIterable, Filter {
     }
 
     static Selection withRange(int start, int end) {
-        BitmapBackedSelection selection = new BitmapBackedSelection();
-        selection.addRange(start, end);
-        return selection;
+        return new RangeSelection(start, end);
+    }
+
+    /**
+     * Returns a selection of the rows in the given bitmap, choosing its representation from their count and spread:
+     * a range when they are contiguous, a bitset when they are dense, a sorted array when they are few, and the bitmap
+     * itself otherwise. The bitmap may be kept, so it should not be modified afterwards
+     */
+    static Selection of(RoaringBitmap rows) {
+        int count = rows.getCardinality();
+        if (count == 0) {
+            return new BitmapBackedSelection(rows);
+        }
+        int first = rows.first();
+        int last = rows.last();
+        if (last - first + 1 == count) {
+            return new RangeSelection(first, last + 1);
+        }
+        // a bitset costs one bit for every row up to the last, an array 32 bits per selected row
+        if (count >= last / Integer.SIZE) {
+            return DenseSelection.of(rows);
+        }
+        if (count <= 1 << 16) {
+            return new ArraySelection(rows.toArray());
+        }
+        return new BitmapBackedSelection(rows);
     }
 
     static Selection withoutRange(int totalRangeStart, int totalRangeEnd, int excludedRangeStart, int excludedRangeEnd) {
@@ -107,6 +131,15 @@ public interface Selection extends IntIterable, Filter {
      */
     int get(int i);
 
+    /**
+     * Returns a cursor for reading this selection by position. The cursor is meant for one reader working through
+     * positions in order, such as a loop over a table slice, and may answer faster than get() by remembering where
+     * it left off. A selection's own get() keeps no such state, so it remains safe to call from several threads
+     */
+    default SelectionCursor cursor() {
+        return this::get;
+    }
+
     /**
      * Returns a selection with the bits from this selection flipped over the given range
      */
@@ -122,6 +155,16 @@ public interface Selection extends IntIterable, Filter {
         return this;
     }
 
+    @Override
+    default double estimateSelectivity(Table relation) {
+        return relation.rowCount() == 0 ? 0 : (double) size() / relation.rowCount();
+    }
+
+    @Override
+    default IntPredicate rowTest(Table relation) {
+        return this::contains;
+    }
+
     /**
      * Returns an randomly generated array of ints of size N where Max is the largest possible value
      */
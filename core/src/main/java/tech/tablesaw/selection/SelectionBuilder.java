@@ -0,0 +1,238 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.selection;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import org.roaringbitmap.OrderedWriter;
+import org.roaringbitmap.RoaringBitmap;
+import tech.tablesaw.filtering.predicates.BytePredicate;
+
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Builds a selection from 64-row masks, for use by column eval kernels.
+ * <p>
+ * Kernels test 64 rows at a time, setting one bit of a long per row without branching, and hand each mask to the
+ * builder. The builder fills a 65,536-row chunk of words before converting it to a single bitmap container, so rows
+ * are never inserted into the bitmap one at a time, and dense chunks become bitmap containers built directly from the
+ * words.
+ * <p>
+ * Inputs of at least {@link #PARALLEL_THRESHOLD} rows are split into segments of {@link #SEGMENT_SIZE} rows, aligned so
+ * that each segment maps to exactly one bitmap container. The segments are evaluated on the common fork-join pool, and
+ * their containers are appended to the result in order, so predicates and row tests passed to these methods must be
+ * safe to call from several threads
+ */
+public final class SelectionBuilder {
+
+    public static final int SEGMENT_SIZE = 1 << 16;
+
+    public static final int PARALLEL_THRESHOLD = 16 * SEGMENT_SIZE;
+
+    private final OrderedWriter writer = new OrderedWriter();
+
+    /**
+     * Adds row {@code base + i} for each bit {@code i} set in the mask. The base must be a multiple of 64, and must
+     * increase from one call to the next
+     */
+    public SelectionBuilder addMask(int base, long mask) {
+        while (mask != 0) {
+            writer.add(base + Long.numberOfTrailingZeros(mask));
+            mask &= mask - 1;
+        }
+        return this;
+    }
+
+    public Selection build() {
+        return Selection.of(buildBitmap());
+    }
+
+    RoaringBitmap buildBitmap() {
+        writer.flush();
+        return writer.getUnderlying();
+    }
+
+    /**
+     * Returns the rows in [start, end) that pass the given test
+     */
+    public static Selection select(int start, int end, IntPredicate rowTest) {
+        return Selection.of(selectBitmap(start, end, rowTest));
+    }
+
+    /**
+     * Returns a bitmap of the rows in [start, end) that pass the given test
+     */
+    public static RoaringBitmap selectBitmap(int start, int end, IntPredicate rowTest) {
+        return inSegments(start, end, (from, to) -> {
+            SelectionBuilder builder = new SelectionBuilder();
+            for (int base = from & -Long.SIZE; base < to; base += Long.SIZE) {
+                int blockEnd = Math.min(base + Long.SIZE, to);
+                long mask = 0;
+                for (int row = Math.max(base, from); row < blockEnd; row++) {
+                    // the shift distance is taken mod 64, so this sets bit (row - base)
+                    mask |= (rowTest.test(row) ? 1L : 0L) << row;
+                }
+                builder.addMask(base, mask);
+            }
+            return builder.buildBitmap();
+        });
+    }
+
+    /**
+     * Returns the candidate rows that pass the given test. Candidates are tested in the ascending order in which the
+     * selection yields them, and the survivors are gathered into masks rather than added to a bitmap one at a time
+     */
+    public static Selection select(Selection candidates, IntPredicate rowTest) {
+        SelectionBuilder builder = new SelectionBuilder();
+        IntIterator rows = candidates.iterator();
+        int base = 0;
+        long mask = 0;
+        while (rows.hasNext()) {
+            int row = rows.next();
+            if ((row & -Long.SIZE) != base) {
+                builder.addMask(base, mask);
+                base = row & -Long.SIZE;
+                mask = 0;
+            }
+            mask |= (rowTest.test(row) ? 1L : 0L) << row;
+        }
+        return builder.addMask(base, mask).build();
+    }
+
+    /**
+     * Returns the indexes in [0, size) of the values that pass the given predicate
+     */
+    public static Selection select(double[] values, int size, DoublePredicate predicate) {
+        return Selection.of(inSegments(0, size, (from, to) -> {
+            SelectionBuilder builder = new SelectionBuilder();
+            for (int base = from; base < to; base += Long.SIZE) {
+                int blockEnd = Math.min(base + Long.SIZE, to);
+                long mask = 0;
+                for (int row = base; row < blockEnd; row++) {
+                    mask |= (predicate.test(values[row]) ? 1L : 0L) << row;
+                }
+                builder.addMask(base, mask);
+            }
+            return builder.buildBitmap();
+        }));
+    }
+
+    /**
+     * Returns the indexes in [0, size) of the values that pass the given predicate
+     */
+    public static Selection select(int[] values, int size, IntPredicate predicate) {
+        return Selection.of(inSegments(0, size, (from, to) -> {
+            SelectionBuilder builder = new SelectionBuilder();
+            for (int base = from; base < to; base += Long.SIZE) {
+                int blockEnd = Math.min(base + Long.SIZE, to);
+                long mask = 0;
+                for (int row = base; row < blockEnd; row++) {
+                    mask |= (predicate.test(values[row]) ? 1L : 0L) << row;
+                }
+                builder.addMask(base, mask);
+            }
+            return builder.buildBitmap();
+        }));
+    }
+
+    /**
+     * Returns the indexes in [0, size) of the values that pass the given predicate
+     */
+    public static Selection select(long[] values, int size, LongPredicate predicate) {
+        return Selection.of(inSegments(0, size, (from, to) -> {
+            SelectionBuilder builder = new SelectionBuilder();
+            for (int base = from; base < to; base += Long.SIZE) {
+                int blockEnd = Math.min(base + Long.SIZE, to);
+                long mask = 0;
+                for (int row = base; row < blockEnd; row++) {
+                    mask |= (predicate.test(values[row]) ? 1L : 0L) << row;
+                }
+                builder.addMask(base, mask);
+            }
+            return builder.buildBitmap();
+        }));
+    }
+
+    /**
+     * Returns the indexes in [0, size) of the values that pass the given predicate
+     */
+    public static Selection select(byte[] values, int size, BytePredicate predicate) {
+        return Selection.of(inSegments(0, size, (from, to) -> {
+            SelectionBuilder builder = new SelectionBuilder();
+            for (int base = from; base < to; base += Long.SIZE) {
+                int blockEnd = Math.min(base + Long.SIZE, to);
+                long mask = 0;
+                for (int row = base; row < blockEnd; row++) {
+                    mask |= (predicate.test(values[row]) ? 1L : 0L) << row;
+                }
+                builder.addMask(base, mask);
+            }
+            return builder.buildBitmap();
+        }));
+    }
+
+    /**
+     * Returns the indexes in [0, size) of the values equal to the given byte
+     */
+    public static Selection selectEqual(byte[] values, int size, byte value) {
+        return Selection.of(inSegments(0, size, (from, to) -> {
+            SelectionBuilder builder = new SelectionBuilder();
+            for (int base = from; base < to; base += Long.SIZE) {
+                int blockEnd = Math.min(base + Long.SIZE, to);
+                long mask = 0;
+                for (int row = base; row < blockEnd; row++) {
+                    mask |= (values[row] == value ? 1L : 0L) << row;
+                }
+                builder.addMask(base, mask);
+            }
+            return builder.buildBitmap();
+        }));
+    }
+
+    /**
+     * Computes the rows selected from one segment of the input
+     */
+    private interface SegmentKernel {
+
+        /**
+         * Returns the selected rows in [from, to). The range lies within one segment, and from is a multiple of 64
+         * unless it is the start of the whole input
+         */
+        RoaringBitmap select(int from, int to);
+    }
+
+    private static RoaringBitmap inSegments(int start, int end, SegmentKernel kernel) {
+        if (end - start < PARALLEL_THRESHOLD) {
+            return kernel.select(start, end);
+        }
+        int firstSegment = start / SEGMENT_SIZE;
+        int lastSegment = (end - 1) / SEGMENT_SIZE;
+        RoaringBitmap[] segments = IntStream.rangeClosed(firstSegment, lastSegment)
+                .parallel()
+                .mapToObj(segment -> kernel.select(
+                        Math.max(start, segment * SEGMENT_SIZE),
+                        (int) Math.min(end, (segment + 1L) * SEGMENT_SIZE)))
+                .toArray(RoaringBitmap[]::new);
+        // each segment holds a single container, with a key above all those before it, so each or is an append
+        RoaringBitmap result = new RoaringBitmap();
+        for (RoaringBitmap segment : segments) {
+            result.or(segment);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.selection;
+
+/**
+ * Positional access to the rows of a selection for a single reader. A cursor may remember where its previous call
+ * left off, so that reading positions in increasing order is cheap; it must not be shared between threads
+ */
+@FunctionalInterface
+public interface SelectionCursor {
+
+    /**
+     * Returns the ith row of the selection, as {@link Selection#get(int)} does
+     */
+    int get(int i);
+}
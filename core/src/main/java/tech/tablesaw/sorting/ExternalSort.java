@@ -0,0 +1,432 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.sorting;
+
+import com.google.common.base.Preconditions;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.NumberColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts tables too large to hold in memory.
+ * <p>
+ * Rows are added in batches and buffered until they reach the memory budget. Each full buffer is sorted in memory and
+ * spilled to a temporary file as a run; when all rows have been added the runs are merged, and the sorted rows are
+ * returned as a sequence of tables of a fixed number of rows:
+ * <p>
+ * try (ExternalSort sort = ExternalSort.builder(Sort.on("Date", ASCEND)).memoryBudget(256 << 20).build()) {
+ * for (Table batch : batches) { sort.add(batch); }
+ * sort.sorted().forEachRemaining(...);
+ * }
+ * <p>
+ * If the rows never exceed the budget nothing is written to disk. Closing the sort closes any runs a merge has open and
+ * deletes any temporary files, so a merge may be abandoned part way through.
+ */
+public final class ExternalSort implements Closeable {
+
+    /**
+     * The default memory budget, in bytes
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    /**
+     * The default number of rows in each table returned by {@link #sorted()}
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1 << 16;
+
+    private static final int ROW_GROUP_SIZE = 1 << 13;
+
+    private final Sort key;
+    private final long memoryBudget;
+    private final File tempDirectory;
+    private final int batchSize;
+
+    private final List<File> runs = new ArrayList<>();
+    private final List<RunFile.Reader> readers = new ArrayList<>();
+    private Table buffer;
+    private int rowsPerRun;
+    private boolean merging;
+
+    private ExternalSort(Builder builder) {
+        this.key = builder.key;
+        this.memoryBudget = builder.memoryBudget;
+        this.tempDirectory = builder.tempDirectory;
+        this.batchSize = builder.batchSize;
+    }
+
+    /**
+     * Returns a builder for a sort on the given key
+     */
+    public static Builder builder(Sort key) {
+        Preconditions.checkArgument(!key.isEmpty());
+        return new Builder(key);
+    }
+
+    /**
+     * Adds the rows of the given table, spilling a sorted run to disk whenever the buffered rows exceed the budget.
+     * Every batch must have the same columns as the first
+     */
+    public void add(Table batch) throws IOException {
+        Preconditions.checkState(!merging, "Rows cannot be added once the sorted rows have been requested");
+        if (buffer == null) {
+            buffer = batch.emptyCopy();
+            rowsPerRun = Integer.MAX_VALUE;
+        }
+        rowsPerRun = Math.min(rowsPerRun, rowsPerRun(batch));
+        int start = 0;
+        while (start < batch.rowCount()) {
+            int end = Math.min(batch.rowCount(), start + rowsPerRun - buffer.rowCount());
+            buffer.append(start == 0 && end == batch.rowCount() ? batch : batch.inRange(start, end));
+            start = end;
+            if (buffer.rowCount() >= rowsPerRun) {
+                spill();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of runs written to disk so far
+     */
+    public int runCount() {
+        return runs.size();
+    }
+
+    /**
+     * Returns the sorted rows as a sequence of tables. No more rows can be added once this has been called
+     *
+     * @throws IOException if the last run cannot be written or the runs cannot be opened
+     */
+    public Iterator<Table> sorted() throws IOException {
+        Preconditions.checkState(!merging, "The sorted rows have already been requested");
+        merging = true;
+        if (buffer == null) {
+            return new ArrayList<Table>().iterator();
+        }
+        if (runs.isEmpty()) {
+            return new Slices(buffer.sortOn(key));
+        }
+        if (buffer.rowCount() > 0) {
+            spill();
+        }
+        return new Merge();
+    }
+
+    /**
+     * Closes any runs a merge still has open, and deletes the temporary files holding the sorted runs. The files are
+     * deleted even if closing a run fails, in which case the first failure is thrown afterwards
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (RunFile.Reader reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        readers.clear();
+        for (File run : runs) {
+            Files.deleteIfExists(run.toPath());
+        }
+        runs.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns an estimate of the memory taken by each row of the given table when it is buffered. Fixed-width values
+     * count their width; a string column also counts its dictionary, spread over its rows, so that a column of mostly
+     * distinct strings is charged for the strings themselves and not only for their keys
+     */
+    public static long estimatedRowBytes(Table table) {
+        long bytes = 0;
+        for (Column column : table.columns()) {
+            bytes += column.type().byteSize();
+            if (column instanceof StringColumn && column.size() > 0) {
+                bytes += ((StringColumn) column).dictionaryByteSize() / column.size();
+            }
+        }
+        return Math.max(1, bytes);
+    }
+
+    /**
+     * Returns the number of rows like those of the given batch that fit in half the budget, leaving the other half
+     * for sorting them
+     */
+    private int rowsPerRun(Table batch) {
+        long rows = memoryBudget / (2 * estimatedRowBytes(batch));
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, rows));
+    }
+
+    private void spill() throws IOException {
+        File run = File.createTempFile("tablesaw-sort-", ".run", tempDirectory);
+        runs.add(run);
+        RunFile.write(buffer.sortOn(key), run, ROW_GROUP_SIZE);
+        buffer = buffer.emptyCopy();
+    }
+
+    /**
+     * Splits a table sorted in memory into batches
+     */
+    private final class Slices implements Iterator<Table> {
+
+        private final Table table;
+        private int start;
+
+        private Slices(Table table) {
+            this.table = table;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return start < table.rowCount();
+        }
+
+        @Override
+        public Table next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int end = Math.min(table.rowCount(), start + batchSize);
+            Table slice = table.inRange(start, end);
+            start = end;
+            return slice;
+        }
+    }
+
+    /**
+     * Merges the runs on disk, reading each a row group at a time
+     */
+    private final class Merge implements Iterator<Table> {
+
+        private final Table schema;
+        private final int[] keyColumns;
+        private final boolean[] descending;
+        private final PriorityQueue<Cursor> cursors;
+
+        private Merge() throws IOException {
+            this.schema = buffer.emptyCopy();
+            this.keyColumns = new int[key.size()];
+            this.descending = new boolean[key.size()];
+            int i = 0;
+            for (Map.Entry<String, Sort.Order> entry : key) {
+                keyColumns[i] = schema.columnIndex(entry.getKey());
+                descending[i] = entry.getValue() == Sort.Order.DESCEND;
+                i++;
+            }
+            this.cursors = new PriorityQueue<>(Math.max(1, runs.size()), this::compare);
+            for (int run = 0; run < runs.size(); run++) {
+                RunFile.Reader reader = new RunFile.Reader(runs.get(run), schema);
+                readers.add(reader);
+                Cursor cursor = new Cursor(run, reader);
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !cursors.isEmpty();
+        }
+
+        @Override
+        public Table next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Table batch = schema.emptyCopy(batchSize);
+            try {
+                while (batch.rowCount() < batchSize && !cursors.isEmpty()) {
+                    Cursor cursor = cursors.poll();
+                    appendRow(cursor.group, cursor.row, batch);
+                    if (cursor.advance()) {
+                        cursors.add(cursor);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return batch;
+        }
+
+        /**
+         * Orders cursors by their current rows, and rows with equal keys by run, so the merge is stable
+         */
+        private int compare(Cursor a, Cursor b) {
+            for (int i = 0; i < keyColumns.length; i++) {
+                int result = compareValues(a.group.column(keyColumns[i]), a.row, b.group.column(keyColumns[i]), b.row);
+                if (result != 0) {
+                    return descending[i] ? -result : result;
+                }
+            }
+            return Integer.compare(a.run, b.run);
+        }
+
+        /**
+         * The position of the merge in one run
+         */
+        private final class Cursor {
+
+            private final int run;
+            private final RunFile.Reader reader;
+            private Table group;
+            private int row = -1;
+
+            private Cursor(int run, RunFile.Reader reader) {
+                this.run = run;
+                this.reader = reader;
+            }
+
+            /**
+             * Moves to the next row, reading the next row group if needed. Returns false and deletes the run once it
+             * is exhausted
+             */
+            private boolean advance() throws IOException {
+                row++;
+                if (group != null && row < group.rowCount()) {
+                    return true;
+                }
+                group = reader.next();
+                row = 0;
+                if (group == null) {
+                    reader.close();
+                    readers.remove(reader);
+                    Files.deleteIfExists(runs.get(run).toPath());
+                    return false;
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Compares two values of the same type with the order of the columns' row comparators
+     */
+    private static int compareValues(Column a, int rowA, Column b, int rowB) {
+        switch (a.type()) {
+            case NUMBER:
+                return Double.compare(((NumberColumn) a).get(rowA), ((NumberColumn) b).get(rowB));
+            case LOCAL_DATE:
+                return Integer.compare(((DateColumn) a).getIntInternal(rowA), ((DateColumn) b).getIntInternal(rowB));
+            case LOCAL_TIME:
+                return Integer.compare(((TimeColumn) a).getIntInternal(rowA), ((TimeColumn) b).getIntInternal(rowB));
+            case LOCAL_DATE_TIME:
+                return Long.compare(((DateTimeColumn) a).getLongInternal(rowA),
+                        ((DateTimeColumn) b).getLongInternal(rowB));
+            case BOOLEAN:
+                return Byte.compare(((BooleanColumn) a).getByte(rowA), ((BooleanColumn) b).getByte(rowB));
+            case STRING:
+                return ((StringColumn) a).get(rowA).compareTo(((StringColumn) b).get(rowB));
+            default:
+                throw new IllegalStateException("Unhandled column type in case statement");
+        }
+    }
+
+    private static void appendRow(Table from, int row, Table to) {
+        for (int i = 0; i < from.columnCount(); i++) {
+            Column source = from.column(i);
+            Column target = to.column(i);
+            switch (source.type()) {
+                case NUMBER:
+                    ((NumberColumn) target).append(((NumberColumn) source).get(row));
+                    break;
+                case LOCAL_DATE:
+                    ((DateColumn) target).appendInternal(((DateColumn) source).getIntInternal(row));
+                    break;
+                case LOCAL_TIME:
+                    ((TimeColumn) target).appendInternal(((TimeColumn) source).getIntInternal(row));
+                    break;
+                case LOCAL_DATE_TIME:
+                    ((DateTimeColumn) target).appendInternal(((DateTimeColumn) source).getLongInternal(row));
+                    break;
+                case BOOLEAN:
+                    ((BooleanColumn) target).append(((BooleanColumn) source).getByte(row));
+                    break;
+                case STRING:
+                    ((StringColumn) target).append(((StringColumn) source).get(row));
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled column type in case statement");
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private final Sort key;
+        private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+        private File tempDirectory;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        private Builder(Sort key) {
+            this.key = key;
+        }
+
+        /**
+         * Sets the approximate number of bytes of rows to hold in memory before spilling a run
+         */
+        public Builder memoryBudget(long bytes) {
+            Preconditions.checkArgument(bytes > 0, "The memory budget must be positive");
+            this.memoryBudget = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the directory for the spilled runs; by default the system temporary directory is used
+         */
+        public Builder tempDirectory(File directory) {
+            this.tempDirectory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the number of rows in each table returned by {@link ExternalSort#sorted()}
+         */
+        public Builder batchSize(int rows) {
+            Preconditions.checkArgument(rows > 0, "The batch size must be positive");
+            this.batchSize = rows;
+            return this;
+        }
+
+        public ExternalSort build() {
+            return new ExternalSort(this);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.sorting;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.NumberColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Sorts the rows of a table on several columns by encoding each row's sort values into one fixed-width binary key,
+ * so that rows can be ordered by comparing keys alone, without calling a comparator per column.
+ * <p>
+ * Each sort column contributes a field of fixed width whose unsigned order is the column's order: doubles by their
+ * sign-folded bits, packed dates, times and date-times with their sign bit flipped, booleans as missing, false, true,
+ * and strings by the rank of their dictionary entry in string order, in just enough bits to hold the largest rank.
+ * Descending columns have the bits of their field flipped. The fields are packed, first column most significant, into
+ * as few longs per row as fit, and the rows are radix sorted a word at a time, least significant word first.
+ * <p>
+ * Missing values sort where the column row comparators put them, and rows with equal keys keep their order
+ */
+public final class NormalizedKeys {
+
+    /**
+     * The largest number of longs that the keys of all the rows may take, as they are held in a single array
+     */
+    static final long MAX_KEY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * One column's contribution to the key
+     */
+    private static final class Field {
+
+        private final int bits;
+        private final IntToLongFunction key;
+
+        private Field(int bits, IntToLongFunction key) {
+            this.bits = bits;
+            this.key = key;
+        }
+    }
+
+    // Don't instantiate
+    private NormalizedKeys() {
+    }
+
+    /**
+     * Returns true if every column in the given sort can be encoded, and the keys of all the rows fit in one array
+     */
+    public static boolean supports(Table table, Sort sort) {
+        for (Map.Entry<String, Sort.Order> entry : sort) {
+            Column column = table.column(entry.getKey());
+            if (!(column instanceof NumberColumn || column instanceof DateColumn || column instanceof DateTimeColumn
+                    || column instanceof TimeColumn || column instanceof BooleanColumn
+                    || column instanceof StringColumn)) {
+                return false;
+            }
+        }
+        return fits(table.rowCount(), wordCount(fields(table, sort)));
+    }
+
+    /**
+     * Returns true if keys of the given number of words for the given number of rows fit in one array
+     */
+    static boolean fits(int rowCount, int words) {
+        return (long) rowCount * words <= MAX_KEY_LENGTH;
+    }
+
+    /**
+     * Returns the rows of the given table in the order given by the sort
+     *
+     * @throws IllegalArgumentException if a sort column is of a type that cannot be encoded, or the table has too
+     *                                  many rows for their keys to fit in one array
+     */
+    public static int[] sort(Table table, Sort sort) {
+        List<Field> fields = fields(table, sort);
+        int words = wordCount(fields);
+        int size = table.rowCount();
+        Preconditions.checkArgument(fits(size, words),
+                "The sort keys of %s rows of %s words each do not fit in one array", size, words);
+
+        // assign each field a word and a shift, starting a new word whenever the field does not fit
+        int[] wordOf = new int[fields.size()];
+        int[] shiftOf = new int[fields.size()];
+        int used = 0;
+        int free = 0;
+        for (int f = 0; f < fields.size(); f++) {
+            int bits = fields.get(f).bits;
+            if (bits > free) {
+                used++;
+                free = Long.SIZE;
+            }
+            free -= bits;
+            wordOf[f] = used - 1;
+            shiftOf[f] = free;
+        }
+
+        // checked above, so neither the length nor any index overflows an int
+        long[] keys = new long[size * words];
+        for (int f = 0; f < fields.size(); f++) {
+            IntToLongFunction key = fields.get(f).key;
+            int word = wordOf[f];
+            int shift = shiftOf[f];
+            for (int row = 0; row < size; row++) {
+                keys[row * words + word] |= key.applyAsLong(row) << shift;
+            }
+        }
+
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        long[] wordKeys = new long[size];
+        for (int word = words - 1; word >= 0; word--) {
+            for (int i = 0; i < size; i++) {
+                wordKeys[i] = keys[rows[i] * words + word];
+            }
+            RadixSort.sort(wordKeys, rows, size);
+        }
+        return rows;
+    }
+
+    private static List<Field> fields(Table table, Sort sort) {
+        List<Field> fields = new ArrayList<>();
+        for (Map.Entry<String, Sort.Order> entry : sort) {
+            Field field = field(table.column(entry.getKey()));
+            if (entry.getValue() == Sort.Order.DESCEND) {
+                long mask = -1L >>> (Long.SIZE - field.bits);
+                IntToLongFunction ascending = field.key;
+                field = new Field(field.bits, row -> ~ascending.applyAsLong(row) & mask);
+            }
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the number of longs each row's key takes when the fields are packed in order, a field never straddling
+     * two words
+     */
+    private static int wordCount(List<Field> fields) {
+        int words = 0;
+        int free = 0;
+        for (Field field : fields) {
+            if (field.bits > free) {
+                words++;
+                free = Long.SIZE;
+            }
+            free -= field.bits;
+        }
+        return words;
+    }
+
+    private static Field field(Column column) {
+        if (column instanceof NumberColumn) {
+            NumberColumn numbers = (NumberColumn) column;
+            return new Field(Long.SIZE, row -> RadixSort.doubleKey(numbers.get(row)));
+        }
+        if (column instanceof DateColumn) {
+            DateColumn dates = (DateColumn) column;
+            return new Field(Integer.SIZE, row -> (dates.getIntInternal(row) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+        if (column instanceof TimeColumn) {
+            TimeColumn times = (TimeColumn) column;
+            return new Field(Integer.SIZE, row -> (times.getIntInternal(row) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+        if (column instanceof DateTimeColumn) {
+            DateTimeColumn dateTimes = (DateTimeColumn) column;
+            return new Field(Long.SIZE, row -> dateTimes.getLongInternal(row) ^ Long.MIN_VALUE);
+        }
+        if (column instanceof BooleanColumn) {
+            BooleanColumn booleans = (BooleanColumn) column;
+            return new Field(2, row -> {
+                byte value = booleans.getByte(row);
+                return BooleanColumn.valueIsMissing(value) ? 0 : value + 1;
+            });
+        }
+        if (column instanceof StringColumn) {
+            StringColumn strings = (StringColumn) column;
+            int[] ranks = strings.dictionaryRanks();
+            int maxRank = 1;
+            for (int rank : ranks) {
+                maxRank = Math.max(maxRank, rank);
+            }
+            IntArrayList codes = strings.values();
+            return new Field(Integer.SIZE - Integer.numberOfLeadingZeros(maxRank),
+                    row -> ranks[codes.getInt(row)]);
+        }
+        throw new IllegalArgumentException("Cannot build a sort key for column " + column.name()
+                + " of type " + column.type());
+    }
+}
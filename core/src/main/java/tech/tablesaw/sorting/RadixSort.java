@@ -0,0 +1,245 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.sorting;
+
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.NumberColumn;
+import tech.tablesaw.columns.Column;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Sorts the rows of a single number, date or date-time column with a least-significant-digit radix sort, returning
+ * the permutation of row numbers rather than comparing rows through {@link Column#rowComparator()}.
+ * <p>
+ * Each value is mapped to a 64-bit key whose unsigned order is the sort order: doubles by their raw bits with the sign
+ * folded in, so the order matches {@link Double#compare(double, double)}, and packed dates and date-times by their
+ * value with the sign bit flipped. Keys are sorted a byte at a time, skipping bytes that are the same for every row.
+ * Large inputs are first split into 256 partitions on their most significant varying byte, and the partitions are
+ * sorted in parallel. The sort is stable, so equal values keep their row order.
+ */
+public final class RadixSort {
+
+    /**
+     * Where missing values go in the sorted rows
+     */
+    public enum MissingValues {FIRST, LAST}
+
+    /**
+     * The number of rows at which the sort partitions its input and sorts the partitions in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 18;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    // Don't instantiate
+    private RadixSort() {
+    }
+
+    /**
+     * Returns true if the given column can be sorted by this class
+     */
+    public static boolean supports(Column column) {
+        return column instanceof NumberColumn || column instanceof DateColumn || column instanceof DateTimeColumn;
+    }
+
+    /**
+     * Returns the rows of the given column in sorted order, with missing values placed as the column's row comparator
+     * places them: after all other values in an ascending sort of numbers, and before them for dates and date-times
+     */
+    public static int[] sort(Column column, Sort.Order order) {
+        boolean missingSortsHigh = column instanceof NumberColumn;
+        boolean ascending = order == Sort.Order.ASCEND;
+        return sort(column, order, missingSortsHigh == ascending ? MissingValues.LAST : MissingValues.FIRST);
+    }
+
+    /**
+     * Returns the rows of the given column in sorted order, with missing values placed according to the given policy
+     *
+     * @throws IllegalArgumentException if the column is not a number, date or date-time column
+     */
+    public static int[] sort(Column column, Sort.Order order, MissingValues missing) {
+        int size = column.size();
+        long[] keys = new long[size];
+        int[] rows = new int[size];
+        int[] missingRows = new int[size];
+        int present = 0;
+        int absent = 0;
+        if (column instanceof NumberColumn) {
+            NumberColumn numbers = (NumberColumn) column;
+            for (int row = 0; row < size; row++) {
+                double value = numbers.get(row);
+                if (NumberColumn.valueIsMissing(value)) {
+                    missingRows[absent++] = row;
+                } else {
+                    keys[present] = doubleKey(value);
+                    rows[present++] = row;
+                }
+            }
+        } else if (column instanceof DateColumn) {
+            DateColumn dates = (DateColumn) column;
+            for (int row = 0; row < size; row++) {
+                int value = dates.getIntInternal(row);
+                if (DateColumn.valueIsMissing(value)) {
+                    missingRows[absent++] = row;
+                } else {
+                    keys[present] = (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+                    rows[present++] = row;
+                }
+            }
+        } else if (column instanceof DateTimeColumn) {
+            DateTimeColumn dateTimes = (DateTimeColumn) column;
+            for (int row = 0; row < size; row++) {
+                long value = dateTimes.getLongInternal(row);
+                if (DateTimeColumn.valueIsMissing(value)) {
+                    missingRows[absent++] = row;
+                } else {
+                    keys[present] = value ^ Long.MIN_VALUE;
+                    rows[present++] = row;
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Radix sort is not supported for column " + column.name()
+                    + " of type " + column.type());
+        }
+        if (order == Sort.Order.DESCEND) {
+            for (int i = 0; i < present; i++) {
+                keys[i] = ~keys[i];
+            }
+        }
+        sort(keys, rows, present);
+
+        int[] result = new int[size];
+        int missingStart = missing == MissingValues.FIRST ? 0 : present;
+        int presentStart = missing == MissingValues.FIRST ? absent : 0;
+        System.arraycopy(missingRows, 0, result, missingStart, absent);
+        System.arraycopy(rows, 0, result, presentStart, present);
+        return result;
+    }
+
+    /**
+     * Returns a key whose unsigned order matches {@link Double#compare(double, double)}: negative values have all
+     * their bits flipped, and other values only their sign bit
+     */
+    static long doubleKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * Sorts the first size keys into unsigned ascending order, moving the rows along with them
+     */
+    static void sort(long[] keys, int[] rows, int size) {
+        if (size < 2) {
+            return;
+        }
+        long anyBits = 0;
+        long allBits = -1L;
+        for (int i = 0; i < size; i++) {
+            anyBits |= keys[i];
+            allBits &= keys[i];
+        }
+        long varying = anyBits ^ allBits;
+        if (varying == 0) {
+            return;
+        }
+        // one past the most significant byte that differs between keys
+        int digits = (Long.SIZE - Long.numberOfLeadingZeros(varying) + RADIX_BITS - 1) / RADIX_BITS;
+        long[] keyBuffer = new long[size];
+        int[] rowBuffer = new int[size];
+
+        if (size < PARALLEL_THRESHOLD || digits == 1) {
+            sortDigits(keys, rows, keyBuffer, rowBuffer, 0, size, digits);
+            return;
+        }
+
+        // partition on the top varying byte, then sort each partition on the bytes below it
+        int topShift = (digits - 1) * RADIX_BITS;
+        int[] starts = new int[RADIX + 1];
+        for (int i = 0; i < size; i++) {
+            starts[digit(keys[i], topShift) + 1]++;
+        }
+        for (int d = 0; d < RADIX; d++) {
+            starts[d + 1] += starts[d];
+        }
+        int[] next = starts.clone();
+        for (int i = 0; i < size; i++) {
+            int position = next[digit(keys[i], topShift)]++;
+            keyBuffer[position] = keys[i];
+            rowBuffer[position] = rows[i];
+        }
+        IntStream.range(0, RADIX).parallel().forEach(d -> {
+            int from = starts[d];
+            int to = starts[d + 1];
+            sortDigits(keyBuffer, rowBuffer, keys, rows, from, to, digits - 1);
+            System.arraycopy(keyBuffer, from, keys, from, to - from);
+            System.arraycopy(rowBuffer, from, rows, from, to - from);
+        });
+    }
+
+    /**
+     * Sorts keys[from, to) on their lowest bytes, from the least significant up, using the buffers over the same range
+     * as scratch space. The sorted keys and rows end up back in the first two arrays
+     */
+    private static void sortDigits(long[] keys, int[] rows, long[] keyBuffer, int[] rowBuffer,
+                                   int from, int to, int digits) {
+        if (to - from < 2) {
+            return;
+        }
+        long[] sourceKeys = keys;
+        int[] sourceRows = rows;
+        long[] targetKeys = keyBuffer;
+        int[] targetRows = rowBuffer;
+        int[] counts = new int[RADIX];
+        for (int shift = 0; shift < digits * RADIX_BITS; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = from; i < to; i++) {
+                counts[digit(sourceKeys[i], shift)]++;
+            }
+            if (counts[digit(sourceKeys[from], shift)] == to - from) {
+                continue;
+            }
+            int position = from;
+            for (int d = 0; d < RADIX; d++) {
+                int count = counts[d];
+                counts[d] = position;
+                position += count;
+            }
+            for (int i = from; i < to; i++) {
+                int target = counts[digit(sourceKeys[i], shift)]++;
+                targetKeys[target] = sourceKeys[i];
+                targetRows[target] = sourceRows[i];
+            }
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            int[] swapRows = sourceRows;
+            sourceRows = targetRows;
+            targetRows = swapRows;
+        }
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, from, keys, from, to - from);
+            System.arraycopy(sourceRows, from, rows, from, to - from);
+        }
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) (key >>> shift) & (RADIX - 1);
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.sorting;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.NumberColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes the tables spilled to disk by {@link ExternalSort} and by the grace hash join.
+ * <p>
+ * A run file is a sequence of row groups, each a row count followed by every column's values for those rows, and is
+ * ended by a group of zero rows. Numbers, dates, times, date-times and booleans are written in their internal binary
+ * form; strings as a dictionary for the group followed by one code per row, in one, two or four bytes depending on the
+ * size of the dictionary
+ */
+public final class RunFile {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Don't instantiate
+    private RunFile() {
+    }
+
+    /**
+     * Writes the given table to the file in groups of the given number of rows
+     */
+    public static void write(Table table, File file, int rowGroupSize) throws IOException {
+        try (Writer writer = new Writer(file)) {
+            writer.write(table, rowGroupSize);
+        }
+    }
+
+    private static void write(DataOutputStream out, Column column, int start, int end) throws IOException {
+        switch (column.type()) {
+            case NUMBER:
+                NumberColumn numbers = (NumberColumn) column;
+                for (int row = start; row < end; row++) {
+                    out.writeDouble(numbers.get(row));
+                }
+                break;
+            case LOCAL_DATE:
+                DateColumn dates = (DateColumn) column;
+                for (int row = start; row < end; row++) {
+                    out.writeInt(dates.getIntInternal(row));
+                }
+                break;
+            case LOCAL_TIME:
+                TimeColumn times = (TimeColumn) column;
+                for (int row = start; row < end; row++) {
+                    out.writeInt(times.getIntInternal(row));
+                }
+                break;
+            case LOCAL_DATE_TIME:
+                DateTimeColumn dateTimes = (DateTimeColumn) column;
+                for (int row = start; row < end; row++) {
+                    out.writeLong(dateTimes.getLongInternal(row));
+                }
+                break;
+            case BOOLEAN:
+                BooleanColumn booleans = (BooleanColumn) column;
+                for (int row = start; row < end; row++) {
+                    out.writeByte(booleans.getByte(row));
+                }
+                break;
+            case STRING:
+                writeStrings(out, (StringColumn) column, start, end);
+                break;
+            default:
+                throw new IllegalArgumentException("Cannot spill column " + column.name() + " of type "
+                        + column.type());
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, StringColumn column, int start, int end)
+            throws IOException {
+        Object2IntMap<String> codes = new Object2IntOpenHashMap<>();
+        codes.defaultReturnValue(-1);
+        List<String> dictionary = new ArrayList<>();
+        int[] rowCodes = new int[end - start];
+        for (int row = start; row < end; row++) {
+            String value = column.get(row);
+            int code = codes.getInt(value);
+            if (code < 0) {
+                code = dictionary.size();
+                codes.put(value, code);
+                dictionary.add(value);
+            }
+            rowCodes[row - start] = code;
+        }
+        out.writeInt(dictionary.size());
+        for (String value : dictionary) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        int codeBytes = codeBytes(dictionary.size());
+        for (int code : rowCodes) {
+            if (codeBytes == 1) {
+                out.writeByte(code);
+            } else if (codeBytes == 2) {
+                out.writeShort(code);
+            } else {
+                out.writeInt(code);
+            }
+        }
+    }
+
+    private static int codeBytes(int dictionarySize) {
+        if (dictionarySize <= 1 << 8) {
+            return 1;
+        }
+        return dictionarySize <= 1 << 16 ? 2 : 4;
+    }
+
+    /**
+     * Writes a run file from any number of tables with the same columns, ending it when closed
+     */
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+
+        public Writer(File file) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+        }
+
+        /**
+         * Appends the rows of the given table in groups of the given number of rows
+         */
+        public void write(Table table, int rowGroupSize) throws IOException {
+            for (int start = 0; start < table.rowCount(); start += rowGroupSize) {
+                int end = Math.min(table.rowCount(), start + rowGroupSize);
+                out.writeInt(end - start);
+                for (Column column : table.columns()) {
+                    RunFile.write(out, column, start, end);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.writeInt(0);
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Reads a run file back one row group at a time
+     */
+    public static final class Reader implements Closeable {
+
+        private final DataInputStream in;
+        private final Table schema;
+
+        /**
+         * Opens the given file, whose columns are those of the given table
+         */
+        public Reader(File file, Table schema) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+            this.schema = schema;
+        }
+
+        /**
+         * Returns the next row group as a table, or null after the last
+         */
+        public Table next() throws IOException {
+            int rows = in.readInt();
+            if (rows == 0) {
+                return null;
+            }
+            Table group = schema.emptyCopy(rows);
+            for (Column column : group.columns()) {
+                read(column, rows);
+            }
+            return group;
+        }
+
+        private void read(Column column, int rows) throws IOException {
+            switch (column.type()) {
+                case NUMBER:
+                    NumberColumn numbers = (NumberColumn) column;
+                    for (int i = 0; i < rows; i++) {
+                        numbers.append(in.readDouble());
+                    }
+                    break;
+                case LOCAL_DATE:
+                    DateColumn dates = (DateColumn) column;
+                    for (int i = 0; i < rows; i++) {
+                        dates.appendInternal(in.readInt());
+                    }
+                    break;
+                case LOCAL_TIME:
+                    TimeColumn times = (TimeColumn) column;
+                    for (int i = 0; i < rows; i++) {
+                        times.appendInternal(in.readInt());
+                    }
+                    break;
+                case LOCAL_DATE_TIME:
+                    DateTimeColumn dateTimes = (DateTimeColumn) column;
+                    for (int i = 0; i < rows; i++) {
+                        dateTimes.appendInternal(in.readLong());
+                    }
+                    break;
+                case BOOLEAN:
+                    BooleanColumn booleans = (BooleanColumn) column;
+                    for (int i = 0; i < rows; i++) {
+                        booleans.append(in.readByte());
+                    }
+                    break;
+                case STRING:
+                    readStrings((StringColumn) column, rows);
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled column type in case statement");
+            }
+        }
+
+        private void readStrings(StringColumn column, int rows) throws IOException {
+            String[] dictionary = new String[in.readInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            int codeBytes = codeBytes(dictionary.length);
+            for (int i = 0; i < rows; i++) {
+                int code;
+                if (codeBytes == 1) {
+                    code = in.readUnsignedByte();
+                } else if (codeBytes == 2) {
+                    code = in.readUnsignedShort();
+                } else {
+                    code = in.readInt();
+                }
+                column.append(dictionary[code]);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.sorting;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the first n rows in a given order without sorting all of them.
+ * <p>
+ * Rows are streamed through a bounded max-heap holding the best n rows seen so far, so a row that cannot make the cut
+ * costs one comparison against the heap's root. Large inputs are split into chunks that build their own heaps in
+ * parallel; the surviving rows of all chunks are then sorted and cut to n. Rows that compare equal are kept in row
+ * order, so the result is the first n rows of a stable sort. The comparator must be safe to call from several threads.
+ */
+public final class TopN {
+
+    /**
+     * The number of rows at which the rows are split into chunks handled in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    // Don't instantiate
+    private TopN() {
+    }
+
+    /**
+     * Returns the first n of the rows [0, size) in the order given by the comparator, in that order. Returns all the
+     * rows if n is larger than size
+     */
+    public static int[] rows(int size, int n, IntComparator order) {
+        IntComparator stableOrder = (r1, r2) -> {
+            int result = order.compare(r1, r2);
+            return result != 0 ? result : Integer.compare(r1, r2);
+        };
+        int limit = Math.max(0, Math.min(n, size));
+        int[] candidates;
+        if (size < PARALLEL_THRESHOLD || limit == 0) {
+            candidates = heap(0, size, limit, stableOrder);
+        } else {
+            int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (4 * ForkJoinPool.getCommonPoolParallelism()));
+            int chunks = (size + chunkSize - 1) / chunkSize;
+            candidates = IntStream.range(0, chunks)
+                    .parallel()
+                    .mapToObj(chunk -> heap(chunk * chunkSize, Math.min(size, (chunk + 1) * chunkSize), limit,
+                            stableOrder))
+                    .flatMapToInt(IntStream::of)
+                    .toArray();
+        }
+        IntArrays.quickSort(candidates, stableOrder);
+        return candidates.length > limit ? IntArrays.trim(candidates, limit) : candidates;
+    }
+
+    /**
+     * Returns, in no particular order, the first n rows in [from, to) under the given total order
+     */
+    private static int[] heap(int from, int to, int n, IntComparator order) {
+        int[] heap = new int[Math.min(n, to - from)];
+        int size = 0;
+        for (int row = from; row < to; row++) {
+            if (size < heap.length) {
+                // sift up
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (order.compare(row, heap[parent]) <= 0) {
+                        break;
+                    }
+                    heap[i] = heap[parent];
+                    i = parent;
+                }
+                heap[i] = row;
+            } else if (size > 0 && order.compare(row, heap[0]) < 0) {
+                // replace the worst row kept and sift down
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                        child++;
+                    }
+                    if (order.compare(heap[child], row) <= 0) {
+                        break;
+                    }
+                    heap[i] = heap[child];
+                    i = child;
+                }
+                heap[i] = row;
+            }
+        }
+        return heap;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.table;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.NumberColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionBuilder;
+
+import java.util.List;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the distinct rows of a table by hashing.
+ * <p>
+ * Each row's key columns are reduced to a 64-bit hash of their primitive values, with strings represented by their
+ * dictionary keys. Rows with equal hashes are confirmed equal by comparing those values, so no strings are compared.
+ * Large tables are split into partitions on the hash and the partitions deduplicated in parallel
+ */
+public final class DuplicateRows {
+
+    /**
+     * Which row of each set of duplicates to keep
+     */
+    public enum Keep {FIRST, LAST}
+
+    /**
+     * The number of rows at which rows are deduplicated in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int PARTITION_BITS = 6;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final IntToLongFunction[] values;
+    private final int rowCount;
+
+    private DuplicateRows(Column[] columns, int rowCount) {
+        this.values = new IntToLongFunction[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = values(columns[i]);
+        }
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Returns the rows of the table that are not duplicates of another: of each set of rows with equal values in the
+     * named columns, or in all columns if none are named, the first or the last
+     */
+    public static Selection distinctRows(Table table, Keep keep, String... columnNames) {
+        List<Column> columns = columnNames.length == 0 ? table.columns() : table.columns(columnNames);
+        return new DuplicateRows(columns.toArray(new Column[0]), table.rowCount()).select(keep);
+    }
+
+    private Selection select(Keep keep) {
+        long[] hashes = new long[rowCount];
+        IntStream rows = IntStream.range(0, rowCount);
+        if (rowCount >= PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        rows.forEach(row -> hashes[row] = hash(row));
+
+        boolean[] kept = new boolean[rowCount];
+        if (rowCount < PARALLEL_THRESHOLD) {
+            int[] all = new int[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                all[row] = row;
+            }
+            deduplicate(all, 0, rowCount, hashes, keep, kept);
+        } else {
+            int partitions = 1 << PARTITION_BITS;
+            int[] starts = new int[partitions + 1];
+            for (long hash : hashes) {
+                starts[partition(hash) + 1]++;
+            }
+            for (int p = 0; p < partitions; p++) {
+                starts[p + 1] += starts[p];
+            }
+            int[] grouped = new int[rowCount];
+            int[] positions = starts.clone();
+            for (int row = 0; row < rowCount; row++) {
+                grouped[positions[partition(hashes[row])]++] = row;
+            }
+            IntStream.range(0, partitions).parallel().forEach(p ->
+                    deduplicate(grouped, starts[p], starts[p + 1], hashes, keep, kept));
+        }
+        return SelectionBuilder.select(0, rowCount, row -> kept[row]);
+    }
+
+    /**
+     * Marks the rows to keep among the given range of rows, which are in ascending order
+     */
+    private void deduplicate(int[] rows, int start, int end, long[] hashes, Keep keep, boolean[] kept) {
+        Long2IntOpenHashMap firstRows = new Long2IntOpenHashMap(end - start);
+        firstRows.defaultReturnValue(-1);
+        IntArrayList collisions = null;
+        for (int i = start; i < end; i++) {
+            int row = rows[keep == Keep.FIRST ? i : end - 1 - (i - start)];
+            long hash = hashes[row];
+            int seen = firstRows.putIfAbsent(hash, row);
+            if (seen < 0) {
+                kept[row] = true;
+            } else if (!equal(seen, row)) {
+                // a different row with the same hash: compare with every kept row that shares it
+                if (collisions == null) {
+                    collisions = new IntArrayList();
+                }
+                if (!isDuplicate(row, hash, hashes, collisions)) {
+                    collisions.add(row);
+                    kept[row] = true;
+                }
+            }
+        }
+    }
+
+    private boolean isDuplicate(int row, long hash, long[] hashes, IntArrayList collisions) {
+        for (int i = 0; i < collisions.size(); i++) {
+            int other = collisions.getInt(i);
+            if (hashes[other] == hash && equal(other, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean equal(int row1, int row2) {
+        for (IntToLongFunction value : values) {
+            if (value.applyAsLong(row1) != value.applyAsLong(row2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long hash(int row) {
+        long hash = 0;
+        for (IntToLongFunction value : values) {
+            hash = (hash + value.applyAsLong(row)) * HASH_MULTIPLIER;
+        }
+        return hash ^ (hash >>> 31);
+    }
+
+    private static int partition(long hash) {
+        return (int) ((hash * HASH_MULTIPLIER) >>> (Long.SIZE - PARTITION_BITS));
+    }
+
+    /**
+     * Returns the value of each row of the column as a long that is equal for two rows exactly when their values are
+     */
+    private static IntToLongFunction values(Column column) {
+        switch (column.type()) {
+            case NUMBER:
+                NumberColumn numbers = (NumberColumn) column;
+                return row -> Double.doubleToLongBits(numbers.get(row) + 0.0);
+            case LOCAL_DATE:
+                return ((DateColumn) column)::getIntInternal;
+            case LOCAL_TIME:
+                return ((TimeColumn) column)::getIntInternal;
+            case LOCAL_DATE_TIME:
+                return ((DateTimeColumn) column)::getLongInternal;
+            case BOOLEAN:
+                return ((BooleanColumn) column)::getByte;
+            case STRING:
+                return ((StringColumn) column).values()::getInt;
+            default:
+                throw new IllegalStateException("Unhandled column type in case statement");
+        }
+    }
+}
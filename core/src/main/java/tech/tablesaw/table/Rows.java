@@ -123,9 +123,7 @@ public class Rows {
     }
 
     public static void copyRowsToTable(Selection rows, Table oldTable, Table newTable) {
-        int[] r = rows.toArray();
-        IntArrayList rowArray = new IntArrayList(r);
-        copyRowsToTable(rowArray, oldTable, newTable);
+        copyRowsToTable(IntArrayList.wrap(rows.toArray()), oldTable, newTable);
     }
 
     public static void head(int rowCount, Table oldTable, Table newTable) {
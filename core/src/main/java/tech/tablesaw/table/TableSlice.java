@@ -21,6 +21,7 @@ import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
+import tech.tablesaw.selection.SelectionCursor;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,6 +38,10 @@ public class TableSlice extends Relation implements IntIterable {
     private String name;
     private final Table table;
 
+    // each thread reads the selection through its own cursor, so that reading a row's cells in turn, or the rows in
+    // order, does not search the selection afresh for every cell
+    private final ThreadLocal<SelectionCursor> cursors;
+
     /**
      * Returns a new View constructed from the given table, containing only the rows represented by the bitmap
      */
@@ -44,6 +49,7 @@ public class TableSlice extends Relation implements IntIterable {
         this.name = table.name();
         this.selection = rowSelection;
         this.table = table;
+        this.cursors = ThreadLocal.withInitial(rowSelection::cursor);
     }
 
     @Override
@@ -84,7 +90,7 @@ public class TableSlice extends Relation implements IntIterable {
 
     @Override
     public String get(int r, int c) {
-        return table.get(selection.get(r), c);
+        return table.get(cursors.get().get(r), c);
     }
 
     @Override
@@ -0,0 +1,99 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.util;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import java.util.function.LongPredicate;
+
+/**
+ * A Bloom filter over long keys, used to reject most non-members before probing a large hash set.
+ * <p>
+ * The filter is blocked: every key sets three bits within a single 64-bit word, so a probe touches one word, and the
+ * filter takes about eight bits per key, small enough to stay in cache when the set it guards does not
+ */
+public final class LongBloomFilter {
+
+    /**
+     * The number of keys at which {@link #prefiltered(LongSet)} places a Bloom filter in front of the set
+     */
+    public static final int PREFILTER_THRESHOLD = 1 << 16;
+
+    private final long[] words;
+    private final int wordMask;
+
+    /**
+     * Returns an empty filter sized for the given number of keys
+     */
+    public LongBloomFilter(int expectedKeys) {
+        int minimumWords = Math.max(1, expectedKeys / 8);
+        int wordCount = Integer.highestOneBit(minimumWords);
+        if (wordCount < minimumWords) {
+            wordCount <<= 1;
+        }
+        this.words = new long[wordCount];
+        this.wordMask = wordCount - 1;
+    }
+
+    public void add(long key) {
+        long hash = mix(key);
+        words[(int) hash & wordMask] |= bits(hash);
+    }
+
+    /**
+     * Returns false if the key was never added, and true if it probably was
+     */
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        long bits = bits(hash);
+        return (words[(int) hash & wordMask] & bits) == bits;
+    }
+
+    /**
+     * Returns a membership test for the given set. Sets of at least {@link #PREFILTER_THRESHOLD} keys are tested
+     * through a Bloom filter first
+     */
+    public static LongPredicate prefiltered(LongSet set) {
+        if (set.size() < PREFILTER_THRESHOLD) {
+            return set::contains;
+        }
+        LongBloomFilter filter = new LongBloomFilter(set.size());
+        for (LongIterator it = set.iterator(); it.hasNext(); ) {
+            filter.add(it.nextLong());
+        }
+        return key -> filter.mightContain(key) && set.contains(key);
+    }
+
+    /**
+     * Returns three bits of a word, chosen by the high bits of the hash; the low bits choose the word
+     */
+    private static long bits(long hash) {
+        return 1L << (hash >>> 58) | 1L << (hash >>> 52) | 1L << (hash >>> 46);
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
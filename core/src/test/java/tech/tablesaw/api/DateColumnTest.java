@@ -10,6 +10,8 @@ import java.util.stream.Collectors;
 
 import static tech.tablesaw.columns.dates.PackedLocalDate.asLocalDate;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class DateColumnTest {
     private DateColumn column1;
@@ -158,4 +160,28 @@ public class DateColumnTest {
                 sorted.dateColumn("Date").asList());
     }
 
+    @Test
+    public void testSortedRangeFilters() {
+        Table unsorted = Table.read().csv(
+                "Date,1 Yr Treasury Rate\n"
+                        + "\"01-01-1871\",4.44%\n"
+                        + "\"01-01-1920\",8.83%\n"
+                        + "\"01-01-1921\",7.11%\n"
+                        + "\"01-01-1919\",7.85%\n",
+                "1 Yr Treasury Rate");
+        assertFalse(unsorted.dateColumn("Date").isSortedAscending());
+
+        DateColumn dates = unsorted.sortOn("Date").dateColumn("Date");
+        assertTrue(dates.isSortedAscending());
+        assertEquals(2, dates.isAfter(LocalDate.of(1919, 1, 1)).size());
+        assertEquals(3, dates.isOnOrAfter(LocalDate.of(1919, 1, 1)).size());
+        assertEquals(1, dates.isBefore(LocalDate.of(1919, 1, 1)).size());
+        assertEquals(1, dates.isEqualTo(LocalDate.of(1920, 1, 1)).size());
+        assertEquals(0, dates.isEqualTo(LocalDate.of(1900, 1, 1)).size());
+        assertEquals(2, dates.isBetweenIncluding(LocalDate.of(1919, 1, 1), LocalDate.of(1920, 1, 1)).size());
+
+        dates.set(0, LocalDate.of(2000, 1, 1));
+        assertFalse(dates.isSortedAscending());
+        assertEquals(3, dates.isAfter(LocalDate.of(1919, 1, 1)).size());
+    }
 }
@@ -186,6 +186,28 @@ public class NumberColumnTest {
         assertNotNull(result);
     }
 
+    @Test
+    public void testIsInCollection() {
+        int size = 200_000;
+        DoubleColumn column = DoubleColumn.create("ids", size);
+        for (int i = 0; i < size; i++) {
+            column.append(i % 3 == 0 ? NaN : i);
+        }
+        // enough values to put a Bloom filter in front of the set
+        DoubleArrayList ids = new DoubleArrayList();
+        for (int i = 0; i < 2 * size; i += 2) {
+            ids.add(i);
+        }
+        Selection selection = column.isIn(ids);
+        Selection expected = column.eval(value -> !Double.isNaN(value) && value % 2 == 0);
+        assertEquals(expected, selection);
+        assertEquals(size - expected.size(), column.isNotIn(ids).size());
+
+        NumberColumn other = DoubleColumn.create("other", new double[]{3, NaN, 4, 4});
+        assertEquals(Selection.with(4), column.isIn(other));
+        assertEquals(Selection.with(0, 3, 4, 6), column.isIn(new double[]{3, 4, NaN}).and(Selection.withRange(0, 7)));
+    }
+
     @Test
     public void testCorrelation() {
         double[] x = new double[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
@@ -464,6 +486,45 @@ public class NumberColumnTest {
         assertEquals(0, doubles.isNotMissing().size());
     }
 
+    @Test
+    public void testMissingTrackedThroughSetAndSort() {
+        NumberColumn doubles = DoubleColumn.create("doubles", new double[] {4, Double.NaN, 2, 1});
+        assertEquals(1, doubles.countMissing());
+        assertTrue(doubles.isMissing().contains(1));
+
+        doubles.set(1, 3.0);
+        assertEquals(0, doubles.countMissing());
+        doubles.set(0, Double.NaN);
+        assertEquals(1, doubles.countMissing());
+        assertTrue(doubles.isMissing().contains(0));
+
+        doubles.sortAscending();
+        assertTrue(doubles.isMissing().contains(3));
+        assertEquals(3, doubles.isNotMissing().size());
+        assertEquals(3, doubles.removeMissing().size());
+        assertEquals(1, doubles.copy().countMissing());
+        assertEquals(1, doubles.lag(1).countMissing());
+        assertEquals(2, doubles.lag(-1).countMissing());
+    }
+
+    @Test
+    public void testSortedRangeFilters() {
+        DoubleColumn doubles = DoubleColumn.create("doubles", new double[] {3, 1, NaN, 2, 2, -0.0});
+        assertFalse(doubles.isSortedAscending());
+        Selection unsortedResult = doubles.isBetweenInclusive(0, 2);
+
+        doubles.sortAscending();
+        assertTrue(doubles.isSortedAscending());
+        assertEquals(unsortedResult.size(), doubles.isBetweenInclusive(0, 2).size());
+        assertEquals(4, doubles.isGreaterThanOrEqualTo(1).size());
+        assertEquals(1, doubles.isGreaterThan(2).size());
+        assertEquals(1, doubles.isEqualTo(0.0).size());
+        assertEquals(4, doubles.isLessThan(3).size());
+
+        doubles.append(4);
+        assertFalse(doubles.isSortedAscending());
+    }
+
     @Test
     public void testEmptyCopy() {
         NumberColumn doubles =  DoubleColumn.create("doubles", 100);
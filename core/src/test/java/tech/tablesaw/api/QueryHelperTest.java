@@ -2,9 +2,14 @@ package tech.tablesaw.api;
 
 import org.junit.Before;
 import org.junit.Test;
+import tech.tablesaw.selection.BitmapBackedSelection;
+import tech.tablesaw.selection.Selection;
+
+import java.time.LocalDate;
 
 import static tech.tablesaw.api.QueryHelper.*;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -47,4 +52,31 @@ public class QueryHelperTest {
 
         assertTrue(result.get(0, "who").startsWith("f"));
     }
+
+    @Test
+    public void testCompositeFilters() {
+        LocalDate date = LocalDate.of(2002, 6, 1);
+        Selection fox = t.stringColumn("who").isEqualTo("fox");
+        Selection high = t.numberColumn("approval").isGreaterThan(70);
+        Selection early = t.dateColumn("date").isBefore(date);
+
+        Selection expected = copy(fox).and(high).and(early);
+        assertEquals(expected, and(numberColumn("approval").isGreaterThan(70), dateColumn("date").isBefore(date),
+                stringColumn("who").isEqualTo("fox")).apply(t));
+
+        expected = copy(fox).or(high).or(early);
+        assertEquals(expected, or(numberColumn("approval").isGreaterThan(70), dateColumn("date").isBefore(date),
+                stringColumn("who").isEqualTo("fox")).apply(t));
+
+        expected = copy(high).and(copy(fox).or(copy(early).flip(0, t.rowCount())));
+        assertEquals(expected, and(numberColumn("approval").isGreaterThan(70),
+                or(stringColumn("who").isEqualTo("fox"), not(dateColumn("date").isBefore(date)))).apply(t));
+
+        assertEquals(0, and(stringColumn("who").isEqualTo("no such pollster"),
+                numberColumn("approval").isGreaterThan(0)).apply(t).size());
+    }
+
+    private static Selection copy(Selection selection) {
+        return new BitmapBackedSelection(selection.toBitmapInternal());
+    }
 }
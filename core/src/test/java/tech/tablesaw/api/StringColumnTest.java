@@ -14,12 +14,14 @@
 
 package tech.tablesaw.api;
 
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import org.junit.Before;
 import org.junit.Test;
 import tech.tablesaw.TestDataUtil;
 import tech.tablesaw.columns.strings.StringColumnFormatter;
 import tech.tablesaw.selection.Selection;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
 
@@ -40,6 +42,22 @@ public class StringColumnTest {
         column.append("Value 4");
     }
 
+    @Test
+    public void testRowComparatorInParallelSort() {
+        StringColumn column = StringColumn.create("s");
+        for (int i = 0; i < 200_000; i++) {
+            column.append("v" + ((i * 7919) % 50_000));
+        }
+        int[] rows = new int[column.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        IntArrays.parallelQuickSort(rows, column.rowComparator());
+        for (int i = 1; i < rows.length; i++) {
+            assertTrue(column.get(rows[i - 1]).compareTo(column.get(rows[i])) <= 0);
+        }
+    }
+
     @Test
     public void testSummarizeIf() {
         double result = column.summarizeIf(
@@ -256,6 +274,37 @@ public class StringColumnTest {
         assertEquals(49, selection.size());
     }
 
+    @Test
+    public void testIsInColumn() {
+        StringColumn stringColumn = StringColumn.create("US States");
+        stringColumn.addAll(TestDataUtil.usStates());
+        stringColumn.appendCell("");
+        StringColumn wanted = StringColumn.create("wanted");
+        wanted.addAll(Arrays.asList("Texas", "Atlantis", "Alabama", "Texas", ""));
+        StringColumn selection = stringColumn.where(stringColumn.isIn(wanted));
+        assertEquals(Arrays.asList("Alabama", "Texas"), selection.asList());
+        assertEquals(stringColumn.size() - 2, stringColumn.isNotIn(wanted).size());
+        assertEquals(stringColumn.isIn("Alabama", "Texas"), stringColumn.isIn(Arrays.asList("Texas", "Alabama")));
+    }
+
+    @Test
+    public void testOrderingByDictionaryRank() {
+        StringColumn column = StringColumn.create("c", new String[]{"pear", "apple", "", "fig", "apple", "Zebra"});
+        assertEquals(Arrays.asList("pear", "fig", "apple"), column.top(3));
+        assertEquals(Arrays.asList("", "Zebra", "apple", "apple", "fig", "pear"), column.bottom(10));
+        assertTrue(column.rowComparator().compare(1, 0) < 0);
+
+        // appending a new string changes the dictionary, so the ranks are recomputed
+        column.append("banana");
+        assertEquals(Arrays.asList("", "Zebra", "apple", "apple", "banana"), column.bottom(5));
+        column.set(0, "aardvark");
+        column.sortDescending();
+        assertEquals(Arrays.asList("fig", "banana", "apple", "apple", "aardvark", "Zebra", ""), column.asList());
+        column.sortAscending();
+        assertEquals(Arrays.asList("", "Zebra", "aardvark", "apple", "apple", "banana", "fig"), column.asList());
+        assertEquals(1, column.isMissing().size());
+    }
+
     @Test
     public void testToList() {
         StringColumn stringColumn = StringColumn.create("US States");
@@ -469,4 +518,19 @@ public class StringColumnTest {
         assertEquals("foo bam", result.get(0));
         assertEquals("bar bam", result.get(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRemoveMissing() {
+        StringColumn column = StringColumn.create("s", new String[] {"a", "", "b", ""});
+        assertEquals(2, column.countMissing());
+        StringColumn noMissing = column.removeMissing();
+        assertEquals(2, noMissing.size());
+        assertEquals(0, noMissing.countMissing());
+
+        column.set(1, "c");
+        assertEquals(1, column.countMissing());
+        assertTrue(column.isMissing().contains(3));
+        column.sortAscending();
+        assertTrue(column.isMissing().contains(0));
+    }
+}
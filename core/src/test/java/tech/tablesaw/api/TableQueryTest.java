@@ -1,11 +1,16 @@
 package tech.tablesaw.api;
 
 import org.junit.Test;
+import tech.tablesaw.filtering.Filter;
 
 import java.io.IOException;
 import java.time.LocalDate;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static tech.tablesaw.api.QueryHelper.dateColumn;
+import static tech.tablesaw.api.QueryHelper.numberColumn;
+import static tech.tablesaw.api.QueryHelper.stringColumn;
 
 public class TableQueryTest {
 
@@ -25,4 +30,42 @@ public class TableQueryTest {
         assertEquals(0, t1.rowCount());
         assertEquals(93, t2.rowCount());
     }
+
+    @Test
+    public void testWithIndex() throws IOException {
+        Table t = Table.read().csv("../data/bush.csv");
+        Filter[] filters = {
+                numberColumn("approval").isEqualTo(53),
+                numberColumn("approval").isIn(53, 70),
+                numberColumn("approval").isBetweenInclusive(60, 70),
+                numberColumn("approval").isLessThan(60),
+                dateColumn("date").isBetweenIncluding(LocalDate.of(2001, 9, 11), LocalDate.of(2004, 1, 1)),
+                dateColumn("date").isAfter(LocalDate.of(2001, 9, 11)),
+                dateColumn("date").isBefore(LocalDate.of(2001, 9, 11)),
+                stringColumn("who").isEqualTo("fox"),
+                stringColumn("who").isIn("fox", "gallup"),
+        };
+        t.createIndex("approval").createIndex("date").createIndex("who");
+        assertTrue(t.hasIndex("who"));
+        Table unindexed = t.copy();
+        for (Filter filter : filters) {
+            assertEquals(filter.apply(unindexed), filter.apply(t));
+        }
+
+        t.append(unindexed);
+        unindexed.append(unindexed.copy());
+        for (Filter filter : filters) {
+            assertEquals(filter.apply(unindexed), filter.apply(t));
+        }
+
+        t.numberColumn("approval").set(0, 53);
+        t.stringColumn("who").set(1, "fox");
+        t.dateColumn("date").sortDescending();
+        unindexed.numberColumn("approval").set(0, 53);
+        unindexed.stringColumn("who").set(1, "fox");
+        unindexed.dateColumn("date").sortDescending();
+        for (Filter filter : filters) {
+            assertEquals(filter.apply(unindexed), filter.apply(t));
+        }
+    }
 }
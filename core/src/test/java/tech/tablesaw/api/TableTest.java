@@ -22,6 +22,7 @@ import tech.tablesaw.columns.Column;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
@@ -315,6 +316,66 @@ public class TableTest {
         assertTableColumnSize(table, column, secondColumnSize);
     }
 
+    @Test
+    public void testConcatAll() {
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tables.add(Table.create("minute" + i,
+                    StringColumn.create("s", new String[]{"m" + i, "", "shared"}),
+                    DoubleColumn.create("d", new double[]{i, Double.NaN, 10 + i}),
+                    DateColumn.create("date", new LocalDate[]{LocalDate.of(2018, 1, 1 + i), null, null}),
+                    BooleanColumn.create("b", new boolean[]{true, false, i == 1})));
+        }
+        tables.get(1).stringColumn("s").append("extra");
+        tables.get(1).numberColumn("d").append(5);
+        tables.get(1).dateColumn("date").append(LocalDate.of(2018, 2, 1));
+        tables.get(1).booleanColumn("b").append((Boolean) null);
+
+        Table result = Table.concatAll(tables);
+        assertEquals("minute0", result.name());
+        assertEquals(10, result.rowCount());
+        assertEquals(Arrays.asList("m0", "", "shared", "m1", "", "shared", "extra", "m2", "", "shared"),
+                result.stringColumn("s").asList());
+        assertEquals(3, result.stringColumn("s").countMissing());
+        assertEquals(3, result.stringColumn("s").isEqualTo("shared").size());
+        assertArrayEquals(new double[]{0, Double.NaN, 10, 1, Double.NaN, 11, 5, 2, Double.NaN, 12},
+                result.numberColumn("d").asDoubleArray(), 0.0);
+        assertEquals(3, result.numberColumn("d").countMissing());
+        assertEquals(2, result.numberColumn("d").isGreaterThan(10.5).size());
+        assertEquals(6, result.dateColumn("date").countMissing());
+        assertEquals(LocalDate.of(2018, 2, 1), result.dateColumn("date").get(6));
+        assertEquals(1, result.dateColumn("date").isAfter(LocalDate.of(2018, 1, 3)).size());
+        assertEquals(1, result.booleanColumn("b").countMissing());
+        assertEquals(4, result.booleanColumn("b").isTrue().size());
+        assertEquals(3, tables.get(0).rowCount());
+    }
+
+    @Test
+    public void testAppendKeepsSortedness() {
+        DoubleColumn values = DoubleColumn.create("d", new double[]{1, 2, 3});
+        Table sorted = Table.create("t", values);
+        sorted.append(Table.create("t", DoubleColumn.create("d", new double[]{3, 4})));
+        assertTrue(values.isSortedAscending());
+        sorted.append(Table.create("t", DoubleColumn.create("d", new double[]{2})));
+        assertFalse(values.isSortedAscending());
+    }
+
+    @Test
+    public void testAppendToItself() {
+        Table table = Table.create("t",
+                StringColumn.create("s", new String[]{"a", "", "b"}),
+                DoubleColumn.create("d", new double[]{1, Double.NaN, 2}));
+        table.append(table);
+        assertEquals(Arrays.asList("a", "", "b", "a", "", "b"), table.stringColumn("s").asList());
+        assertEquals(2, table.stringColumn("s").countMissing());
+        assertEquals(2, table.numberColumn("d").countMissing());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConcatAllWithDifferentColumns() {
+        Table.concatAll(Arrays.asList(table, Table.create("other", f1.emptyCopy(), numberColumn)));
+    }
+
     @Test(expected = NullPointerException.class)
     public void testAppendNull() {
         table.append(null);
@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.tablesaw.columns;
+
+import org.junit.Test;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.columns.numbers.NumberPredicates;
+import tech.tablesaw.columns.dates.PackedLocalDate;
+import tech.tablesaw.columns.datetimes.DateTimePredicates;
+import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+public class ZoneMapTest {
+
+    private static final int ROWS = 3 * ZoneMap.BLOCK_SIZE + 17;
+
+    @Test
+    public void testSortableBits() {
+        double[] ordered = {Double.NEGATIVE_INFINITY, -1e300, -1.5, -Double.MIN_VALUE, 0.0, Double.MIN_VALUE, 2.5,
+                Double.MAX_VALUE, Double.POSITIVE_INFINITY};
+        for (int i = 1; i < ordered.length; i++) {
+            assertTrue(ZoneMap.sortableBits(ordered[i - 1]) < ZoneMap.sortableBits(ordered[i]));
+        }
+        assertEquals(ZoneMap.sortableBits(0.0), ZoneMap.sortableBits(-0.0));
+    }
+
+    @Test
+    public void testBlockStatistics() {
+        ZoneMap zoneMap = new ZoneMap();
+        for (int i = 0; i < ZoneMap.BLOCK_SIZE + 2; i++) {
+            zoneMap.append(i, i, i % 10 == 0);
+        }
+        assertEquals(2, zoneMap.blockCount());
+        assertEquals(1, zoneMap.min(0));
+        assertEquals(ZoneMap.BLOCK_SIZE - 1, zoneMap.max(0));
+        assertEquals(ZoneMap.BLOCK_SIZE / 10 + 1, zoneMap.missingCount(0));
+
+        zoneMap.set(0, -5, true, false);
+        assertEquals(-5, zoneMap.min(0));
+        assertEquals(ZoneMap.BLOCK_SIZE / 10, zoneMap.missingCount(0));
+    }
+
+    @Test
+    public void testDoubleRangeFilters() {
+        DoubleColumn column = DoubleColumn.create("d", ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            column.append(i % 1000 == 0 ? Double.NaN : i);
+        }
+        column.set(5, -0.0);
+        double mid = ZoneMap.BLOCK_SIZE + 100;
+        assertEquals(column.eval(NumberPredicates.isGreaterThan, mid), column.isGreaterThan(mid));
+        assertEquals(column.eval(NumberPredicates.isLessThanOrEqualTo, mid), column.isLessThanOrEqualTo(mid));
+        assertEquals(column.eval(NumberPredicates.isEqualTo, 0.0), column.isEqualTo(0.0));
+        assertEquals(column.eval(NumberPredicates.isBetweenInclusive, 10, mid), column.isBetweenInclusive(10, mid));
+        assertEquals(column.eval(NumberPredicates.isBetweenExclusive, 10, mid), column.isBetweenExclusive(10, mid));
+        assertEquals(0, column.isGreaterThan(Double.NaN).size());
+        assertEquals(ROWS - column.countMissing(), column.isLessThan(Double.POSITIVE_INFINITY).size());
+    }
+
+    @Test
+    public void testDateRangeFilters() {
+        DateColumn column = DateColumn.create("d", ROWS);
+        LocalDate start = LocalDate.of(1900, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            column.append(i % 777 == 0 ? null : start.plusDays(i / 3));
+        }
+        LocalDate mid = start.plusDays(ZoneMap.BLOCK_SIZE / 3);
+        int packed = PackedLocalDate.pack(mid);
+        assertEquals(column.eval(PackedLocalDate::isAfter, packed), column.isAfter(mid));
+        assertEquals(column.eval(PackedLocalDate::isBefore, packed), column.isBefore(mid));
+        assertEquals(column.eval(PackedLocalDate::isOnOrAfter, packed), column.isOnOrAfter(mid));
+        assertEquals(column.eval(PackedLocalDate::isEqualTo, packed), column.isEqualTo(mid));
+    }
+
+    @Test
+    public void testDateTimeRangeFilters() {
+        DateTimeColumn column = DateTimeColumn.create("dt", ROWS);
+        LocalDateTime start = LocalDateTime.of(2017, 1, 1, 0, 0);
+        for (int i = 0; i < ROWS; i++) {
+            column.append(i % 555 == 0 ? null : start.plusMinutes(i));
+        }
+        LocalDateTime mid = start.plusMinutes(2 * ZoneMap.BLOCK_SIZE + 3);
+        long packed = PackedLocalDateTime.pack(mid);
+        assertEquals(column.eval(DateTimePredicates.isGreaterThan, packed), column.isAfter(mid));
+        assertEquals(column.eval(DateTimePredicates.isLessThan, packed), column.isBefore(mid));
+        assertEquals(column.eval(DateTimePredicates.isLessThanOrEqualTo, packed), column.isOnOrBefore(mid));
+        assertEquals(column.eval(DateTimePredicates.isEqualTo, packed), column.isEqualTo(mid));
+
+        column.set(1, start.plusYears(5));
+        assertTrue(column.isAfter(start.plusYears(4)).contains(1));
+    }
+
+    @Test
+    public void testEstimateCount() {
+        DoubleColumn column = DoubleColumn.create("d", ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            column.append(i % 1000 == 0 ? Double.NaN : (i * 7919L) % 1000);
+        }
+        double actual = column.isBetweenInclusive(100, 199).size();
+        assertEquals(actual, column.estimateCountBetweenInclusive(100, 199), 0.05 * actual);
+        assertEquals(0, column.estimateCountBetweenInclusive(2000, 3000), 0.0);
+
+        column.sortAscending();
+        assertEquals(actual, column.estimateCountBetweenInclusive(100, 199), 0.0);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.tablesaw.filtering;
+
+import org.junit.Before;
+import org.junit.Test;
+import tech.tablesaw.api.Table;
+
+import static org.junit.Assert.assertEquals;
+import static tech.tablesaw.api.QueryHelper.*;
+
+public class ColumnFilterTest {
+
+    private Table table;
+
+    @Before
+    public void setUp() throws Exception {
+        table = Table.read().csv("../data/bush.csv");
+    }
+
+    @Test
+    public void testEstimateSelectivityFromIndex() {
+        Filter filter = stringColumn("who").isEqualTo("fox");
+        double actual = (double) filter.apply(table).size() / table.rowCount();
+        table.createIndex("who");
+        assertEquals(actual, filter.estimateSelectivity(table), 0.0);
+    }
+
+    @Test
+    public void testEstimateSelectivityFromSortedColumn() {
+        table = table.sortAscendingOn("approval");
+        Filter filter = numberColumn("approval").isGreaterThan(70);
+        double actual = (double) filter.apply(table).size() / table.rowCount();
+        assertEquals(actual, filter.estimateSelectivity(table), 0.0);
+    }
+
+    @Test
+    public void testEstimateSelectivityFallsBackToDefault() {
+        table = Table.create("empty", table.numberColumn("approval").emptyCopy());
+        assertEquals(ColumnFilter.RANGE_SELECTIVITY,
+                numberColumn("approval").isGreaterThan(70).estimateSelectivity(table), 0.0);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.filtering;
+
+import org.junit.Before;
+import org.junit.Test;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.selection.Selection;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static tech.tablesaw.api.QueryHelper.*;
+
+public class CompiledFilterTest {
+
+    private Table table;
+
+    @Before
+    public void setUp() throws Exception {
+        table = Table.read().csv("../data/bush.csv");
+    }
+
+    @Test
+    public void testApply() {
+        LocalDate date = LocalDate.of(2002, 6, 1);
+        Filter filter = or(
+                and(numberColumn("approval").isGreaterThan(70), not(stringColumn("who").isIn("fox", "gallup"))),
+                and(dateColumn("date").isBefore(date), numberColumn("approval").isLessThanOrEqualTo(55)));
+
+        Selection expected = table.numberColumn("approval").isGreaterThan(70)
+                .andNot(table.stringColumn("who").isIn("fox", "gallup"))
+                .or(table.dateColumn("date").isBefore(date).and(table.numberColumn("approval").isLessThanOrEqualTo(55)));
+        assertEquals(expected, CompiledFilter.apply(filter, table));
+        assertEquals(expected, filter.apply(table));
+    }
+
+    @Test
+    public void testUncompilable() {
+        Filter filter = and(numberColumn("approval").isGreaterThan(70), stringColumn("who").startsWith("f"));
+        assertNull(CompiledFilter.apply(filter, table));
+
+        table.createIndex("approval");
+        assertNull(CompiledFilter.apply(numberColumn("approval").isGreaterThan(70), table));
+    }
+
+    @Test
+    public void testSortedColumnIsBinarySearched() {
+        Filter filter = and(numberColumn("approval").isGreaterThan(60), numberColumn("approval").isLessThan(70));
+        Selection expected = table.numberColumn("approval").isGreaterThan(60)
+                .and(table.numberColumn("approval").isLessThan(70));
+        assertNotNull(CompiledFilter.apply(filter, table));
+
+        table = table.sortAscendingOn("approval");
+        assertNull(filter.rowTest(table));
+        assertNull(CompiledFilter.apply(filter, table));
+        int from = table.numberColumn("approval").isLessThanOrEqualTo(60).size();
+        assertEquals(Selection.withRange(from, from + expected.size()), filter.apply(table));
+    }
+}
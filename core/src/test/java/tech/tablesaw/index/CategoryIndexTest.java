@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.index;
+
+import org.junit.Before;
+import org.junit.Test;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.io.csv.CsvReadOptions;
+import tech.tablesaw.selection.Selection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CategoryIndexTest {
+
+    private CategoryIndex index;
+    private Table table;
+
+    @Before
+    public void setUp() throws Exception {
+        table = Table.read().csv(CsvReadOptions.builder("../data/bush.csv"));
+        index = new CategoryIndex(table.stringColumn("who"));
+    }
+
+    @Test
+    public void testGet() {
+        Selection fromCol = table.stringColumn("who").isEqualTo("fox");
+        Selection fromIdx = index.get("fox");
+        assertEquals(fromCol, fromIdx);
+        assertEquals(0, index.get("not a pollster").size());
+    }
+
+    @Test
+    public void testIsIn() {
+        Selection fromCol = table.stringColumn("who").isIn("fox", "gallup", "not a pollster");
+        Selection fromIdx = index.isIn("fox", "gallup", "not a pollster");
+        assertEquals(fromCol, fromIdx);
+    }
+
+    @Test
+    public void testUpdate() {
+        StringColumn who = table.stringColumn("who");
+        who.append("fox");
+        who.append("new pollster");
+        assertTrue(index.isValid());
+        index.update();
+        assertEquals(who.isEqualTo("fox"), index.get("fox"));
+        assertEquals(who.isEqualTo("new pollster"), index.get("new pollster"));
+
+        who.set(0, "gallup");
+        assertFalse(index.isValid());
+    }
+}
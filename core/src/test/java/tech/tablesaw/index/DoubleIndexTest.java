@@ -17,12 +17,15 @@ package tech.tablesaw.index;
 import org.junit.Before;
 import org.junit.Test;
 import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.Table;
 import tech.tablesaw.io.csv.CsvReadOptions;
 import tech.tablesaw.selection.Selection;
 import tech.tablesaw.columns.numbers.NumberPredicates;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  *
@@ -82,4 +85,32 @@ public class DoubleIndexTest {
         Selection fromIdx = index.greaterThan(30.330425);
         assertEquals(fromCol, fromIdx);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMissingAndSpecialValues() {
+        DoubleColumn column = DoubleColumn.create("d", new double[]{1, Double.NaN, -0.0, 0.0, Double.POSITIVE_INFINITY});
+        DoubleIndex doubleIndex = new DoubleIndex(column);
+        assertEquals(2, doubleIndex.get(0.0).size());
+        assertEquals(0, doubleIndex.get(Double.NaN).size());
+        assertEquals(4, doubleIndex.atMost(Double.POSITIVE_INFINITY).size());
+        assertEquals(0, doubleIndex.greaterThan(Double.POSITIVE_INFINITY).size());
+        assertEquals(column.isGreaterThanOrEqualTo(0), doubleIndex.atLeast(0));
+        assertEquals(column.isBetweenInclusive(0, 1), doubleIndex.between(0, 1));
+    }
+
+    @Test
+    public void testUpdateAndInvalidation() {
+        DoubleColumn column = DoubleColumn.create("d", new double[]{1, 2, 3});
+        DoubleIndex doubleIndex = new DoubleIndex(column);
+        column.append(2);
+        assertTrue(doubleIndex.isValid());
+        doubleIndex.update();
+        assertEquals(column.isEqualTo(2), doubleIndex.get(2));
+
+        doubleIndex.get(2).add(0);
+        assertEquals(2, doubleIndex.get(2).size());
+
+        column.set(0, 2);
+        assertFalse(doubleIndex.isValid());
+    }
+}
@@ -1,7 +1,27 @@
 package tech.tablesaw.joining;
 
 import org.junit.Test;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.NumberColumn;
+import tech.tablesaw.api.StringColumn;
 import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.selection.Selection;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 
@@ -127,4 +147,352 @@ public class DataFrameJoinerTest {
         assertEquals(3, joined.columnCount());
         assertEquals(4, joined.rowCount());
     }
+
+    private static final Table SALES = Table.read().csv(
+            "Region,Date,Sku,Units\n"
+                    + "East,2017-11-01,10,5\n"
+                    + "East,2017-11-02,10,7\n"
+                    + "West,2017-11-01,10,3\n"
+                    + "West,2017-11-01,20,4\n"
+                    + "North,2017-11-01,10,1\n",
+            "Sales");
+
+    private static final Table PRICES = Table.read().csv(
+            "Region,Date,Sku,Price\n"
+                    + "East,2017-11-01,10,1.5\n"
+                    + "West,2017-11-01,10,1.75\n"
+                    + "West,2017-11-01,20,2.25\n"
+                    + "West,2017-11-01,20,2.5\n"
+                    + "East,2017-11-02,20,9.0\n",
+            "Prices");
+
+    @Test
+    public void innerJoinOnMultipleColumns() {
+        Table joined = SALES.join("Region", "Sku").inner(PRICES.select("Region", "Sku", "Price"), "Region", "Sku");
+        assertEquals(5, joined.columnCount());
+        assertEquals(5, joined.rowCount());
+        assertEquals("East", joined.stringColumn("Region").get(0));
+        assertEquals(1.5, joined.numberColumn("Price").get(1), 0.0);
+        assertEquals(2.25, joined.numberColumn("Price").get(3), 0.0);
+        assertEquals(2.5, joined.numberColumn("Price").get(4), 0.0);
+        assertEquals(3.0, joined.numberColumn("Units").get(2), 0.0);
+    }
+
+    @Test
+    public void leftOuterJoinOnMultipleColumns() {
+        Table joined = SALES.join("Date", "Sku").leftOuter(PRICES.select("Date", "Sku", "Price"), "Date", "Sku");
+        assertEquals(5, joined.columnCount());
+        assertEquals(9, joined.rowCount());
+        assertTrue(joined.numberColumn("Price").isMissing(2));
+        assertEquals("East", joined.stringColumn("Region").get(2));
+    }
+
+    @Test
+    public void packedJoinKeys() {
+        DateColumn dates = DateColumn.create("date");
+        TimeColumn times = TimeColumn.create("time");
+        NumberColumn numbers = DoubleColumn.create("number");
+        assertTrue(JoinKeys.of(new Column[]{dates, times}, new Column[]{dates, times}).isPacked());
+        assertFalse(JoinKeys.of(new Column[]{dates, numbers}, new Column[]{dates, numbers}).isPacked());
+        StringColumn strings = StringColumn.create("string", new String[]{"a", "b"});
+        assertTrue(JoinKeys.of(new Column[]{strings, dates}, new Column[]{strings, dates}).isPacked());
+    }
+
+    @Test
+    public void joinOnAllKeyColumns() {
+        Table joined = SALES.join("Region", "Date", "Sku").inner(PRICES, "Region", "Date", "Sku");
+        assertEquals(5, joined.columnCount());
+        assertEquals(4, joined.rowCount());
+    }
+
+    @Test
+    public void rightOuterJoinOnMultipleColumns() {
+        Table joined = SALES.join("Region", "Date", "Sku").rightOuter(PRICES, "Region", "Date", "Sku");
+        assertEquals(5, joined.columnCount());
+        assertEquals(5, joined.rowCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void joinOnMismatchedColumns() {
+        SALES.join("Region", "Sku").inner(PRICES, "Region");
+    }
+
+    @Test
+    public void mergeJoinOnSortedColumns() {
+        double[] keys = {1, 1, 2, 4, 5, 5};
+        double[] keys2 = {1, 2, 2, 3, 5, 5, 6};
+        DoubleColumn key = DoubleColumn.create("key", keys);
+        DoubleColumn key2 = DoubleColumn.create("key", keys2);
+        assertTrue(key.isSortedAscending() && key2.isSortedAscending());
+        Table left = Table.create("left", key, ids("id", keys.length));
+        Table right = Table.create("right", key2, ids("id2", keys2.length));
+
+        for (boolean outer : new boolean[]{false, true}) {
+            List<String> expected = new ArrayList<>();
+            for (int row = 0; row < keys.length; row++) {
+                boolean matched = false;
+                for (int row2 = 0; row2 < keys2.length; row2++) {
+                    if (keys[row] == keys2[row2]) {
+                        expected.add(row + ":" + row2);
+                        matched = true;
+                    }
+                }
+                if (outer && !matched) {
+                    expected.add(row + ":NaN");
+                }
+            }
+            Table joined = outer ? left.join("key").leftOuter(right, "key") : left.join("key").inner(right, "key");
+            List<String> actual = new ArrayList<>();
+            for (int row = 0; row < joined.rowCount(); row++) {
+                double id2 = joined.numberColumn("id2").get(row);
+                actual.add((int) joined.numberColumn("id").get(row) + ":" + (Double.isNaN(id2) ? "NaN" : (int) id2));
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void joinThroughRegisteredIndex() {
+        Random random = new Random(11);
+        int rowCount2 = 20 * DataFrameJoiner.INDEX_JOIN_RATIO;
+        DateColumn dates = DateColumn.create("date");
+        DateColumn dates2 = DateColumn.create("date");
+        for (int row = 0; row < 20; row++) {
+            dates.append(LocalDate.of(2018, 1, 1).plusDays(random.nextInt(400)));
+        }
+        for (int row2 = 0; row2 < rowCount2; row2++) {
+            dates2.append(LocalDate.of(2018, 1, 1).plusDays(random.nextInt(300)));
+        }
+        Table left = Table.create("left", dates, ids("id", 20));
+        Table right = Table.create("right", dates2, ids("id2", rowCount2));
+        Table indexed = right.copy().createIndex("date");
+
+        for (boolean outer : new boolean[]{false, true}) {
+            Table expected = outer
+                    ? left.join("date").leftOuter(right, "date")
+                    : left.join("date").inner(right, "date");
+            Table joined = outer
+                    ? left.join("date").leftOuter(indexed, "date")
+                    : left.join("date").inner(indexed, "date");
+            assertArrayEquals(expected.numberColumn("id").asDoubleArray(),
+                    joined.numberColumn("id").asDoubleArray(), 0.0);
+            assertArrayEquals(expected.numberColumn("id2").asDoubleArray(),
+                    joined.numberColumn("id2").asDoubleArray(), 0.0);
+        }
+    }
+
+    @Test
+    public void partitionedJoinOnLargeTables() {
+        Random random = new Random(7);
+        int rowCount = PartitionedHashJoin.PARALLEL_THRESHOLD;
+        int rowCount2 = rowCount / 4;
+        Table left = keyTable("left", random, rowCount, "id");
+        Table right = keyTable("right", random, rowCount2, "id2");
+
+        Map<String, List<Integer>> rightRows = new HashMap<>();
+        for (int row2 = 0; row2 < rowCount2; row2++) {
+            rightRows.computeIfAbsent(key(right, row2), k -> new ArrayList<>()).add(row2);
+        }
+        for (boolean outer : new boolean[]{false, true}) {
+            DoubleColumn expectedIds = DoubleColumn.create("id");
+            DoubleColumn expectedIds2 = DoubleColumn.create("id2");
+            for (int row = 0; row < rowCount; row++) {
+                List<Integer> matches = rightRows.getOrDefault(key(left, row), new ArrayList<>());
+                for (int row2 : matches) {
+                    expectedIds.append(row);
+                    expectedIds2.append(row2);
+                }
+                if (outer && matches.isEmpty()) {
+                    expectedIds.append(row);
+                    expectedIds2.appendMissing();
+                }
+            }
+            Table joined = outer
+                    ? left.join("number", "code").leftOuter(right, "number", "code")
+                    : left.join("number", "code").inner(right, "number", "code");
+            assertArrayEquals(expectedIds.asDoubleArray(), joined.numberColumn("id").asDoubleArray(), 0.0);
+            assertArrayEquals(expectedIds2.asDoubleArray(), joined.numberColumn("id2").asDoubleArray(), 0.0);
+        }
+    }
+
+    @Test
+    public void joinOnStringsByDictionaryKey() {
+        Table names = Table.create("names",
+                StringColumn.create("Animal", new String[]{"Pig", "Cow", "", "Goat", "Pig"}),
+                StringColumn.create("Name", new String[]{"Bob", "Daisy", "Nobody", "Samantha", "James"}));
+        Table feed = Table.create("feed",
+                StringColumn.create("Animal", new String[]{"Horse", "Goat", "Pig", "", "Pig"}),
+                StringColumn.create("Feed", new String[]{"Hay", "Anything", "Mush", "Air", "Slop"}));
+        Table joined = names.join("Animal").leftOuter(feed, "Animal");
+        assertEquals(Arrays.asList("Bob", "Bob", "Daisy", "Nobody", "Samantha", "James", "James"),
+                joined.stringColumn("Name").asList());
+        assertEquals(Arrays.asList("Mush", "Slop", "", "Air", "Anything", "Mush", "Slop"),
+                joined.stringColumn("Feed").asList());
+    }
+
+    @Test
+    public void semiAndAntiJoinOnStrings() {
+        Table feed = ANIMAL_FEED.where(ANIMAL_FEED.stringColumn("Animal").isNotEqualTo("Horse"));
+        Table semi = ANIMAL_NAMES.join("Animal").semi(feed, "Animal");
+        assertEquals(2, semi.columnCount());
+        assertEquals(Arrays.asList("Bob", "James", "Samantha"), semi.stringColumn("Name").asList());
+
+        Selection anti = ANIMAL_NAMES.join("Animal").antiSelection(ANIMAL_FEED.first(1), "Animal");
+        assertEquals(2, anti.size());
+        assertTrue(anti.contains(2) && anti.contains(3));
+    }
+
+    @Test
+    public void semiAndAntiJoinMatchInnerJoin() {
+        Random random = new Random(3);
+        Table left = keyTable("left", random, 2000, "id");
+        Table keyTable2 = keyTable("right", random, 300, "id2");
+        for (String[] keys : new String[][]{{"number", "code"}, {"number"}, {"code"}}) {
+            Table right = keyTable2.select(keys);
+            Set<Double> joinedIds = new HashSet<>();
+            for (double id : left.join(keys).inner(right, keys).numberColumn("id")) {
+                joinedIds.add(id);
+            }
+            Selection semi = left.join(keys).semiSelection(right, keys);
+            Selection anti = left.join(keys).antiSelection(right, keys);
+            for (int row = 0; row < left.rowCount(); row++) {
+                boolean joined = joinedIds.contains((double) row);
+                assertEquals(joined, semi.contains(row));
+                assertEquals(!joined, anti.contains(row));
+            }
+            assertEquals(joinedIds.size(), left.join(keys).semi(right, keys).rowCount());
+        }
+    }
+
+    @Test
+    public void asOfJoinBySymbol() {
+        Table quotes = Table.create("quotes",
+                times("Time", 0, 2, 5, 10),
+                StringColumn.create("Symbol", new String[]{"A", "B", "A", "A"}),
+                DoubleColumn.create("Bid", new double[]{1, 2, 3, 4}));
+        Table trades = Table.create("trades",
+                times("Time", 3, 1, 10, 4, 6),
+                StringColumn.create("Symbol", new String[]{"A", "B", "A", "B", "C"}));
+
+        Table backward = trades.join("Time").asOf(quotes, "Time", AsOfOptions.builder().by("Symbol").build());
+        assertEquals(3, backward.columnCount());
+        assertArrayEquals(new double[]{1, Double.NaN, 4, 2, Double.NaN},
+                backward.numberColumn("Bid").asDoubleArray(), 0.0);
+
+        Table forward = trades.join("Time").asOf(quotes, "Time",
+                AsOfOptions.builder().by("Symbol").direction(AsOfOptions.Direction.FORWARD).build());
+        assertArrayEquals(new double[]{3, 2, 4, Double.NaN, Double.NaN},
+                forward.numberColumn("Bid").asDoubleArray(), 0.0);
+
+        Table nearest = trades.join("Time").asOf(quotes, "Time", AsOfOptions.builder()
+                .by("Symbol")
+                .direction(AsOfOptions.Direction.NEAREST)
+                .tolerance(Duration.ofSeconds(2))
+                .build());
+        assertArrayEquals(new double[]{3, 2, 4, 2, Double.NaN},
+                nearest.numberColumn("Bid").asDoubleArray(), 0.0);
+    }
+
+    @Test
+    public void asOfJoinOnSortedTimes() {
+        Table quotes = Table.create("quotes",
+                times("Time", 0, 2, 5, 10),
+                DoubleColumn.create("Bid", new double[]{1, 2, 3, 4}));
+        Table trades = Table.create("trades", times("Time", 1, 3, 4, 10));
+        assertTrue(trades.dateTimeColumn("Time").isSortedAscending());
+
+        assertArrayEquals(new double[]{1, 2, 2, 4},
+                trades.join("Time").asOf(quotes, "Time").numberColumn("Bid").asDoubleArray(), 0.0);
+        Table withinASecond = trades.join("Time").asOf(quotes, "Time",
+                AsOfOptions.builder().tolerance(Duration.ofSeconds(1)).build());
+        assertArrayEquals(new double[]{1, 2, Double.NaN, 4},
+                withinASecond.numberColumn("Bid").asDoubleArray(), 0.0);
+    }
+
+    @Test
+    public void intervalJoinMatchesBruteForce() {
+        Random random = new Random(11);
+        int size = 500;
+        int size2 = 80;
+        DoubleColumn amounts = DoubleColumn.create("amount", size);
+        for (int i = 0; i < size; i++) {
+            amounts.append(random.nextInt(15) == 0 ? Double.NaN : random.nextInt(1000) / 4.0);
+        }
+        DoubleColumn lows = DoubleColumn.create("low", size2);
+        DoubleColumn highs = DoubleColumn.create("high", size2);
+        for (int i = 0; i < size2; i++) {
+            double low = random.nextInt(1000) / 4.0;
+            lows.append(low);
+            highs.append(random.nextInt(20) == 0 ? Double.NaN : low + random.nextInt(80) / 4.0 - 1);
+        }
+        Table sales = Table.create("sales", ids("id", size), amounts);
+        Table buckets = Table.create("buckets", ids("bucket", size2), lows, highs);
+
+        for (boolean outer : new boolean[]{false, true}) {
+            DoubleColumn expectedIds = DoubleColumn.create("id");
+            DoubleColumn expectedBuckets = DoubleColumn.create("bucket");
+            for (int row = 0; row < size; row++) {
+                int matches = 0;
+                for (int row2 = 0; row2 < size2; row2++) {
+                    if (lows.get(row2) <= amounts.get(row) && amounts.get(row) <= highs.get(row2)) {
+                        expectedIds.append(row);
+                        expectedBuckets.append(row2);
+                        matches++;
+                    }
+                }
+                if (outer && matches == 0) {
+                    expectedIds.append(row);
+                    expectedBuckets.appendMissing();
+                }
+            }
+            Table joined = outer
+                    ? sales.join("amount").leftOuterBetween(buckets, "low", "high")
+                    : sales.join("amount").between(buckets, "low", "high");
+            assertEquals(5, joined.columnCount());
+            assertArrayEquals(expectedIds.asDoubleArray(), joined.numberColumn("id").asDoubleArray(), 0.0);
+            assertArrayEquals(expectedBuckets.asDoubleArray(), joined.numberColumn("bucket").asDoubleArray(), 0.0);
+        }
+    }
+
+    @Test
+    public void intervalJoinOnDates() {
+        Table promotions = Table.read().csv(
+                "Promotion,Start,End\n"
+                        + "Autumn,2017-09-01,2017-11-30\n"
+                        + "October,2017-10-01,2017-10-31\n",
+                "Promotions");
+        Table joined = SP500.join("Date").between(promotions, "Start", "End");
+        assertEquals(Arrays.asList("Autumn", "Autumn", "October", "Autumn"),
+                joined.stringColumn("Promotion").asList());
+    }
+
+    private static DateTimeColumn times(String name, int... seconds) {
+        DateTimeColumn times = DateTimeColumn.create(name);
+        for (int second : seconds) {
+            times.append(LocalDateTime.of(2017, 11, 1, 10, 0, second));
+        }
+        return times;
+    }
+
+    private static Table keyTable(String name, Random random, int size, String idName) {
+        DoubleColumn numbers = DoubleColumn.create("number", size);
+        StringColumn codes = StringColumn.create("code");
+        for (int i = 0; i < size; i++) {
+            numbers.append(random.nextInt(5000));
+            codes.append("c" + random.nextInt(8));
+        }
+        return Table.create(name, numbers, codes, ids(idName, size));
+    }
+
+    private static String key(Table table, int row) {
+        return table.numberColumn("number").getLong(row) + "|" + table.stringColumn("code").get(row);
+    }
+
+    private static DoubleColumn ids(String name, int size) {
+        DoubleColumn ids = DoubleColumn.create(name, size);
+        for (int i = 0; i < size; i++) {
+            ids.append(i);
+        }
+        return ids;
+    }
 }
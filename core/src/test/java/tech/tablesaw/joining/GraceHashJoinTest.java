@@ -0,0 +1,163 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.joining;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GraceHashJoinTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSpillingJoinMatchesInMemoryJoin() throws Exception {
+        Random random = new Random(5);
+        Table orders = table("orders", random, 3000, "order");
+        Table customers = table("customers", random, 1000, "customer");
+        String[] keys = {"number", "code"};
+
+        for (boolean outer : new boolean[]{false, true}) {
+            List<String> joined = new ArrayList<>();
+            try (GraceHashJoin join = GraceHashJoin.builder(keys, keys)
+                    .memoryBudget(8 * 1024)
+                    .partitions(4)
+                    .tempDirectory(folder.getRoot())
+                    .build()) {
+                for (int start = 0; start < orders.rowCount(); start += 700) {
+                    join.addLeft(orders.inRange(start, Math.min(orders.rowCount(), start + 700)));
+                }
+                for (int start = 0; start < customers.rowCount(); start += 300) {
+                    join.addRight(customers.inRange(start, Math.min(customers.rowCount(), start + 300)));
+                }
+                Iterator<Table> results = outer ? join.leftOuter() : join.inner();
+                while (results.hasNext()) {
+                    joined.addAll(pairs(results.next()));
+                }
+                assertTrue(join.spillCount() > 8);
+            }
+            assertEquals(0, folder.getRoot().list().length);
+
+            Table expected = outer
+                    ? orders.join(keys).leftOuter(customers, keys)
+                    : orders.join(keys).inner(customers, keys);
+            List<String> expectedPairs = pairs(expected);
+            Collections.sort(expectedPairs);
+            Collections.sort(joined);
+            assertEquals(expectedPairs, joined);
+        }
+    }
+
+    @Test
+    public void testCloseBeforeJoining() throws Exception {
+        Random random = new Random(7);
+        String[] keys = {"number", "code"};
+        GraceHashJoin join = GraceHashJoin.builder(keys, keys)
+                .memoryBudget(8 * 1024)
+                .partitions(4)
+                .tempDirectory(folder.getRoot())
+                .build();
+        join.addLeft(table("orders", random, 3000, "order"));
+        join.addRight(table("customers", random, 1000, "customer"));
+        assertTrue(join.spillCount() > 0);
+        join.close();
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testJoinWithinBudget() throws Exception {
+        Random random = new Random(6);
+        Table orders = table("orders", random, 200, "order");
+        Table customers = table("customers", random, 100, "customer");
+        String[] keys = {"number", "code"};
+        List<String> joined = new ArrayList<>();
+        try (GraceHashJoin join = GraceHashJoin.builder(keys, keys).tempDirectory(folder.getRoot()).build()) {
+            join.addLeft(orders);
+            join.addRight(customers);
+            join.inner().forEachRemaining(table -> joined.addAll(pairs(table)));
+            assertEquals(0, join.spillCount());
+        }
+        List<String> expected = pairs(orders.join(keys).inner(customers, keys));
+        Collections.sort(expected);
+        Collections.sort(joined);
+        assertEquals(expected, joined);
+    }
+
+    @Test
+    public void testSpillsDistinctStringKeys() throws Exception {
+        // counting only the 4-byte keys, the left rows would fit in the budget several times over
+        int size = 20_000;
+        StringColumn emails = StringColumn.create("email");
+        DoubleColumn orderIds = DoubleColumn.create("order", size);
+        for (int i = 0; i < size; i++) {
+            emails.append(String.format("customer%020d@example.com", i));
+            orderIds.append(i);
+        }
+        Table orders = Table.create("orders", emails, orderIds);
+        Table customers = orders.inRange(0, 500).select("email");
+        customers.addColumns(DoubleColumn.create("customer", new double[500]));
+        String[] keys = {"email"};
+        List<String> joined = new ArrayList<>();
+        try (GraceHashJoin join = GraceHashJoin.builder(keys, keys)
+                .memoryBudget(1 << 20)
+                .tempDirectory(folder.getRoot())
+                .build()) {
+            join.addLeft(orders);
+            join.addRight(customers);
+            assertTrue(join.spillCount() > 0);
+            join.inner().forEachRemaining(table -> joined.addAll(pairs(table)));
+        }
+        List<String> expected = pairs(orders.join(keys).inner(customers, keys));
+        Collections.sort(expected);
+        Collections.sort(joined);
+        assertEquals(500, joined.size());
+        assertEquals(expected, joined);
+    }
+
+    private static Table table(String name, Random random, int size, String idName) {
+        DoubleColumn ids = DoubleColumn.create(idName, size);
+        DoubleColumn numbers = DoubleColumn.create("number", size);
+        StringColumn codes = StringColumn.create("code");
+        for (int i = 0; i < size; i++) {
+            ids.append(i);
+            numbers.append(random.nextInt(300));
+            codes.append("c" + random.nextInt(3));
+        }
+        return Table.create(name, ids, numbers, codes);
+    }
+
+    private static List<String> pairs(Table joined) {
+        List<String> pairs = new ArrayList<>();
+        for (int row = 0; row < joined.rowCount(); row++) {
+            pairs.add(joined.numberColumn("order").getString(row) + ":"
+                    + joined.numberColumn("customer").getString(row));
+        }
+        return pairs;
+    }
+}
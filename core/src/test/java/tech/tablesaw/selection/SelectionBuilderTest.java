@@ -0,0 +1,116 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.selection;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class SelectionBuilderTest {
+
+    private static final int[] SIZES = {0, 1, 63, 64, 65, 65536, 3 * 65536 + 7};
+
+    @Test
+    public void testSelectRows() {
+        for (int size : SIZES) {
+            for (int start : new int[]{0, 5, 64}) {
+                Selection expected = new BitmapBackedSelection();
+                for (int row = start; row < size; row++) {
+                    if (row % 3 == 0 || row % 64 == 63) {
+                        expected.add(row);
+                    }
+                }
+                assertEquals(expected, SelectionBuilder.select(start, size, row -> row % 3 == 0 || row % 64 == 63));
+            }
+        }
+    }
+
+    @Test
+    public void testSelectValues() {
+        Random random = new Random(7);
+        for (int size : SIZES) {
+            double[] doubles = new double[size + 10];
+            byte[] bytes = new byte[size + 10];
+            Selection expected = new BitmapBackedSelection();
+            Selection expectedBytes = new BitmapBackedSelection();
+            for (int i = 0; i < doubles.length; i++) {
+                doubles[i] = random.nextDouble();
+                bytes[i] = (byte) random.nextInt(3);
+                if (i < size && doubles[i] < 0.9) {
+                    expected.add(i);
+                }
+                if (i < size && bytes[i] == 1) {
+                    expectedBytes.add(i);
+                }
+            }
+            assertEquals(expected, SelectionBuilder.select(doubles, size, d -> d < 0.9));
+            assertEquals(expectedBytes, SelectionBuilder.selectEqual(bytes, size, (byte) 1));
+            assertEquals(expectedBytes, SelectionBuilder.select(bytes, size, b -> b == 1));
+        }
+    }
+
+    @Test
+    public void testSelectCandidates() {
+        for (int size : SIZES) {
+            Selection candidates = SelectionBuilder.select(0, size, row -> row % 5 != 0);
+            Selection expected = new BitmapBackedSelection();
+            for (int row : candidates) {
+                if (row % 3 == 0 || row % 64 == 63) {
+                    expected.add(row);
+                }
+            }
+            assertEquals(expected, SelectionBuilder.select(candidates, row -> row % 3 == 0 || row % 64 == 63));
+        }
+    }
+
+    @Test
+    public void testAddMask() {
+        Selection selection = new SelectionBuilder()
+                .addMask(0, 0b101L)
+                .addMask(64, Long.MIN_VALUE)
+                .addMask(65536 * 2, -1L)
+                .build();
+        Selection expected = Selection.with(0, 2, 127);
+        expected.addRange(65536 * 2, 65536 * 2 + 64);
+        assertEquals(expected, selection);
+    }
+
+    @Test
+    public void testSelectInParallel() {
+        int size = SelectionBuilder.PARALLEL_THRESHOLD + 5 * SelectionBuilder.SEGMENT_SIZE + 11;
+        Random random = new Random(11);
+        int[] ints = new int[size];
+        Selection expected = new BitmapBackedSelection();
+        for (int i = 0; i < size; i++) {
+            ints[i] = random.nextInt(100);
+            if (ints[i] < 40) {
+                expected.add(i);
+            }
+        }
+        assertEquals(expected, SelectionBuilder.select(ints, size, i -> i < 40));
+
+        int start = 37;
+        Selection expectedRows = new BitmapBackedSelection();
+        for (int row = start; row < size; row++) {
+            if (ints[row] < 40) {
+                expectedRows.add(row);
+            }
+        }
+        assertEquals(expectedRows, SelectionBuilder.select(start, size, row -> ints[row] < 40));
+    }
+}
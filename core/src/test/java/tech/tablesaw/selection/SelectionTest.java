@@ -1,6 +1,12 @@
 package tech.tablesaw.selection;
 
 import org.junit.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -154,4 +160,103 @@ public class SelectionTest {
         assertTrue(selection.contains(110));
         assertTrue(selection.contains(112));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void adaptiveRepresentation() {
+        RoaringBitmap contiguous = RoaringBitmap.bitmapOf(5, 6, 7, 8);
+        RoaringBitmap dense = RoaringBitmap.bitmapOf(1, 3, 5, 7, 9);
+        RoaringBitmap sparse = RoaringBitmap.bitmapOf(1, 10_000, 90_000);
+
+        assertTrue(Selection.of(contiguous) instanceof RangeSelection);
+        assertTrue(Selection.of(dense) instanceof DenseSelection);
+        assertTrue(Selection.of(sparse) instanceof ArraySelection);
+        assertEquals(new BitmapBackedSelection(sparse), Selection.of(sparse));
+        assertEquals(new BitmapBackedSelection(dense).hashCode(), Selection.of(dense).hashCode());
+    }
+
+    @Test
+    public void implementationsAgree() {
+        Random random = new Random(3);
+        for (int trial = 0; trial < 50; trial++) {
+            Selection expected = new BitmapBackedSelection();
+            List<Selection> selections = new ArrayList<>();
+            selections.add(new RangeSelection(10, 20));
+            selections.add(new DenseSelection(0));
+            selections.add(new ArraySelection());
+            expected.addRange(10, 20);
+            for (int i = 1; i < selections.size(); i++) {
+                selections.get(i).addRange(10, 20);
+            }
+            // cursors are kept across modifications, to check that they notice them
+            List<SelectionCursor> cursors = new ArrayList<>();
+            for (Selection selection : selections) {
+                cursors.add(selection.cursor());
+            }
+            for (int step = 0; step < 8; step++) {
+                int op = random.nextInt(7);
+                int start = random.nextInt(300);
+                int end = start + random.nextInt(100);
+                Selection other = Selection.of(RoaringBitmap.bitmapOf(
+                        random.ints(20, 0, 400).distinct().sorted().toArray()));
+                apply(expected, op, start, end, other);
+                for (int s = 0; s < selections.size(); s++) {
+                    Selection selection = selections.get(s);
+                    SelectionCursor cursor = cursors.get(s);
+                    apply(selection, op, start, end, other);
+                    assertEquals(expected, selection);
+                    assertArrayEquals(expected.toArray(), selection.toArray());
+                    assertEquals(expected.toBitmapInternal(), selection.toBitmapInternal());
+                    for (int j = 0; j < expected.size(); j++) {
+                        assertEquals(expected.get(j), selection.get(j));
+                        assertEquals(expected.get(j), cursor.get(j));
+                    }
+                    for (int j = expected.size() - 1; j >= 0; j -= 1 + j % 37) {
+                        assertEquals(expected.get(j), cursor.get(j));
+                    }
+                    for (int row = 0; row < 400; row++) {
+                        assertEquals(expected.contains(row), selection.contains(row));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void denseGetAcrossRankBlocks() {
+        Random random = new Random(5);
+        DenseSelection selection = new DenseSelection(0);
+        boolean[] expected = new boolean[30_000];
+        for (int step = 0; step < 20; step++) {
+            int start = random.nextInt(20_000);
+            int end = start + random.nextInt(10_000);
+            if (step % 4 == 3) {
+                selection.removeRange(start, end);
+                Arrays.fill(expected, start, end, false);
+            } else {
+                selection.flip(start, end);
+                for (int row = start; row < end; row++) {
+                    expected[row] = !expected[row];
+                }
+            }
+            int j = 0;
+            for (int row = 0; row < expected.length; row++) {
+                if (expected[row]) {
+                    assertEquals(row, selection.get(j++));
+                }
+            }
+            assertEquals(j, selection.size());
+        }
+    }
+
+    private static void apply(Selection selection, int op, int start, int end, Selection other) {
+        switch (op) {
+            case 0: selection.add(start, end); break;
+            case 1: selection.addRange(start, end); break;
+            case 2: selection.removeRange(start, end); break;
+            case 3: selection.flip(start, end); break;
+            case 4: selection.and(other.or(Selection.withRange(start, end))); break;
+            case 5: selection.or(other); break;
+            default: selection.andNot(other); break;
+        }
+    }
+}
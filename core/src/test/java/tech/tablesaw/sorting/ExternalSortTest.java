@@ -0,0 +1,165 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.sorting;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static tech.tablesaw.sorting.Sort.Order.ASCEND;
+import static tech.tablesaw.sorting.Sort.Order.DESCEND;
+
+public class ExternalSortTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSpillAndMerge() throws Exception {
+        Table table = table(5000);
+        Sort sort = Sort.on("name", ASCEND).next("score", DESCEND);
+        Table merged = table.emptyCopy();
+        try (ExternalSort externalSort = ExternalSort.builder(sort)
+                .memoryBudget(16 * 1024)
+                .tempDirectory(folder.getRoot())
+                .batchSize(700)
+                .build()) {
+            for (int start = 0; start < table.rowCount(); start += 900) {
+                externalSort.add(table.inRange(start, Math.min(table.rowCount(), start + 900)));
+            }
+            assertTrue(externalSort.runCount() > 1);
+            Iterator<Table> batches = externalSort.sorted();
+            while (batches.hasNext()) {
+                Table batch = batches.next();
+                assertTrue(batch.rowCount() <= 700);
+                merged.append(batch);
+            }
+        }
+        assertEquals(0, folder.getRoot().list().length);
+        assertSameRows(table.sortOn(sort), merged);
+    }
+
+    @Test
+    public void testCloseDuringMerge() throws Exception {
+        Table table = table(5000);
+        ExternalSort externalSort = ExternalSort.builder(Sort.on("name", ASCEND))
+                .memoryBudget(16 * 1024)
+                .tempDirectory(folder.getRoot())
+                .batchSize(100)
+                .build();
+        externalSort.add(table);
+        Iterator<Table> batches = externalSort.sorted();
+        batches.next();
+        externalSort.close();
+        assertEquals(0, folder.getRoot().list().length);
+        try {
+            while (batches.hasNext()) {
+                batches.next();
+            }
+            fail("The runs should have been closed");
+        } catch (UncheckedIOException expected) {
+            // the merge's readers were closed with the sort
+        }
+    }
+
+    @Test
+    public void testInMemory() throws Exception {
+        Table table = table(300);
+        Sort sort = Sort.on("date", ASCEND).next("id", DESCEND);
+        try (ExternalSort externalSort = ExternalSort.builder(sort).tempDirectory(folder.getRoot()).build()) {
+            externalSort.add(table);
+            Iterator<Table> batches = externalSort.sorted();
+            assertEquals(0, externalSort.runCount());
+            assertSameRows(table.sortOn(sort), batches.next());
+            assertFalse(batches.hasNext());
+        }
+    }
+
+    @Test
+    public void testSpillsDistinctStrings() throws Exception {
+        // counting only the 4-byte keys, these rows would fit in the budget several times over
+        int size = 20_000;
+        StringColumn names = StringColumn.create("name");
+        DoubleColumn ids = DoubleColumn.create("id", size);
+        for (int i = 0; i < size; i++) {
+            names.append(String.format("customer-%020d", (i * 7919L) % size));
+            ids.append(i);
+        }
+        Table table = Table.create("t", names, ids);
+        Sort sort = Sort.on("name", ASCEND);
+        Table merged = table.emptyCopy();
+        try (ExternalSort externalSort = ExternalSort.builder(sort)
+                .memoryBudget(1 << 20)
+                .tempDirectory(folder.getRoot())
+                .build()) {
+            externalSort.add(table);
+            assertTrue(externalSort.runCount() > 1);
+            Iterator<Table> batches = externalSort.sorted();
+            while (batches.hasNext()) {
+                merged.append(batches.next());
+            }
+        }
+        assertEquals(table.sortOn(sort).stringColumn("name").asList(), merged.stringColumn("name").asList());
+    }
+
+    private static Table table(int size) {
+        Random random = new Random(size);
+        DoubleColumn ids = DoubleColumn.create("id", size);
+        StringColumn names = StringColumn.create("name");
+        DoubleColumn scores = DoubleColumn.create("score", size);
+        DateColumn dates = DateColumn.create("date");
+        BooleanColumn flags = BooleanColumn.create("flag");
+        for (int i = 0; i < size; i++) {
+            ids.append(i);
+            names.append(random.nextInt(30) == 0 ? "" : "name" + random.nextInt(400));
+            scores.append(random.nextInt(20) == 0 ? Double.NaN : random.nextInt(50));
+            if (random.nextInt(20) == 0) {
+                dates.appendMissing();
+            } else {
+                dates.append(LocalDate.of(2000, 1, 1).plusDays(random.nextInt(100)));
+            }
+            flags.append(random.nextBoolean());
+        }
+        return Table.create("t", ids, names, scores, dates, flags);
+    }
+
+    private static void assertSameRows(Table expected, Table actual) {
+        assertEquals(expected.rowCount(), actual.rowCount());
+        assertArrayEquals(expected.numberColumn("id").asDoubleArray(), actual.numberColumn("id").asDoubleArray(), 0.0);
+        assertEquals(expected.stringColumn("name").asList(), actual.stringColumn("name").asList());
+        assertArrayEquals(expected.numberColumn("score").asDoubleArray(),
+                actual.numberColumn("score").asDoubleArray(), 0.0);
+        for (int row = 0; row < expected.rowCount(); row++) {
+            assertEquals(expected.dateColumn("date").getIntInternal(row), actual.dateColumn("date").getIntInternal(row));
+            assertEquals(expected.booleanColumn("flag").getByte(row), actual.booleanColumn("flag").getByte(row));
+        }
+    }
+}
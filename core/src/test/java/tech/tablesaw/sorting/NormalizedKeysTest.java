@@ -0,0 +1,112 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.sorting;
+
+import org.junit.Test;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.sorting.comparators.IntComparatorChain;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static tech.tablesaw.sorting.Sort.Order.ASCEND;
+import static tech.tablesaw.sorting.Sort.Order.DESCEND;
+
+public class NormalizedKeysTest {
+
+    private static final String[] NAMES = {"", "Ann", "Bob", "bob", "Carol", "Ann-Marie", "Zed"};
+
+    @Test
+    public void testMatchesComparatorChain() {
+        Table table = table(3000);
+        Sort[] sorts = {
+                Sort.on("name", ASCEND).next("score", DESCEND),
+                Sort.on("name", DESCEND).next("date", ASCEND).next("score", ASCEND),
+                Sort.on("flag", ASCEND).next("time", DESCEND).next("name", ASCEND),
+                Sort.on("score", DESCEND).next("flag", DESCEND),
+        };
+        for (Sort sort : sorts) {
+            assertArrayEquals(sort.toString(), expected(table, sort), NormalizedKeys.sort(table, sort));
+        }
+    }
+
+    @Test
+    public void testTableSort() {
+        Table table = table(200);
+        Table sorted = table.sortOn(Sort.on("name", ASCEND).next("score", DESCEND));
+        assertEquals(table.rowCount(), sorted.rowCount());
+        for (int row = 1; row < sorted.rowCount(); row++) {
+            String previous = sorted.stringColumn("name").get(row - 1);
+            String current = sorted.stringColumn("name").get(row);
+            int comparison = previous.compareTo(current);
+            assertTrue(comparison < 0 || comparison == 0
+                    && Double.compare(sorted.numberColumn("score").get(row - 1),
+                    sorted.numberColumn("score").get(row)) >= 0);
+        }
+    }
+
+    @Test
+    public void testKeysTooLargeForOneArray() {
+        assertTrue(NormalizedKeys.fits(100_000_000, 3));
+        assertTrue(NormalizedKeys.fits(700_000_000, 3));
+        assertFalse(NormalizedKeys.fits(716_000_000, 3));
+        assertFalse(NormalizedKeys.fits(Integer.MAX_VALUE, 2));
+        assertTrue(NormalizedKeys.supports(table(10), Sort.on("name", ASCEND).next("score", DESCEND)));
+    }
+
+    private static Table table(int size) {
+        Random random = new Random(size);
+        StringColumn names = StringColumn.create("name");
+        DoubleColumn scores = DoubleColumn.create("score", size);
+        DateColumn dates = DateColumn.create("date");
+        TimeColumn times = TimeColumn.create("time");
+        BooleanColumn flags = BooleanColumn.create("flag");
+        for (int i = 0; i < size; i++) {
+            names.append(NAMES[random.nextInt(NAMES.length)]);
+            scores.append(random.nextInt(10) == 0 ? Double.NaN : random.nextInt(20) - 10);
+            if (random.nextInt(10) == 0) {
+                dates.appendMissing();
+            } else {
+                dates.append(LocalDate.of(2000 + random.nextInt(3), 1, 1 + random.nextInt(28)));
+            }
+            times.append(LocalTime.of(random.nextInt(24), 0));
+            flags.append(random.nextBoolean());
+        }
+        return Table.create("t", names, scores, dates, times, flags);
+    }
+
+    /**
+     * Returns the rows in stable order under the comparator chain used for multi-column sorts
+     */
+    private static int[] expected(Table table, Sort sort) {
+        IntComparatorChain chain = SortUtils.getChain(table, sort);
+        Integer[] rows = IntStream.range(0, table.rowCount()).boxed().toArray(Integer[]::new);
+        Arrays.sort(rows, chain::compare);
+        return Arrays.stream(rows).mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.sorting;
+
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import org.junit.Test;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.sorting.RadixSort.MissingValues;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class RadixSortTest {
+
+    private static final double[] SPECIAL_VALUES =
+            {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, -1.5};
+
+    @Test
+    public void testDoubles() {
+        for (int size : new int[]{0, 1, 17, 5000, RadixSort.PARALLEL_THRESHOLD + 3}) {
+            Random random = new Random(size);
+            DoubleColumn column = DoubleColumn.create("d", size);
+            for (int i = 0; i < size; i++) {
+                column.append(i % 10 == 0
+                        ? SPECIAL_VALUES[random.nextInt(SPECIAL_VALUES.length)]
+                        : random.nextInt(1000) - 500 + random.nextDouble());
+            }
+            checkAllOrders(column, (r1, r2) -> Double.compare(column.get(r1), column.get(r2)));
+        }
+    }
+
+    @Test
+    public void testDates() {
+        Random random = new Random(5);
+        DateColumn column = DateColumn.create("d");
+        for (int i = 0; i < 4000; i++) {
+            if (i % 7 == 0) {
+                column.appendMissing();
+            } else {
+                column.append(LocalDate.of(1900 + random.nextInt(200), 1 + random.nextInt(12), 1));
+            }
+        }
+        checkAllOrders(column, (r1, r2) -> Integer.compare(column.getIntInternal(r1), column.getIntInternal(r2)));
+    }
+
+    @Test
+    public void testDateTimes() {
+        Random random = new Random(9);
+        DateTimeColumn column = DateTimeColumn.create("dt");
+        int size = RadixSort.PARALLEL_THRESHOLD + 100;
+        for (int i = 0; i < size; i++) {
+            if (i % 11 == 0) {
+                column.appendMissing();
+            } else {
+                column.append(LocalDateTime.of(2018, 1, 1, 0, 0)
+                        .plusSeconds(random.nextInt(10_000_000)));
+            }
+        }
+        checkAllOrders(column, (r1, r2) -> Long.compare(column.getLongInternal(r1), column.getLongInternal(r2)));
+    }
+
+    @Test
+    public void testTableSortMatchesComparator() {
+        DoubleColumn values = DoubleColumn.create("v", new double[]{3, Double.NaN, -1, 2, Double.NaN, 0});
+        Table table = Table.create("t", values);
+        assertArrayEquals(new double[]{-1, 0, 2, 3, Double.NaN, Double.NaN},
+                table.sortOn("v").numberColumn("v").asDoubleArray(), 0.0);
+        assertArrayEquals(new double[]{Double.NaN, Double.NaN, 3, 2, 0, -1},
+                table.sortDescendingOn("v").numberColumn("v").asDoubleArray(), 0.0);
+    }
+
+    private static void checkAllOrders(Column column, IntComparator comparator) {
+        for (Sort.Order order : Sort.Order.values()) {
+            for (MissingValues missing : MissingValues.values()) {
+                assertArrayEquals(column.name() + " " + order + " " + missing,
+                        expected(column, comparator, order, missing), RadixSort.sort(column, order, missing));
+            }
+        }
+        assertEquals(column.size(), RadixSort.sort(column, Sort.Order.ASCEND).length);
+    }
+
+    /**
+     * Returns the rows in stable sorted order, by way of the comparator
+     */
+    private static int[] expected(Column column, IntComparator comparator, Sort.Order order, MissingValues missing) {
+        Integer[] rows = IntStream.range(0, column.size()).boxed().toArray(Integer[]::new);
+        Arrays.sort(rows, (r1, r2) -> {
+            boolean missing1 = column.isMissing(r1);
+            boolean missing2 = column.isMissing(r2);
+            if (missing1 || missing2) {
+                int result = Boolean.compare(missing1, missing2);
+                return missing == MissingValues.LAST ? result : -result;
+            }
+            int result = comparator.compare(r1, r2);
+            return order == Sort.Order.ASCEND ? result : -result;
+        });
+        return Arrays.stream(rows).mapToInt(Integer::intValue).toArray();
+    }
+}
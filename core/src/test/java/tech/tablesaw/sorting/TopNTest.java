@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.sorting;
+
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import org.junit.Test;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TimeColumn;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static tech.tablesaw.sorting.Sort.Order.ASCEND;
+import static tech.tablesaw.sorting.Sort.Order.DESCEND;
+
+public class TopNTest {
+
+    @Test
+    public void testRows() {
+        for (int size : new int[]{0, 1, 100, TopN.PARALLEL_THRESHOLD * 3 + 5}) {
+            Random random = new Random(size);
+            int[] values = random.ints(size, 0, 1000).toArray();
+            IntComparator order = (r1, r2) -> Integer.compare(values[r1], values[r2]);
+            int[] sorted = stableSort(size, order);
+            for (int n : new int[]{0, 1, 10, 1000, size + 1}) {
+                int expectedLength = Math.min(n, size);
+                assertArrayEquals(Arrays.copyOf(sorted, expectedLength), TopN.rows(size, n, order));
+            }
+        }
+    }
+
+    @Test
+    public void testTableTopN() {
+        Random random = new Random(1);
+        StringColumn names = StringColumn.create("name");
+        DoubleColumn scores = DoubleColumn.create("score", 500);
+        for (int i = 0; i < 500; i++) {
+            names.append("player" + random.nextInt(50));
+            scores.append(random.nextInt(20) == 0 ? Double.NaN : random.nextInt(100));
+        }
+        Table table = Table.create("t", names, scores);
+        Sort sort = Sort.on("score", DESCEND).next("name", ASCEND);
+        Table top = table.topN(10, sort);
+        Table expected = table.sortOn(sort).first(10);
+        assertEquals(10, top.rowCount());
+        assertEquals(expected.stringColumn("name").asList(), top.stringColumn("name").asList());
+        assertArrayEquals(expected.numberColumn("score").asDoubleArray(),
+                top.numberColumn("score").asDoubleArray(), 0.0);
+    }
+
+    @Test
+    public void testColumnTopAndBottom() {
+        DoubleColumn scores = DoubleColumn.create("score", new double[]{4, Double.NaN, 9, 1, 9});
+        assertArrayEquals(new double[]{Double.NaN, 9, 9}, scores.top(3).toDoubleArray(), 0.0);
+        assertArrayEquals(new double[]{1, 4}, scores.bottom(2).toDoubleArray(), 0.0);
+
+        TimeColumn times = TimeColumn.create("time");
+        times.appendMissing();
+        times.append(LocalTime.NOON);
+        times.append(LocalTime.MIDNIGHT);
+        assertEquals(Arrays.asList(LocalTime.MIDNIGHT, LocalTime.NOON), times.bottom(5));
+        assertEquals(LocalTime.NOON, times.top(1).get(0));
+    }
+
+    private static int[] stableSort(int size, IntComparator order) {
+        Integer[] rows = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+        Arrays.sort(rows, order::compare);
+        return Arrays.stream(rows).mapToInt(Integer::intValue).toArray();
+    }
+}
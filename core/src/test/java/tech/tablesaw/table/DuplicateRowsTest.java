@@ -0,0 +1,80 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.tablesaw.table;
+
+import org.junit.Test;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class DuplicateRowsTest {
+
+    @Test
+    public void testDropDuplicateRows() {
+        Table table = Table.create("t",
+                StringColumn.create("name", new String[]{"a", "b", "a", "", "b", ""}),
+                DoubleColumn.create("value", new double[]{1, 2, 1, Double.NaN, 3, Double.NaN}),
+                DoubleColumn.create("id", new double[]{0, 1, 2, 3, 4, 5}));
+
+        assertEquals(6, table.dropDuplicateRows().rowCount());
+        assertArrayEquals(new double[]{0, 1, 3, 4},
+                table.dropDuplicateRows("name", "value").numberColumn("id").asDoubleArray(), 0.0);
+        assertArrayEquals(new double[]{0, 1, 3},
+                table.dropDuplicateRows("name").numberColumn("id").asDoubleArray(), 0.0);
+        assertArrayEquals(new double[]{2, 4, 5},
+                table.dropDuplicateRows(DuplicateRows.Keep.LAST, "name").numberColumn("id").asDoubleArray(), 0.0);
+        assertEquals(4, table.select("name", "value").dropDuplicateRows().rowCount());
+    }
+
+    @Test
+    public void testDropDuplicateRowsInParallel() {
+        Random random = new Random(9);
+        int size = DuplicateRows.PARALLEL_THRESHOLD * 2;
+        StringColumn names = StringColumn.create("name");
+        DoubleColumn values = DoubleColumn.create("value", size);
+        BooleanColumn flags = BooleanColumn.create("flag");
+        for (int i = 0; i < size; i++) {
+            names.append("n" + random.nextInt(50));
+            values.append(random.nextInt(100));
+            flags.append(random.nextBoolean());
+        }
+        Table table = Table.create("t", names, values, flags);
+
+        for (DuplicateRows.Keep keep : DuplicateRows.Keep.values()) {
+            Set<String> seen = new HashSet<>();
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                int row = keep == DuplicateRows.Keep.FIRST ? i : size - 1 - i;
+                if (seen.add(names.get(row) + "|" + values.get(row) + "|" + flags.get(row))) {
+                    expected.add(row);
+                }
+            }
+            expected.sort(Integer::compare);
+            int[] rows = DuplicateRows.distinctRows(table, keep).toArray();
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), rows);
+        }
+    }
+}